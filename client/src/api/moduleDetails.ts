@@ -1,4 +1,7 @@
 import { PROGRAM_CATALOG_API_URL } from "../config/api";
+// Full module of /modules/{id} and /modules/module/{moduleId}. List and search
+// endpoints only return the short fields, a description preview and the
+// prerequisites, the other texts are fetched when a module is opened
 export interface ModuleDetails {
   id: number;
   studyProgramId: number;
@@ -25,6 +28,7 @@ export interface ModuleDetails {
   teachingAndLearningMethods?: string;
   media?: string;
   readingList?: string;
+  description?: string;
 }
 
 export interface ModuleSummaryDto {
@@ -304,6 +308,7 @@ class ModuleDetailsAPI {
       professor: module.responsible,
       occurrence: module.occurrence,
       description:
+        module.description ||
         module.intendedLearningOutcomes ||
         module.content ||
         "No description available",
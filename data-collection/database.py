@@ -48,6 +48,13 @@ def upload_df_to_db(df, table_name, conn):
         data = [tuple(row) for row in df.itertuples(index=False, name=None)]
         cursor.executemany(insert_query, data)
         
+        # Bump the catalog version so program-catalog-service invalidates its ETags and cached responses.
+        # An import is not in the change feed, so change feed consumers have to resync from a snapshot.
+        cursor.execute("SELECT to_regclass('catalog_version');")
+        if cursor.fetchone()[0] is not None:
+            cursor.execute("UPDATE catalog_version SET version = version + 1, updated_at = now(), changes_retained_since = version + 1 WHERE id = 1;")
+            cursor.execute("DELETE FROM catalog_changes;")
+        
         conn.commit()
         cursor.close()
         print(f"Successfully uploaded {len(df)} rows to '{table_name}' table!")
@@ -0,0 +1,57 @@
+#!/usr/bin/env python3
+"""Compare two JMH result files of ./gradlew :benchmarks:jmh.
+
+    python3 compare.py build/results/jmh/<base>.json build/results/jmh/<head>.json [--threshold 10]
+
+Prints the score of every benchmark in both runs and exits with 1 when one got slower by more
+than the threshold (in percent), so it can gate a CI job.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for result in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(result.get("params", {}).items()))
+            name = result["benchmark"].rsplit(".", 2)
+            key = ".".join(name[-2:]) + (f"[{params}]" if params else "")
+            metric = result["primaryMetric"]
+            results[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"], result["mode"])
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("base")
+    parser.add_argument("head")
+    parser.add_argument("--threshold", type=float, default=10.0, help="regression threshold in percent")
+    args = parser.parse_args()
+
+    base, head = load(args.base), load(args.head)
+    regressions = 0
+    print(f"{'benchmark':<70} {'base':>12} {'head':>12} {'change':>8}")
+    for key in sorted(base.keys() & head.keys()):
+        base_score, _, unit, mode = base[key]
+        head_score = head[key][0]
+        change = (head_score - base_score) / base_score * 100 if base_score else 0.0
+        # Throughput gets worse when it drops, all other modes when the time grows
+        slower = -change if mode == "thrpt" else change
+        flag = ""
+        if slower > args.threshold:
+            flag = "  SLOWER"
+            regressions += 1
+        print(f"{key:<70} {base_score:>12.3f} {head_score:>12.3f} {change:>+7.1f}% {unit}{flag}")
+    for key in sorted(base.keys() ^ head.keys()):
+        print(f"{key:<70} only in {'base' if key in base else 'head'}")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) slower by more than {args.threshold:g}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
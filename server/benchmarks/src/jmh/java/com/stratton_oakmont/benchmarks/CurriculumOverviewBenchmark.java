@@ -0,0 +1,95 @@
+package com.stratton_oakmont.benchmarks;
+
+import com.stratton_oakmont.program_catalog_service.dto.CurriculumOverviewDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSummaryDto;
+import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import com.stratton_oakmont.program_catalog_service.repository.ModuleDetailsRepository;
+import com.stratton_oakmont.program_catalog_service.service.ModuleDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Curriculum overview of the largest study program, i.e. the category statistics with the module
+ * summaries and their shortened descriptions. The repository answers from memory with the results
+ * its queries would return, so only the service's own work is measured, not the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CurriculumOverviewBenchmark {
+
+    private Integer studyProgramId;
+    private ModuleDetailsService service;
+
+    @Setup
+    public void setUp() {
+        studyProgramId = Fixtures.largestStudyProgramId();
+        service = new ModuleDetailsService();
+        ReflectionTestUtils.setField(service, "moduleDetailsRepository",
+                repository(Fixtures.modulesOf(studyProgramId)));
+    }
+
+    @Benchmark
+    public CurriculumOverviewDto curriculumOverview() {
+        return service.getCurriculumOverview(studyProgramId);
+    }
+
+    private static ModuleDetailsRepository repository(List<ModuleDetails> modules) {
+        Map<String, List<ModuleDetails>> byCategory = new LinkedHashMap<>();
+        modules.forEach(module -> byCategory.computeIfAbsent(module.getCategory(), category -> new ArrayList<>()).add(module));
+        List<Object[]> categoryStatistics = byCategory.entrySet().stream()
+                .map(entry -> new Object[] {entry.getKey(), (long) entry.getValue().size(), (long) credits(entry.getValue())})
+                .toList();
+        Map<String, List<String>> subcategories = new LinkedHashMap<>();
+        byCategory.forEach((category, categoryModules) -> subcategories.put(category, distinct(categoryModules.stream()
+                .map(ModuleDetails::getSubcategory).toList())));
+        List<String> languages = distinct(modules.stream().map(ModuleDetails::getLanguage).toList());
+        List<String> occurrences = distinct(modules.stream().map(ModuleDetails::getOccurrence).toList());
+
+        return (ModuleDetailsRepository) Proxy.newProxyInstance(ModuleDetailsRepository.class.getClassLoader(),
+                new Class<?>[] {ModuleDetailsRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "countByStudyProgramId" -> modules.size();
+                    case "sumCreditsByStudyProgramId" -> credits(modules);
+                    case "findCategoryStatisticsByStudyProgramId" -> categoryStatistics;
+                    case "findDistinctSubcategoriesByStudyProgramIdAndCategory" -> subcategories.get((String) args[1]);
+                    case "findDistinctLanguagesByStudyProgramId" -> languages;
+                    case "findDistinctOccurrencesByStudyProgramId" -> occurrences;
+                    // New DTOs on every call, as the constructor expression of the query creates them
+                    case "findSummariesByStudyProgramIdAndCategory" -> summaries(byCategory.get((String) args[1]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<ModuleSummaryDto> summaries(List<ModuleDetails> modules) {
+        List<ModuleSummaryDto> summaries = new ArrayList<>(modules.size());
+        for (ModuleDetails module : modules) {
+            String outcomes = module.getIntendedLearningOutcomes();
+            summaries.add(new ModuleSummaryDto(module.getId(), module.getModuleId(), module.getName(), module.getCredits(),
+                    module.getCategory(), module.getSubcategory(), module.getOccurrence(), module.getLanguage(),
+                    module.getResponsible(), outcomes != null && outcomes.length() > 201 ? outcomes.substring(0, 201) : outcomes));
+        }
+        return summaries;
+    }
+
+    private static int credits(List<ModuleDetails> modules) {
+        return modules.stream().map(ModuleDetails::getCredits).filter(Objects::nonNull).mapToInt(Integer::intValue).sum();
+    }
+
+    private static List<String> distinct(List<String> values) {
+        return values.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+}
@@ -0,0 +1,218 @@
+package com.stratton_oakmont.benchmarks;
+
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.importer.CsvReader;
+import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import com.stratton_oakmont.study_planer.dto.ModuleDetailsDto;
+import com.stratton_oakmont.study_planer.model.Semester;
+import com.stratton_oakmont.study_planer.model.SemesterCourse;
+import com.stratton_oakmont.study_planer.model.StudyPlan;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fixtures built from the catalog export of data-collection (csv_tables/modules.csv), which the jmh
+ * task passes as {@code -Dbenchmarks.csv-dir}. The export is read once per benchmark JVM.
+ */
+public final class Fixtures {
+
+    public static final int SEMESTERS = 4;
+    public static final int COURSES_PER_SEMESTER = 6;
+
+    private static List<ModuleDetails> modules;
+
+    private Fixtures() {
+    }
+
+    /**
+     * All modules of the export as catalog entities, with their full texts.
+     */
+    public static synchronized List<ModuleDetails> modules() {
+        if (modules == null) {
+            Path csv = Path.of(System.getProperty("benchmarks.csv-dir", "../../data-collection/csv_tables"), "modules.csv");
+            try {
+                modules = readModules(csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read the catalog export " + csv, e);
+            }
+        }
+        return modules;
+    }
+
+    /**
+     * The study program with the most modules, the worst case of the per-program endpoints.
+     */
+    public static Integer largestStudyProgramId() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        modules().forEach(module -> counts.merge(module.getStudyProgramId(), 1, Integer::sum));
+        return counts.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+    }
+
+    public static List<ModuleDetails> modulesOf(Integer studyProgramId) {
+        return modules().stream().filter(module -> studyProgramId.equals(module.getStudyProgramId())).toList();
+    }
+
+    /**
+     * The modules as the list items of the catalog endpoints and the search snapshot.
+     */
+    public static List<ModuleListItemDto> moduleListItems() {
+        return modules().stream().map(Fixtures::toListItem).toList();
+    }
+
+    public static ModuleListItemDto toListItem(ModuleDetails module) {
+        ModuleListItemDto item = new ModuleListItemDto();
+        item.setId(module.getId());
+        item.setStudyProgramId(module.getStudyProgramId());
+        item.setCategory(module.getCategory());
+        item.setModuleId(module.getModuleId());
+        item.setName(module.getName());
+        item.setAbbreviation(module.getAbbreviation());
+        item.setResponsible(module.getResponsible());
+        return item;
+    }
+
+    /**
+     * The modules of a study program as study-plan-service receives them from the catalog.
+     */
+    public static Map<String, ModuleDetailsDto> moduleDetailsDtos(Integer studyProgramId) {
+        Map<String, ModuleDetailsDto> dtos = new LinkedHashMap<>();
+        for (ModuleDetails module : modulesOf(studyProgramId)) {
+            ModuleDetailsDto dto = new ModuleDetailsDto();
+            dto.setId(module.getId());
+            dto.setStudyProgramId(module.getStudyProgramId());
+            dto.setModuleId(module.getModuleId());
+            dto.setName(module.getName());
+            dto.setCredits(module.getCredits());
+            dto.setResponsible(module.getResponsible());
+            dto.setOccurrence(module.getOccurrence());
+            dto.setCategory(module.getCategory());
+            dto.setSubcategory(module.getSubcategory());
+            dtos.putIfAbsent(module.getModuleId(), dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * A full study plan over distinct modules of the study program, with ids as if loaded.
+     */
+    public static StudyPlan studyPlan(Integer studyProgramId) {
+        StudyPlan plan = new StudyPlan("Benchmark plan", 1L, studyProgramId.longValue());
+        plan.setId(1L);
+        Set<String> moduleIds = new LinkedHashSet<>();
+        modulesOf(studyProgramId).forEach(module -> moduleIds.add(module.getModuleId()));
+        List<String> courseIds = new ArrayList<>(moduleIds);
+
+        List<Semester> semesters = new ArrayList<>();
+        long courseId = 1;
+        for (int s = 0; s < SEMESTERS; s++) {
+            Semester semester = new Semester("Semester " + (s + 1), plan, s + 1, s % 2 == 0 ? "WINTER" : "SUMMER");
+            semester.setId((long) s + 1);
+            List<SemesterCourse> courses = new ArrayList<>();
+            for (int c = 0; c < COURSES_PER_SEMESTER; c++) {
+                SemesterCourse course = new SemesterCourse(semester,
+                        courseIds.get((s * COURSES_PER_SEMESTER + c) % courseIds.size()), c + 1);
+                course.setId(courseId++);
+                courses.add(course);
+            }
+            semester.setCourses(courses);
+            semesters.add(semester);
+        }
+        plan.setSemesters(semesters);
+        return plan;
+    }
+
+    private static List<ModuleDetails> readModules(Path csv) throws IOException {
+        List<ModuleDetails> modules = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(Files.newInputStream(csv), StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = new HashMap<>();
+            String[] header = reader.next();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i], i);
+            }
+            String[] record;
+            while ((record = reader.next()) != null) {
+                Row row = new Row(columns, record);
+                ModuleDetails module = new ModuleDetails();
+                module.setId(modules.size() + 1);
+                module.setStudyProgramId(row.integer("study_program_id"));
+                module.setCategory(row.text("category"));
+                module.setSubcategory(row.text("subcategory"));
+                module.setCourseIdAndName(row.text("course_id_and_name"));
+                module.setLink(row.text("link"));
+                module.setModuleId(row.text("module_id"));
+                module.setName(row.text("name"));
+                module.setCredits(row.integer("credits"));
+                module.setVersion(row.text("version"));
+                module.setValid(row.text("valid"));
+                module.setResponsible(row.text("responsible"));
+                module.setOrganisation(row.text("organisation"));
+                module.setNote(row.text("note"));
+                module.setModuleLevel(row.text("module_level"));
+                module.setAbbreviation(row.text("abbreviation"));
+                module.setSubtitle(row.text("subtitle"));
+                module.setDuration(row.text("duration"));
+                module.setOccurrence(row.text("occurrence"));
+                module.setLanguage(row.text("language"));
+                module.setRelatedPrograms(row.text("related_programs"));
+                module.setTotalHours(row.decimal("total_hours"));
+                module.setContactHours(row.decimal("contact_hours"));
+                module.setSelfStudyHours(row.decimal("self_study_hours"));
+                module.setDescriptionOfAchievementAndAssessmentMethods(row.text("description_of_achievement_and_assessment_methods"));
+                module.setExamRetakeNextSemester(row.text("exam_retake_next_semester"));
+                module.setExamRetakeAtTheEndOfSemester(row.text("exam_retake_at_the_end_of_semester"));
+                module.setPrerequisitesRecommended(row.text("prerequisites_recommended"));
+                module.setIntendedLearningOutcomes(row.text("intended_learning_outcomes"));
+                module.setContent(row.text("content"));
+                module.setTeachingAndLearningMethods(row.text("teaching_and_learning_methods"));
+                module.setMedia(row.text("media"));
+                module.setReadingList(row.text("reading_list"));
+                module.setCurriculumId(row.decimal("curriculum_id"));
+                module.setTransformedLink(row.text("transformed_link"));
+                module.setExtractionMethod(row.text("extraction_method"));
+                modules.add(module);
+            }
+        }
+        return modules;
+    }
+
+    // Empty values are NULL as in the catalog import, numbers written by pandas may be floats
+    private record Row(Map<String, Integer> columns, String[] record) {
+
+        String text(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.length || record[index].isEmpty()) {
+                return null;
+            }
+            return record[index];
+        }
+
+        Integer integer(String column) {
+            Double value = decimal(column);
+            return value != null ? (int) Math.round(value) : null;
+        }
+
+        Double decimal(String column) {
+            String value = text(column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
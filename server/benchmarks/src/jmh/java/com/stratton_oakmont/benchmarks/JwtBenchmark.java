@@ -0,0 +1,65 @@
+package com.stratton_oakmont.benchmarks;
+
+import com.stratton_oakmont.study_planer.service.JwtService;
+import com.stratton_oakmont.user_auth_service.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing in user-auth-service and parsing plus signature verification in
+ * study-plan-service, which verifies the token of every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    // HS512 needs a key of at least 64 bytes
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-key";
+
+    private com.stratton_oakmont.user_auth_service.service.JwtService issuer;
+    private JwtService verifier;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        issuer = new com.stratton_oakmont.user_auth_service.service.JwtService();
+        ReflectionTestUtils.setField(issuer, "secret", SECRET);
+        ReflectionTestUtils.setField(issuer, "expiration", 86_400_000L);
+        issuer.init();
+
+        verifier = new JwtService();
+        ReflectionTestUtils.setField(verifier, "secret", SECRET);
+        verifier.init();
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("student@tum.de");
+        user.setRoles("ROLE_USER");
+        token = issuer.generateToken(user);
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return issuer.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return verifier.validateToken(token);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return verifier.extractUserId(token);
+    }
+}
@@ -0,0 +1,83 @@
+package com.stratton_oakmont.benchmarks;
+
+import com.stratton_oakmont.study_planer.client.ProgramCatalogClient;
+import com.stratton_oakmont.study_planer.controller.SemesterCourseController;
+import com.stratton_oakmont.study_planer.dto.ModuleDetailsDto;
+import com.stratton_oakmont.study_planer.dto.SemesterCourseDto;
+import com.stratton_oakmont.study_planer.model.Semester;
+import com.stratton_oakmont.study_planer.model.SemesterCourse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SemesterCourseController.convertToDto} for all courses of a study plan, with and without
+ * the enrichment from the catalog. The catalog client answers from memory, like a revalidated
+ * cache hit, so the HTTP call itself is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SemesterCourseMappingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean enrich;
+
+    private SemesterCourseController controller;
+    private MethodHandle convertToDto;
+    private List<SemesterCourse> courses;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        Integer studyProgramId = Fixtures.largestStudyProgramId();
+        controller = new SemesterCourseController(null, null, null,
+                new FixtureCatalogClient(Fixtures.moduleDetailsDtos(studyProgramId)));
+        // The mapping is private to the controller
+        convertToDto = MethodHandles.privateLookupIn(SemesterCourseController.class, MethodHandles.lookup())
+                .findVirtual(SemesterCourseController.class, "convertToDto",
+                        MethodType.methodType(SemesterCourseDto.class, SemesterCourse.class, boolean.class));
+        courses = Fixtures.studyPlan(studyProgramId).getSemesters().stream()
+                .map(Semester::getCourses)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Benchmark
+    public List<SemesterCourseDto> convertToDto() throws Throwable {
+        List<SemesterCourseDto> dtos = new ArrayList<>(courses.size());
+        for (SemesterCourse course : courses) {
+            dtos.add((SemesterCourseDto) convertToDto.invokeExact(controller, course, enrich));
+        }
+        return dtos;
+    }
+
+    private static final class FixtureCatalogClient extends ProgramCatalogClient {
+
+        private final Map<String, ModuleDetailsDto> modules;
+
+        FixtureCatalogClient(Map<String, ModuleDetailsDto> modules) {
+            super(new RestTemplate(), "http://program-catalog-service:8080");
+            this.modules = modules;
+        }
+
+        @Override
+        public Optional<ModuleDetailsDto> getModuleDetails(String moduleId) {
+            return Optional.ofNullable(modules.get(moduleId));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.stratton_oakmont.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import com.stratton_oakmont.study_planer.dto.ModuleDetailsDto;
+import com.stratton_oakmont.study_planer.dto.SemesterCourseDto;
+import com.stratton_oakmont.study_planer.dto.SemesterDto;
+import com.stratton_oakmont.study_planer.dto.StudyPlanDto;
+import com.stratton_oakmont.study_planer.model.Semester;
+import com.stratton_oakmont.study_planer.model.SemesterCourse;
+import com.stratton_oakmont.study_planer.model.StudyPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the largest response bodies: a module with its full texts, all modules of
+ * the largest study program and a complete study plan. The object mapper is configured like the
+ * one of Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ModuleDetails module;
+    private List<ModuleDetails> programModules;
+    private StudyPlanDto studyPlan;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Integer studyProgramId = Fixtures.largestStudyProgramId();
+        programModules = Fixtures.modulesOf(studyProgramId);
+        // The module with the median text size
+        List<ModuleDetails> bySize = new ArrayList<>(programModules);
+        bySize.sort(Comparator.comparingInt(SerializationBenchmark::textLength));
+        module = bySize.get(bySize.size() / 2);
+        studyPlan = toDto(Fixtures.studyPlan(studyProgramId), Fixtures.moduleDetailsDtos(studyProgramId));
+    }
+
+    @Benchmark
+    public byte[] moduleDetails() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(module);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] studyProgramModules() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(programModules);
+    }
+
+    @Benchmark
+    public byte[] studyPlan() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studyPlan);
+    }
+
+    private static int textLength(ModuleDetails module) {
+        return length(module.getContent()) + length(module.getIntendedLearningOutcomes())
+                + length(module.getDescriptionOfAchievementAndAssessmentMethods()) + length(module.getReadingList());
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    // The plan as the study plan endpoints return it, every course enriched from the catalog
+    private static StudyPlanDto toDto(StudyPlan plan, Map<String, ModuleDetailsDto> modules) {
+        StudyPlanDto dto = new StudyPlanDto(plan.getName(), plan.getUserId(), plan.getStudyProgramId());
+        dto.setId(plan.getId());
+        dto.setStudyProgramName("M.Sc. Information Systems");
+        dto.setCreateDate(LocalDateTime.of(2025, 4, 1, 12, 0));
+        List<SemesterDto> semesters = new ArrayList<>();
+        for (Semester semester : plan.getSemesters()) {
+            SemesterDto semesterDto = new SemesterDto(semester.getName(), plan.getId(), semester.getSemesterOrder(),
+                    semester.getWinterOrSummer());
+            semesterDto.setId(semester.getId());
+            List<SemesterCourseDto> courses = new ArrayList<>();
+            for (SemesterCourse course : semester.getCourses()) {
+                ModuleDetailsDto details = modules.get(course.getCourseId());
+                SemesterCourseDto courseDto = new SemesterCourseDto();
+                courseDto.setId(course.getId());
+                courseDto.setSemesterId(semester.getId());
+                courseDto.setCourseId(course.getCourseId());
+                courseDto.setIsCompleted(false);
+                courseDto.setCourseOrder(course.getCourseOrder());
+                courseDto.setCourseName(details.getName());
+                courseDto.setCourseCode(details.getModuleId());
+                courseDto.setCredits(details.getCredits());
+                courseDto.setProfessor(details.getResponsible());
+                courseDto.setOccurrence(details.getOccurrence());
+                courseDto.setCategory(details.getCategory());
+                courseDto.setSubcategory(details.getSubcategory());
+                courses.add(courseDto);
+            }
+            semesterDto.setCourses(courses);
+            semesters.add(semesterDto);
+        }
+        dto.setSemesters(semesters);
+        return dto;
+    }
+}
@@ -0,0 +1,56 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.benchmarks.Fixtures;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSuggestionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search and snapshot build over the full catalog export (data-collection/csv_tables/modules.csv).
+ * In the package of the snapshot, whose factory is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModuleSearchBenchmark {
+
+    @Param({"machin lerning", "Buisness proces", "Cremrs", "IN2046", "database"})
+    public String query;
+
+    private List<ModuleListItemDto> modules;
+    private ProgramIndex program;
+
+    @Setup
+    public void setUp() {
+        modules = Fixtures.moduleListItems();
+        CatalogSnapshot snapshot = CatalogSnapshot.build(1, List.of(), modules, List.of(), 10);
+        // The largest curriculum
+        program = snapshot.getProgram(Fixtures.largestStudyProgramId());
+    }
+
+    @Benchmark
+    public List<ModuleListItemDto> fuzzySearch() {
+        return program.fuzzySearch(query, 20, 4000);
+    }
+
+    @Benchmark
+    public List<ModuleSuggestionDto> suggest() {
+        return program.suggest(query.substring(0, Math.min(4, query.length())), 10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CatalogSnapshot buildSnapshot() {
+        return CatalogSnapshot.build(1, List.of(), modules, List.of(), 10);
+    }
+}
@@ -0,0 +1,225 @@
+package com.stratton_oakmont.load_tests;
+
+import com.stratton_oakmont.program_catalog_service.importer.CsvReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates the catalog database from catalog-schema.sql and loads degree_programs.csv into
+ * study_programs and modules.csv into curriculums_x_module_details, as data-collection does for
+ * PostgreSQL. CSV headers map to columns in lower case with other characters than letters and digits
+ * replaced by underscores ("Field of studies" is field_of_studies), headers without a column are skipped.
+ */
+final class CatalogSeeder {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MIN_SEARCH_TERM_LENGTH = 5;
+
+    private CatalogSeeder() {
+    }
+
+    /**
+     * Seed the database and return the largest study programs as fixtures for the virtual users
+     */
+    static List<StudyProgramFixture> seed(String jdbcUrl, Path csvDir, int studyPrograms) throws IOException, SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+            connection.setAutoCommit(false);
+            runScript(connection, "/catalog-schema.sql");
+            int programs = load(connection, csvDir.resolve("degree_programs.csv"), "study_programs");
+            int modules = load(connection, csvDir.resolve("modules.csv"), "curriculums_x_module_details");
+            connection.commit();
+            System.out.printf("Seeded %d study programs and %d modules from %s%n", programs, modules, csvDir);
+            return fixtures(connection, studyPrograms);
+        }
+    }
+
+    private static void runScript(Connection connection, String resource) throws IOException, SQLException {
+        String script;
+        try (InputStream input = CatalogSeeder.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Missing " + resource);
+            }
+            script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder sql = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.strip().startsWith("--")) {
+                sql.append(line).append('\n');
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String command : sql.toString().split(";")) {
+                if (!command.isBlank()) {
+                    statement.execute(command);
+                }
+            }
+        }
+    }
+
+    private static int load(Connection connection, Path csv, String table) throws IOException, SQLException {
+        Map<String, Integer> columnTypes = columnTypes(connection, table);
+        try (CsvReader reader = new CsvReader(new InputStreamReader(Files.newInputStream(csv), StandardCharsets.UTF_8))) {
+            String[] header = reader.next();
+            if (header == null) {
+                throw new IOException(csv + " is empty");
+            }
+            // CSV index and SQL type of every loaded column, in header order
+            List<Integer> indexes = new ArrayList<>();
+            List<String> columns = new ArrayList<>();
+            for (int i = 0; i < header.length; i++) {
+                String column = header[i].strip().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+                if (columnTypes.containsKey(column) && !columns.contains(column)) {
+                    indexes.add(i);
+                    columns.add(column);
+                }
+            }
+            String sql = "MERGE INTO " + table + " (" + String.join(", ", columns) + ") KEY (id) VALUES ("
+                    + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+
+            if (!columns.contains("id")) {
+                throw new IOException(csv + " has no ID column");
+            }
+            int rows = 0;
+            int skipped = 0;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                String[] record;
+                while ((record = reader.next()) != null) {
+                    Object[] values = new Object[columns.size()];
+                    for (int i = 0; i < columns.size(); i++) {
+                        int index = indexes.get(i);
+                        values[i] = value(index < record.length ? record[index] : null, columnTypes.get(columns.get(i)));
+                    }
+                    // Some degree programs have combined ids like "110 100", which no entity can load
+                    if (values[columns.indexOf("id")] == null) {
+                        skipped++;
+                        continue;
+                    }
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (values[i] == null) {
+                            statement.setNull(i + 1, columnTypes.get(columns.get(i)));
+                        } else {
+                            statement.setObject(i + 1, values[i]);
+                        }
+                    }
+                    statement.addBatch();
+                    if (++rows % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+            if (skipped > 0) {
+                System.out.printf("Skipped %d rows of %s without a numeric ID%n", skipped, csv.getFileName());
+            }
+            return rows;
+        }
+    }
+
+    private static Map<String, Integer> columnTypes(Connection connection, String table) throws SQLException {
+        Map<String, Integer> types = new LinkedHashMap<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(null, null, table, null)) {
+            while (columns.next()) {
+                types.put(columns.getString("COLUMN_NAME"), columns.getInt("DATA_TYPE"));
+            }
+        }
+        return types;
+    }
+
+    // pandas writes integers of columns with gaps as floats (30.0), values that are no numbers become NULL
+    private static Object value(String text, int type) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return switch (type) {
+                case Types.INTEGER, Types.BIGINT, Types.SMALLINT -> (long) Double.parseDouble(text.strip());
+                case Types.DOUBLE, Types.FLOAT, Types.REAL, Types.DECIMAL, Types.NUMERIC -> Double.parseDouble(text.strip());
+                default -> text;
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static List<StudyProgramFixture> fixtures(Connection connection, int count) throws SQLException {
+        List<StudyProgramFixture> fixtures = new ArrayList<>();
+        try (PreparedStatement largest = connection.prepareStatement(
+                "SELECT m.study_program_id, MAX(p.curriculum) FROM curriculums_x_module_details m "
+                        + "LEFT JOIN study_programs p ON p.id = m.study_program_id "
+                        + "WHERE m.study_program_id IS NOT NULL AND m.module_id IS NOT NULL "
+                        + "GROUP BY m.study_program_id ORDER BY COUNT(*) DESC LIMIT ?");
+             PreparedStatement modules = connection.prepareStatement(
+                     "SELECT module_id, name, category FROM curriculums_x_module_details "
+                             + "WHERE study_program_id = ? AND module_id IS NOT NULL ORDER BY id")) {
+            largest.setInt(1, count);
+            try (ResultSet programs = largest.executeQuery()) {
+                while (programs.next()) {
+                    long id = programs.getLong(1);
+                    String name = programs.getString(2) != null ? programs.getString(2) : "Study program " + id;
+                    modules.setLong(1, id);
+                    fixtures.add(fixture(id, name, modules));
+                }
+            }
+        }
+        return fixtures;
+    }
+
+    private static StudyProgramFixture fixture(long id, String name, PreparedStatement modules) throws SQLException {
+        Set<String> moduleIds = new LinkedHashSet<>();
+        Set<String> categories = new LinkedHashSet<>();
+        Set<String> words = new LinkedHashSet<>();
+        try (ResultSet rows = modules.executeQuery()) {
+            while (rows.next()) {
+                moduleIds.add(rows.getString("module_id"));
+                if (rows.getString("category") != null) {
+                    categories.add(rows.getString("category"));
+                }
+                String moduleName = rows.getString("name");
+                if (moduleName != null) {
+                    for (String word : moduleName.toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                        if (word.length() >= MIN_SEARCH_TERM_LENGTH) {
+                            words.add(word);
+                        }
+                    }
+                }
+            }
+        }
+        // Every third term with a typo, which the search answers from the fuzzy index
+        List<String> searchTerms = new ArrayList<>();
+        int i = 0;
+        for (String word : words) {
+            searchTerms.add(i++ % 3 == 2 ? swapMiddleLetters(word) : word);
+        }
+        return new StudyProgramFixture(id, name, List.copyOf(moduleIds), List.copyOf(categories), searchTerms);
+    }
+
+    private static String swapMiddleLetters(String word) {
+        int middle = word.length() / 2;
+        char[] letters = word.toCharArray();
+        char swapped = letters[middle];
+        letters[middle] = letters[middle - 1];
+        letters[middle - 1] = swapped;
+        return new String(letters);
+    }
+}
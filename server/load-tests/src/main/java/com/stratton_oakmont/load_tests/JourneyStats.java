@@ -0,0 +1,44 @@
+package com.stratton_oakmont.load_tests;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The stats of all journey steps, in journey order. Nothing is recorded until {@link #startRecording()},
+ * so setup and ramp-up do not count.
+ */
+final class JourneyStats {
+
+    private final Map<String, StepStats> steps = new LinkedHashMap<>();
+    private volatile boolean recording;
+
+    JourneyStats(List<String> steps) {
+        steps.forEach(step -> this.steps.put(step, new StepStats(step)));
+    }
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void success(String step, long nanos) {
+        if (recording) {
+            steps.get(step).success(nanos);
+        }
+    }
+
+    void failure(String step, String cause) {
+        if (recording) {
+            steps.get(step).failure(cause);
+        }
+    }
+
+    List<StepStats.Summary> summarize(Duration measured) {
+        return steps.values().stream().map(step -> step.summarize(measured)).toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.stratton_oakmont.load_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stands in for the LLM inference service. {@code POST /chat/} answers after the configured latency,
+ * varied uniformly by the jitter, with a canned answer that recommends modules of the catalog like
+ * the real service. Every request is handled on its own virtual thread, so the stub itself never
+ * queues requests.
+ */
+final class LlmStub implements AutoCloseable {
+
+    private static final int RECOMMENDED_MODULES = 3;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration latency;
+    private final Duration jitter;
+    private final List<String> moduleIds;
+
+    private LlmStub(HttpServer server, ExecutorService executor, Duration latency, Duration jitter, List<String> moduleIds) {
+        this.server = server;
+        this.executor = executor;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.moduleIds = moduleIds;
+    }
+
+    static LlmStub start(Duration latency, Duration jitter, List<String> moduleIds) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Ports.free()), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        LlmStub stub = new LlmStub(server, executor, latency, jitter, moduleIds);
+        server.createContext("/chat/", stub::chat);
+        server.createContext("/health", exchange -> stub.respond(exchange, 200, Map.of("status", "healthy")));
+        server.setExecutor(executor);
+        server.start();
+        System.out.printf("LLM stub on port %d, %dms +-%dms per chat%n", stub.port(), latency.toMillis(), jitter.toMillis());
+        return stub;
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + port();
+    }
+
+    private void chat(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long jitterMillis = jitter.toMillis();
+        long millis = Math.max(0, latency.toMillis() + (jitterMillis > 0 ? random.nextLong(-jitterMillis, jitterMillis + 1) : 0));
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return;
+        }
+        List<String> recommended = random.ints(RECOMMENDED_MODULES, 0, moduleIds.size())
+                .mapToObj(moduleIds::get)
+                .distinct()
+                .toList();
+        respond(exchange, 200, Map.of(
+                "response", "Based on your study plan I would recommend " + String.join(", ", recommended) + ".",
+                "module_ids", recommended));
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(json);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
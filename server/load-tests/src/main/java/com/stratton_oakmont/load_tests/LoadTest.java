@@ -0,0 +1,196 @@
+package com.stratton_oakmont.load_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.tools.Server;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of the services on one machine, without Docker or network, started with
+ * {@code ./gradlew :load-tests:loadTest}. An in-process H2 server in PostgreSQL mode holds the
+ * databases, the catalog is seeded from the CSV tables of data-collection, and an {@link LlmStub}
+ * answers for the LLM inference service. program-catalog, study-plan, user-auth and ai-advisor run in
+ * their own JVMs with their production configuration apart from databases, ports and tracing.
+ * {@link VirtualUser}s then run their journeys and the results are reported per step.
+ */
+public final class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    // Closed in reverse order at the end of the run or on Ctrl+C
+    private static final List<AutoCloseable> resources = new ArrayList<>();
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(LoadTest::closeAll));
+        try {
+            run(settings);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private static void run(LoadTestSettings settings) throws Exception {
+        Files.createDirectories(settings.workDir());
+        int h2Port = Ports.free();
+        Server h2 = Server.createTcpServer("-tcpPort", String.valueOf(h2Port), "-ifNotExists").start();
+        register(h2::stop);
+
+        List<StudyProgramFixture> programs = CatalogSeeder.seed(database(h2Port, "catalog"), settings.csvDir(), settings.studyPrograms());
+        if (programs.isEmpty()) {
+            throw new IllegalStateException("No modules in " + settings.csvDir().resolve("modules.csv"));
+        }
+        LlmStub llm = register(LlmStub.start(settings.llmLatency(), settings.llmJitter(), programs.get(0).moduleIds()));
+
+        // Tokens of user-auth are validated by study-plan with the same secret
+        byte[] secret = new byte[48];
+        new SecureRandom().nextBytes(secret);
+        String jwtSecret = Base64.getEncoder().encodeToString(secret);
+
+        ServiceProcess catalog = register(ServiceProcess.start("program-catalog-service",
+                "com.stratton_oakmont.program_catalog_service.ProgramCatalogServiceApplication", settings,
+                datasource("DB_STUDY_DATA", database(h2Port, "catalog")),
+                List.of("--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        // The schema is created by the seeder, schema.sql is written for PostgreSQL
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.sql.init.mode=never")));
+        ServiceProcess studyPlan = register(ServiceProcess.start("study-plan-service",
+                "com.stratton_oakmont.study_planer.StudyPlanerApplication", settings,
+                datasource("DB_STUDY_PLAN", database(h2Port, "study_plan"), "JWT_SECRET", jwtSecret),
+                List.of("--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--program-catalog-service.url=" + catalog.origin())));
+        ServiceProcess userAuth = register(ServiceProcess.start("user-auth-service",
+                "com.stratton_oakmont.user_auth_service.UserAuthServiceApplication", settings,
+                datasource("DB_USER_AUTH", database(h2Port, "user_auth"),
+                        "JWT_SECRET", jwtSecret, "JWT_EXPIRATION", String.valueOf(Duration.ofDays(1).toMillis())),
+                List.of("--spring.datasource.driver-class-name=org.h2.Driver")));
+        ServiceProcess aiAdvisor = register(ServiceProcess.start("ai-advisor-service",
+                "com.stratton_oakmont.ai_advisor_service.AiAdvisorServiceApplication", settings,
+                Map.of(),
+                List.of("--llm.inference.service.url=" + llm.url())));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (ServiceProcess service : List.of(catalog, studyPlan, userAuth, aiAdvisor)) {
+            service.awaitReady(client, STARTUP_TIMEOUT);
+            System.out.printf("%s is up%n", service.name());
+        }
+
+        VirtualUser.Endpoints endpoints = new VirtualUser.Endpoints(userAuth.url(), studyPlan.url(), catalog.url(), aiAdvisor.url());
+        drive(settings, client, endpoints, programs);
+    }
+
+    private static void drive(LoadTestSettings settings, HttpClient client, VirtualUser.Endpoints endpoints,
+                              List<StudyProgramFixture> programs) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JourneyStats stats = new JourneyStats(VirtualUser.STEPS);
+        AtomicInteger failedSetups = new AtomicInteger();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Instant start = Instant.now();
+        Instant recordFrom = start.plus(settings.rampUp());
+        Instant deadline = recordFrom.plus(settings.duration());
+        System.out.printf("Ramping up %d users over %ds, then recording for %ds%n",
+                settings.users(), settings.rampUp().toSeconds(), settings.duration().toSeconds());
+
+        Instant recordedFrom;
+        Instant recordedUntil;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.users(); i++) {
+                VirtualUser user = new VirtualUser(i, endpoints, client, objectMapper, stats,
+                        programs.get(i % programs.size()), settings.thinkTime());
+                Instant startAt = start.plus(settings.rampUp().multipliedBy(i).dividedBy(settings.users()));
+                users.submit(() -> {
+                    sleepUntil(startAt);
+                    try {
+                        user.setUp();
+                    } catch (Exception e) {
+                        failedSetups.incrementAndGet();
+                        System.out.printf("Setup of a user failed: %s%n", e.getMessage());
+                        return null;
+                    }
+                    user.run(deadline);
+                    return null;
+                });
+            }
+            sleepUntil(recordFrom);
+            stats.startRecording();
+            recordedFrom = Instant.now();
+            sleepUntil(deadline);
+            stats.stopRecording();
+            recordedUntil = Instant.now();
+            // Users are interrupted in their think time or request
+            users.shutdownNow();
+        }
+
+        Duration measured = Duration.between(recordedFrom, recordedUntil);
+        List<StepStats.Summary> summaries = stats.summarize(measured);
+        Report.print(summaries, measured, failedSetups.get());
+        Path report = Report.write(settings, startedAt, summaries, measured, failedSetups.get());
+        System.out.printf("%nReport written to %s%n", report);
+    }
+
+    // One in-memory database per service, kept while the H2 server runs
+    private static String database(int port, String name) {
+        return "jdbc:h2:tcp://127.0.0.1:" + port + "/mem:" + name
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1"
+                // The Hikari pool of study-plan passes PostgreSQL driver properties
+                + ";IGNORE_UNKNOWN_SETTINGS=TRUE";
+    }
+
+    // The environment variables the application.properties of the services read the datasource from,
+    // followed by further name and value pairs
+    private static Map<String, String> datasource(String prefix, String url, String... variables) {
+        Map<String, String> environment = new HashMap<>();
+        environment.put(prefix + "_URL", url);
+        environment.put(prefix + "_USERNAME", "sa");
+        environment.put(prefix + "_PASSWORD", "");
+        for (int i = 0; i + 1 < variables.length; i += 2) {
+            environment.put(variables[i], variables[i + 1]);
+        }
+        return environment;
+    }
+
+    private static void sleepUntil(Instant instant) throws InterruptedException {
+        long millis = Duration.between(Instant.now(), instant).toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static synchronized <T extends AutoCloseable> T register(T resource) {
+        resources.add(resource);
+        return resource;
+    }
+
+    private static synchronized void closeAll() {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception e) {
+                System.err.printf("Failed to stop %s: %s%n", resources.get(i), e.getMessage());
+            }
+        }
+        resources.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package com.stratton_oakmont.load_tests;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Settings of a run, read from the load.* system properties. The loadTest task passes every
+ * -Pload.name=value through, durations are written like 90s, 500ms or 5m.
+ *
+ * @param users         concurrent virtual users, each one runs the journey in a loop
+ * @param rampUp        the users start evenly spread over this time, nothing is recorded until it is over
+ * @param duration      measured time after the ramp-up
+ * @param thinkTime     mean pause between two steps of a user, varied by +-50%
+ * @param llmLatency    mean latency of the LLM stub
+ * @param llmJitter     the LLM stub latency varies uniformly by up to this much
+ * @param studyPrograms the users plan in the largest study programs, this many of them
+ * @param serviceHeap   maximum heap of every service JVM
+ */
+record LoadTestSettings(
+        Path csvDir,
+        Path workDir,
+        int users,
+        Duration rampUp,
+        Duration duration,
+        Duration thinkTime,
+        Duration llmLatency,
+        Duration llmJitter,
+        int studyPrograms,
+        String serviceHeap) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Path.of(System.getProperty("load.csv-dir", "../../data-collection/csv_tables")),
+                Path.of(System.getProperty("load.work-dir", "build/load-tests")),
+                Integer.parseInt(System.getProperty("load.users", "20")),
+                duration("load.ramp-up", "30s"),
+                duration("load.duration", "2m"),
+                duration("load.think-time", "1s"),
+                duration("load.llm-latency", "1500ms"),
+                duration("load.llm-jitter", "500ms"),
+                Integer.parseInt(System.getProperty("load.study-programs", "10")),
+                System.getProperty("load.service-heap", "512m"));
+    }
+
+    /**
+     * The runtime classpath of a service, resolved by the loadTest task
+     */
+    String classpath(String service) {
+        String classpath = System.getProperty("load.classpath." + service);
+        if (classpath == null) {
+            throw new IllegalStateException("No classpath for " + service + ", run the load test with ./gradlew :load-tests:loadTest");
+        }
+        return classpath;
+    }
+
+    static Duration duration(String property, String defaultValue) {
+        String value = System.getProperty(property, defaultValue).trim().toLowerCase(Locale.ROOT);
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            if (value.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(property + " must be a duration like 500ms, 90s or 5m, not " + value);
+    }
+}
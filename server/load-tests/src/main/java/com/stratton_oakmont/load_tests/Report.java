@@ -0,0 +1,65 @@
+package com.stratton_oakmont.load_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the results per step and writes them to {@code report-<start>.json} in the work directory
+ */
+final class Report {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private Report() {
+    }
+
+    static void print(List<StepStats.Summary> steps, Duration measured, int failedSetups) {
+        System.out.printf("%nResults of %ds, latencies in ms%n", measured.toSeconds());
+        System.out.printf("%-14s %8s %7s %8s %8s %8s %8s %8s %8s %8s%n",
+                "step", "count", "errors", "per sec", "mean", "p50", "p90", "p95", "p99", "max");
+        for (StepStats.Summary step : steps) {
+            System.out.printf("%-14s %8d %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    step.step(), step.count(), step.errors(), step.throughput(), step.mean(),
+                    step.p50(), step.p90(), step.p95(), step.p99(), step.max());
+        }
+        for (StepStats.Summary step : steps) {
+            step.errorsByCause().forEach((cause, count) -> System.out.printf("%s failed %d times: %s%n", step.step(), count, cause));
+        }
+        if (failedSetups > 0) {
+            System.out.printf("%d users could not be set up and did not run%n", failedSetups);
+        }
+    }
+
+    static Path write(LoadTestSettings settings, LocalDateTime startedAt, List<StepStats.Summary> steps,
+                      Duration measured, int failedSetups) throws IOException {
+        Map<String, Object> settingsJson = new LinkedHashMap<>();
+        settingsJson.put("users", settings.users());
+        settingsJson.put("rampUpSeconds", settings.rampUp().toSeconds());
+        settingsJson.put("durationSeconds", settings.duration().toSeconds());
+        settingsJson.put("thinkTimeMs", settings.thinkTime().toMillis());
+        settingsJson.put("llmLatencyMs", settings.llmLatency().toMillis());
+        settingsJson.put("llmJitterMs", settings.llmJitter().toMillis());
+        settingsJson.put("studyPrograms", settings.studyPrograms());
+        settingsJson.put("serviceHeap", settings.serviceHeap());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("settings", settingsJson);
+        report.put("measuredSeconds", measured.toMillis() / 1000.0);
+        report.put("failedSetups", failedSetups);
+        report.put("steps", steps);
+
+        Path file = settings.workDir().resolve("report-" + startedAt.format(FILE_TIMESTAMP) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+}
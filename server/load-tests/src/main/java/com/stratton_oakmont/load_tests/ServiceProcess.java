@@ -0,0 +1,121 @@
+package com.stratton_oakmont.load_tests;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A service in its own JVM with the runtime classpath of its Gradle project. It runs in its own
+ * directory under the work directory, so no developer .env is picked up, and writes its output to
+ * {@code <service>.log} there. Server and management port are bound to localhost.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(15);
+
+    private final String name;
+    private final Process process;
+    private final int port;
+    private final int managementPort;
+    private final Path log;
+
+    private ServiceProcess(String name, Process process, int port, int managementPort, Path log) {
+        this.name = name;
+        this.process = process;
+        this.port = port;
+        this.managementPort = managementPort;
+        this.log = log;
+    }
+
+    static ServiceProcess start(String name, String mainClass, LoadTestSettings settings,
+                                Map<String, String> environment, List<String> properties) throws IOException {
+        Path directory = Files.createDirectories(settings.workDir().resolve(name));
+        Path log = directory.resolve(name + ".log");
+        int port = Ports.free();
+        int managementPort = Ports.free();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + settings.serviceHeap());
+        command.add("-cp");
+        command.add(settings.classpath(name));
+        command.add(mainClass);
+        command.add("--server.address=127.0.0.1");
+        command.add("--server.port=" + port);
+        command.add("--management.server.address=127.0.0.1");
+        command.add("--management.server.port=" + managementPort);
+        // There is no collector to export traces to
+        command.add("--management.tracing.enabled=false");
+        command.addAll(properties);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putAll(environment);
+        System.out.printf("Starting %s on port %d (management %d), log in %s%n", name, port, managementPort, log);
+        return new ServiceProcess(name, builder.start(), port, managementPort, log);
+    }
+
+    String name() {
+        return name;
+    }
+
+    String origin() {
+        return "http://127.0.0.1:" + port;
+    }
+
+    /**
+     * Base URL of the API, including the /api/v1 context path
+     */
+    String url() {
+        return origin() + "/api/v1";
+    }
+
+    /**
+     * Wait until the health endpoint reports UP
+     */
+    void awaitReady(HttpClient client, Duration timeout) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + managementPort + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " was not ready after " + timeout.toSeconds() + "s, see " + log);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.stratton_oakmont.load_tests;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcomes of one journey step. Latencies of successful steps are kept in microseconds, a run of a
+ * few minutes stays within a few million samples; failed steps are counted by cause.
+ */
+final class StepStats {
+
+    private final String step;
+    private long[] latencies = new long[4096];
+    private int count;
+    private int errors;
+    private final Map<String, Integer> errorsByCause = new TreeMap<>();
+
+    StepStats(String step) {
+        this.step = step;
+    }
+
+    synchronized void success(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos / 1000;
+    }
+
+    synchronized void failure(String cause) {
+        errors++;
+        errorsByCause.merge(cause, 1, Integer::sum);
+    }
+
+    synchronized Summary summarize(Duration measured) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double seconds = measured.toMillis() / 1000.0;
+        return new Summary(step, count, errors, seconds > 0 ? count / seconds : 0,
+                Arrays.stream(sorted).average().orElse(0) / 1000,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 95), percentile(sorted, 99),
+                count > 0 ? sorted[count - 1] / 1000.0 : 0,
+                new TreeMap<>(errorsByCause));
+    }
+
+    // Nearest rank, in milliseconds
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    /**
+     * Results of a step, latencies in milliseconds and throughput of successful steps per second
+     */
+    record Summary(String step, int count, int errors, double throughput, double mean,
+                   double p50, double p90, double p95, double p99, double max, Map<String, Integer> errorsByCause) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.stratton_oakmont.load_tests;
+
+import java.util.List;
+
+/**
+ * A seeded study program the virtual users plan in, with what they pick from it: modules to add,
+ * categories to filter by and search terms taken from the module names (some of them misspelled).
+ */
+record StudyProgramFixture(long id, String name, List<String> moduleIds, List<String> categories, List<String> searchTerms) {
+}
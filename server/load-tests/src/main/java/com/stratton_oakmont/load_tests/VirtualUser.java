@@ -0,0 +1,249 @@
+package com.stratton_oakmont.load_tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated student. Once set up (registered, with a study plan of four semesters) it runs the
+ * journey in a loop: log in, open the plan, search the catalog, add a course, reorder its semester,
+ * ask the advisor and remove the course again, with think time between the steps. A step sends the
+ * requests the client sends for that action and is timed from its first request to its last
+ * response; a failed step ends the iteration.
+ */
+final class VirtualUser {
+
+    static final String LOGIN = "login";
+    static final String OPEN_PLAN = "open plan";
+    static final String SEARCH = "search";
+    static final String ADD_COURSE = "add course";
+    static final String REORDER = "reorder";
+    static final String CHAT = "chat";
+    static final String REMOVE_COURSE = "remove course";
+    static final List<String> STEPS = List.of(LOGIN, OPEN_PLAN, SEARCH, ADD_COURSE, REORDER, CHAT, REMOVE_COURSE);
+
+    private static final int SEMESTERS = 4;
+    private static final String PASSWORD = "load-test-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Base URLs of the services, including the context path
+     */
+    record Endpoints(String userAuth, String studyPlan, String catalog, String aiAdvisor) {
+    }
+
+    private final int number;
+    private final Endpoints endpoints;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final JourneyStats stats;
+    private final StudyProgramFixture program;
+    private final Duration thinkTime;
+    private final Random random;
+
+    private String token;
+    private long planId;
+    private List<Long> semesterIds = new ArrayList<>();
+
+    VirtualUser(int number, Endpoints endpoints, HttpClient client, ObjectMapper objectMapper, JourneyStats stats,
+                StudyProgramFixture program, Duration thinkTime) {
+        this.number = number;
+        this.endpoints = endpoints;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.program = program;
+        this.thinkTime = thinkTime;
+        this.random = new Random(number);
+    }
+
+    /**
+     * Register the user and create its study plan, not recorded
+     */
+    void setUp() throws IOException, InterruptedException {
+        // Fails for users of an earlier run against the same database, they just log in
+        client.send(post(endpoints.userAuth() + "/auth/register", Map.of("email", email(), "password", PASSWORD), false),
+                HttpResponse.BodyHandlers.discarding());
+        login();
+        String programName = program.name().length() > 255 ? program.name().substring(0, 255) : program.name();
+        planId = call(post(endpoints.studyPlan() + "/",
+                Map.of("name", "Load test plan", "studyProgramId", program.id(), "studyProgramName", programName), true))
+                .get("id").asLong();
+        for (int order = 1; order <= SEMESTERS; order++) {
+            Map<String, Object> semester = Map.of("name", "Semester " + order, "studyPlanId", planId,
+                    "semesterOrder", order, "winterOrSummer", order % 2 == 1 ? "WINTER" : "SUMMER");
+            semesterIds.add(call(post(endpoints.studyPlan() + "/semesters", semester, true)).get("id").asLong());
+        }
+    }
+
+    /**
+     * Run the journey until the deadline
+     */
+    void run(Instant deadline) throws InterruptedException {
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                journey();
+            } catch (StepFailedException e) {
+                think();
+            }
+        }
+    }
+
+    private void journey() throws InterruptedException {
+        step(LOGIN, this::login);
+        think();
+        Map<Long, List<Long>> coursesBySemester = step(OPEN_PLAN, this::openPlan);
+        think();
+        step(SEARCH, this::search);
+        think();
+
+        long semesterId = semesterIds.get(random.nextInt(semesterIds.size()));
+        List<Long> courses = new ArrayList<>(coursesBySemester.getOrDefault(semesterId, List.of()));
+        String moduleId = program.moduleIds().get(random.nextInt(program.moduleIds().size()));
+        Map<String, Object> course = Map.of("semesterId", semesterId, "courseId", moduleId, "courseOrder", courses.size() + 1);
+        long courseId = step(ADD_COURSE, () -> call(post(endpoints.studyPlan() + "/semester-courses", course, true)).get("id").asLong());
+        think();
+
+        // Drag the new course to a random position
+        courses.add(courseId);
+        Collections.shuffle(courses, random);
+        Map<String, Object> reorder = Map.of("semesterId", semesterId, "courseIds", courses);
+        step(REORDER, () -> call(post(endpoints.studyPlan() + "/semester-courses/reorder", reorder, true)));
+        think();
+
+        step(CHAT, this::chat);
+        think();
+
+        step(REMOVE_COURSE, () -> call(request(endpoints.studyPlan() + "/semester-courses/" + courseId, true).DELETE().build()));
+        think();
+    }
+
+    private Void login() throws IOException, InterruptedException {
+        token = call(post(endpoints.userAuth() + "/auth/login", Map.of("email", email(), "password", PASSWORD), false))
+                .get("token").asText();
+        return null;
+    }
+
+    // Like the plan page: the plan, its semesters and the courses of one semester after the other
+    private Map<Long, List<Long>> openPlan() throws IOException, InterruptedException {
+        call(request(endpoints.studyPlan() + "/" + planId, true).GET().build());
+        JsonNode semesters = call(request(endpoints.studyPlan() + "/semesters/study-plan/" + planId, true).GET().build());
+        Map<Long, List<Long>> coursesBySemester = new LinkedHashMap<>();
+        for (JsonNode semester : semesters) {
+            long semesterId = semester.get("id").asLong();
+            List<Long> courseIds = new ArrayList<>();
+            for (JsonNode course : call(request(endpoints.studyPlan() + "/semester-courses/semester/" + semesterId, true).GET().build())) {
+                courseIds.add(course.get("id").asLong());
+            }
+            coursesBySemester.put(semesterId, courseIds);
+        }
+        semesterIds = new ArrayList<>(coursesBySemester.keySet());
+        return coursesBySemester;
+    }
+
+    // The curriculum page search, filtered by a category half of the time
+    private JsonNode search() throws IOException, InterruptedException {
+        String term = program.searchTerms().get(random.nextInt(program.searchTerms().size()));
+        StringBuilder url = new StringBuilder(endpoints.catalog())
+                .append("/modules/study-program/").append(program.id())
+                .append("/advanced-search?searchTerm=").append(encode(term));
+        if (random.nextBoolean() && !program.categories().isEmpty()) {
+            url.append("&category=").append(encode(program.categories().get(random.nextInt(program.categories().size()))));
+        }
+        return call(request(url.toString(), false).GET().build());
+    }
+
+    private JsonNode chat() throws IOException, InterruptedException {
+        Map<String, Object> message = Map.of("message", "Which modules should I take next semester?",
+                "session_id", "load-test-" + number, "study_plan_id", planId);
+        return call(post(endpoints.aiAdvisor() + "/chat/", message, true));
+    }
+
+    private <T> T step(String step, Step<T> action) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            T result = action.run();
+            stats.success(step, System.nanoTime() - start);
+            return result;
+        } catch (StepFailedException e) {
+            stats.failure(step, e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            stats.failure(step, e.getClass().getSimpleName());
+            throw new StepFailedException(e.getClass().getSimpleName());
+        }
+    }
+
+    private JsonNode call(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new StepFailedException("HTTP " + response.statusCode() + errorCode(response.body()));
+        }
+        return response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+    }
+
+    // The error code of an error response body where there is one, e.g. " REORDER_FAILED"
+    private String errorCode(byte[] body) {
+        try {
+            JsonNode error = objectMapper.readTree(body).path("error");
+            return error.isTextual() ? " " + error.asText() : "";
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private HttpRequest post(String url, Object body, boolean authenticated) throws IOException {
+        return request(url, authenticated)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String url, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Think time varies by +-50% so the users do not move in lockstep
+    private void think() throws InterruptedException {
+        Thread.sleep((long) (thinkTime.toMillis() * (0.5 + random.nextDouble())));
+    }
+
+    private String email() {
+        return "load-user-" + number + "@example.com";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Step<T> {
+        T run() throws IOException, InterruptedException;
+    }
+
+    private static class StepFailedException extends RuntimeException {
+
+        StepFailedException(String cause) {
+            super(cause, null, false, false);
+        }
+    }
+}
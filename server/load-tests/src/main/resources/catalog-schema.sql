@@ -0,0 +1,72 @@
+-- Catalog database of the load tests in H2 (PostgreSQL mode). The curriculum tables are created by
+-- data-collection in production, the others mirror program-catalog-service/src/main/resources/schema.sql
+
+CREATE TABLE study_programs (
+    id BIGINT PRIMARY KEY,
+    degree VARCHAR,
+    curriculum VARCHAR,
+    field_of_studies VARCHAR,
+    ects_credits INTEGER,
+    semester INTEGER,
+    curriculum_link VARCHAR
+);
+
+CREATE TABLE curriculums_x_module_details (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    study_program_id INTEGER,
+    category VARCHAR,
+    subcategory VARCHAR,
+    course_id_and_name VARCHAR,
+    link VARCHAR,
+    module_id VARCHAR,
+    name VARCHAR,
+    credits INTEGER,
+    version VARCHAR,
+    valid VARCHAR,
+    responsible VARCHAR,
+    organisation VARCHAR,
+    note VARCHAR,
+    module_level VARCHAR,
+    abbreviation VARCHAR,
+    subtitle VARCHAR,
+    duration VARCHAR,
+    occurrence VARCHAR,
+    language VARCHAR,
+    related_programs VARCHAR,
+    total_hours DOUBLE PRECISION,
+    contact_hours DOUBLE PRECISION,
+    self_study_hours DOUBLE PRECISION,
+    description_of_achievement_and_assessment_methods VARCHAR,
+    exam_retake_next_semester VARCHAR,
+    exam_retake_at_the_end_of_semester VARCHAR,
+    prerequisites_recommended VARCHAR,
+    intended_learning_outcomes VARCHAR,
+    content VARCHAR,
+    teaching_and_learning_methods VARCHAR,
+    media VARCHAR,
+    reading_list VARCHAR,
+    curriculum_id DOUBLE PRECISION,
+    transformed_link VARCHAR,
+    extraction_method VARCHAR
+);
+
+CREATE INDEX idx_curriculums_x_module_details_study_program_id ON curriculums_x_module_details (study_program_id);
+
+CREATE TABLE catalog_version (
+    id INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    changes_retained_since BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO catalog_version (id, version, updated_at, changes_retained_since) VALUES (1, 1, CURRENT_TIMESTAMP, 1);
+
+CREATE TABLE catalog_changes (
+    version BIGINT NOT NULL,
+    module_details_id INTEGER NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (version, module_details_id)
+);
+
+CREATE INDEX idx_catalog_changes_module_details_id ON catalog_changes (module_details_id);
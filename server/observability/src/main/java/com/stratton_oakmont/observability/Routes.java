@@ -0,0 +1,19 @@
+package com.stratton_oakmont.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Route template of a request, the {@code uri} tag of {@code http.server.requests}.
+ */
+public final class Routes {
+
+    private Routes() {
+    }
+
+    // Raw paths would explode the tag cardinality
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
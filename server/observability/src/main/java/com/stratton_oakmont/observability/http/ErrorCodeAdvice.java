@@ -0,0 +1,38 @@
+package com.stratton_oakmont.observability.http;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+
+/**
+ * Remembers the error code of error bodies ({@code {"error": "FETCH_FAILED", "message": ...}})
+ * for the {@code code} tag of {@code http.server.errors}.
+ */
+@ControllerAdvice
+class ErrorCodeAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String ERROR_CODE_ATTRIBUTE = ErrorCodeAdvice.class.getName() + ".code";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Map<?, ?> map && map.get("error") instanceof String code
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(ERROR_CODE_ATTRIBUTE, code);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,86 @@
+package com.stratton_oakmont.observability.http;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-route HTTP metrics for every servlet service ({@code observability.http.*}):
+ * <ul>
+ *   <li>{@code http.server.requests} as a percentile histogram with the SLO boundaries of {@code observability.http.slo}</li>
+ *   <li>request and response payload sizes</li>
+ *   <li>in-flight requests</li>
+ *   <li>error responses by error code</li>
+ * </ul>
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "observability.http.enabled", matchIfMissing = true)
+public class HttpMetricsAutoConfiguration {
+
+    private static final List<Duration> DEFAULT_SLO = List.of(Duration.ofMillis(50), Duration.ofMillis(100),
+            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+    @Bean
+    MeterFilter httpServerRequestsSloMeterFilter(Environment environment) {
+        List<Duration> slo = Binder.get(environment)
+                .bind("observability.http.slo", Bindable.listOf(Duration.class))
+                .orElse(DEFAULT_SLO);
+        double[] boundaries = slo.stream().mapToDouble(Duration::toNanos).toArray();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !id.getName().equals("http.server.requests")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .serviceLevelObjectives(boundaries)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<HttpMetricsFilter> httpMetricsFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<HttpMetricsFilter> registration = new FilterRegistrationBean<>(
+                new HttpMetricsFilter(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    @Bean
+    WebMvcConfigurer inFlightRequestsConfigurer(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new InFlightRequestsInterceptor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+            }
+        };
+    }
+
+    @Bean
+    ErrorCodeAdvice errorCodeAdvice() {
+        return new ErrorCodeAdvice();
+    }
+}
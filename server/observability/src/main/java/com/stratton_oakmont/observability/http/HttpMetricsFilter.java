@@ -0,0 +1,98 @@
+package com.stratton_oakmont.observability.http;
+
+import com.stratton_oakmont.observability.Routes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Request and response payload sizes per route ({@code http.server.request.size},
+ * {@code http.server.response.size}) and errors per route and error code ({@code http.server.errors}).
+ * The code is the {@code error} field of the response body, e.g. {@code FETCH_FAILED}, or the
+ * status name for error responses without one.
+ */
+class HttpMetricsFilter extends OncePerRequestFilter {
+
+    private static final String RESPONSE_ATTRIBUTE = CountingResponseWrapper.class.getName();
+
+    private static final double MIN_PAYLOAD_BYTES = 64;
+    private static final double MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    private final MeterRegistry meterRegistry;
+
+    HttpMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Async handlers (Mono, CompletableFuture) finish in a second dispatch that writes the response
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Async dispatches write through the wrapper of the initial dispatch
+        CountingResponseWrapper counting = (CountingResponseWrapper) request.getAttribute(RESPONSE_ATTRIBUTE);
+        if (counting == null) {
+            counting = new CountingResponseWrapper(response);
+            request.setAttribute(RESPONSE_ATTRIBUTE, counting);
+            response = counting;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                record(request, counting);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponseWrapper response) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", Routes.of(request));
+
+        long requestBytes = request.getContentLengthLong();
+        if (requestBytes >= 0) {
+            payloadSize("http.server.request.size", "Request body size", tags).record(requestBytes);
+        }
+        payloadSize("http.server.response.size", "Response body size", tags).record(response.getBytesWritten());
+
+        int status = response.getStatus();
+        Object code = request.getAttribute(ErrorCodeAdvice.ERROR_CODE_ATTRIBUTE);
+        if (status >= 400 || code != null) {
+            Counter.builder("http.server.errors")
+                    .description("Error responses per route and error code")
+                    .tags(tags)
+                    .tag("status", String.valueOf(status))
+                    .tag("code", code != null ? code.toString() : statusName(status))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private DistributionSummary payloadSize(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_PAYLOAD_BYTES)
+                .maximumExpectedValue(MAX_PAYLOAD_BYTES)
+                .register(meterRegistry);
+    }
+
+    private static String statusName(int status) {
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        return httpStatus != null ? httpStatus.name() : String.valueOf(status);
+    }
+}
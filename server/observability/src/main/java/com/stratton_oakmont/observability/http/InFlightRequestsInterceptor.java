@@ -0,0 +1,62 @@
+package com.stratton_oakmont.observability.http;
+
+import com.stratton_oakmont.observability.Routes;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requests currently being handled per route ({@code http.server.requests.in_flight}). Counted from
+ * handler mapping until completion, async requests until their last dispatch.
+ */
+class InFlightRequestsInterceptor implements HandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = InFlightRequestsInterceptor.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    InFlightRequestsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches of a request that is already counted
+        if (request.getAttribute(COUNTER_ATTRIBUTE) == null) {
+            AtomicInteger counter = counter(request.getMethod(), Routes.of(request));
+            counter.incrementAndGet();
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        if (request.getAttribute(COUNTER_ATTRIBUTE) instanceof AtomicInteger counter) {
+            counter.decrementAndGet();
+            request.removeAttribute(COUNTER_ATTRIBUTE);
+        }
+    }
+
+    private AtomicInteger counter(String method, String route) {
+        return inFlight.computeIfAbsent(method + " " + route, key -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("http.server.requests.in_flight", counter, AtomicInteger::get)
+                    .description("Requests currently being handled")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.stratton_oakmont.observability.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Rolling JFR recording with the low-overhead {@code default} settings. When the latency SLO is
+ * breached the buffer, i.e. the minutes before the breach, is dumped into the dump directory; only
+ * the newest {@code maxDumps} dumps are kept.
+ */
+class ContinuousRecording implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private static final String DUMP_PREFIX = "slo-breach-";
+    private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Recording recording;
+    private final SloBreaches breaches;
+    private final Path dumpDirectory;
+    private final int maxDumps;
+    private final ExecutorService dumper = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    ContinuousRecording(Duration maxAge, long maxSizeBytes, SloBreaches breaches, Path dumpDirectory, int maxDumps)
+            throws IOException, ParseException {
+        this.breaches = breaches;
+        this.dumpDirectory = dumpDirectory;
+        this.maxDumps = maxDumps;
+        this.recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.start();
+    }
+
+    // Called for every completed request, the dump itself runs off the request thread
+    void requestCompleted(long durationNanos) {
+        if (breaches.record(durationNanos)) {
+            dumper.execute(this::dump);
+        }
+    }
+
+    List<Path> dumps() {
+        if (!Files.isDirectory(dumpDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            // The timestamp in the name sorts them oldest first
+            return files.filter(file -> file.getFileName().toString().startsWith(DUMP_PREFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Cannot list the JFR dumps in {}: {}", dumpDirectory, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Only names of existing dumps, never a path of the caller
+    Optional<Path> dump(String name) {
+        return dumps().stream()
+                .filter(file -> file.getFileName().toString().equals(name))
+                .findFirst();
+    }
+
+    private void dump() {
+        Path file = dumpDirectory.resolve(DUMP_PREFIX + LocalDateTime.now().format(DUMP_TIMESTAMP) + ".jfr");
+        try {
+            Files.createDirectories(dumpDirectory);
+            recording.dump(file);
+            logger.warn("Latency SLO breached, dumped the continuous JFR recording to {}", file);
+        } catch (IOException e) {
+            logger.warn("Cannot dump the continuous JFR recording to {}: {}", file, e.getMessage());
+            return;
+        }
+        List<Path> dumps = dumps();
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                logger.warn("Cannot delete the old JFR dump {}: {}", old, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dumper.shutdownNow();
+        recording.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.stratton_oakmont.observability.jfr;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Java Flight Recorder for every service ({@code observability.jfr.*}): the {@code jfr} actuator
+ * endpoint for on-demand recordings and, optionally, a continuous recording that is dumped when the
+ * latency SLO is breached ({@code observability.jfr.continuous.*}).
+ */
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnProperty(name = "observability.jfr.enabled", matchIfMissing = true)
+public class JfrAutoConfiguration {
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    JfrEndpoint jfrEndpoint(@Value("${observability.jfr.access-token:}") String accessToken,
+                            @Value("${observability.jfr.max-concurrent-recordings:1}") int maxConcurrentRecordings,
+                            @Value("${observability.jfr.max-duration:5m}") Duration maxDuration,
+                            ObjectProvider<ContinuousRecording> continuousRecording) {
+        return new JfrEndpoint(accessToken, maxConcurrentRecordings, maxDuration, continuousRecording.getIfAvailable());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "observability.jfr.continuous.enabled")
+    static class ContinuousRecordingConfiguration {
+
+        @Bean
+        ContinuousRecording continuousRecording(
+                Environment environment,
+                @Value("${observability.jfr.continuous.max-age:10m}") Duration maxAge,
+                @Value("${observability.jfr.continuous.max-size:64MB}") DataSize maxSize,
+                @Value("${observability.jfr.continuous.slo:2s}") Duration slo,
+                @Value("${observability.jfr.continuous.breaches:5}") int breaches,
+                @Value("${observability.jfr.continuous.window:1m}") Duration window,
+                @Value("${observability.jfr.continuous.cooldown:15m}") Duration cooldown,
+                @Value("${observability.jfr.continuous.max-dumps:5}") int maxDumps) throws IOException, ParseException {
+            Path dumpDirectory = Path.of(environment.getProperty("observability.jfr.dump-directory",
+                    Path.of(System.getProperty("java.io.tmpdir"), "jfr").toString()));
+            return new ContinuousRecording(maxAge, maxSize.toBytes(),
+                    new SloBreaches(slo, breaches, window, cooldown, System::nanoTime), dumpDirectory, maxDumps);
+        }
+
+        @Bean
+        FilterRegistrationBean<SloBreachFilter> sloBreachFilter(ContinuousRecording continuousRecording) {
+            FilterRegistrationBean<SloBreachFilter> registration = new FilterRegistrationBean<>(
+                    new SloBreachFilter(continuousRecording));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+            registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.stratton_oakmont.observability.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Java Flight Recorder on the management port, {@code /actuator/jfr}:
+ * <ul>
+ *   <li>{@code POST {"token": ..., "profile": "profile", "duration": "30s"}} records for that long
+ *   with the {@code default} or {@code profile} settings and answers with the .jfr file</li>
+ *   <li>{@code GET ?token=...} lists the dumps of the continuous recording</li>
+ *   <li>{@code GET /{name}?token=...} downloads one of them</li>
+ * </ul>
+ * Every operation needs the {@code observability.jfr.access-token}; without one the endpoint refuses
+ * all requests. At most {@code max-concurrent-recordings} on-demand recordings run at a time.
+ */
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final String DEFAULT_PROFILE = "profile";
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+
+    private final byte[] accessToken;
+    private final int maxConcurrentRecordings;
+    private final Duration maxDuration;
+    private final Semaphore recordings;
+    private final ContinuousRecording continuousRecording;
+
+    JfrEndpoint(String accessToken, int maxConcurrentRecordings, Duration maxDuration,
+                @Nullable ContinuousRecording continuousRecording) {
+        this.accessToken = accessToken.getBytes(StandardCharsets.UTF_8);
+        this.maxConcurrentRecordings = maxConcurrentRecordings;
+        this.maxDuration = maxDuration;
+        this.recordings = new Semaphore(maxConcurrentRecordings);
+        this.continuousRecording = continuousRecording;
+    }
+
+    @WriteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable String token, @Nullable String profile,
+                                                @Nullable Duration duration) {
+        if (!authorized(token)) {
+            return new WebEndpointResponse<>(HttpStatus.FORBIDDEN.value());
+        }
+        Duration recordingDuration = duration != null ? duration : DEFAULT_DURATION;
+        if (recordingDuration.isNegative() || recordingDuration.isZero() || recordingDuration.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        // Only the settings shipped with the JDK, never a file of the caller
+        String settings = profile != null ? profile : DEFAULT_PROFILE;
+        Optional<Configuration> configuration = Configuration.getConfigurations().stream()
+                .filter(candidate -> candidate.getName().equals(settings))
+                .findFirst();
+        if (configuration.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recordings.tryAcquire()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            Path file = record(configuration.get(), recordingDuration);
+            return new WebEndpointResponse<>(new TemporaryFileResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        } catch (IOException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        } finally {
+            recordings.release();
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Map<String, Object>> status(@Nullable String token) {
+        if (!authorized(token)) {
+            return new WebEndpointResponse<>(HttpStatus.FORBIDDEN.value());
+        }
+        List<String> dumps = continuousRecording != null
+                ? continuousRecording.dumps().stream().map(file -> file.getFileName().toString()).toList()
+                : List.of();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("activeRecordings", maxConcurrentRecordings - recordings.availablePermits());
+        status.put("maxConcurrentRecordings", maxConcurrentRecordings);
+        status.put("maxDuration", maxDuration.toString());
+        status.put("continuous", continuousRecording != null);
+        status.put("dumps", dumps);
+        return new WebEndpointResponse<>(status, WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name, @Nullable String token) {
+        if (!authorized(token)) {
+            return new WebEndpointResponse<>(HttpStatus.FORBIDDEN.value());
+        }
+        Optional<Path> dump = continuousRecording != null ? continuousRecording.dump(name) : Optional.empty();
+        return dump.map(file -> new WebEndpointResponse<Resource>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    private static Path record(Configuration configuration, Duration duration) throws IOException, InterruptedException {
+        Path file = Files.createTempFile("recording-", ".jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.setName("on-demand");
+            recording.setToDisk(true);
+            recording.start();
+            Thread.sleep(duration.toMillis());
+            recording.stop();
+            recording.dump(file);
+            return file;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private boolean authorized(@Nullable String token) {
+        return accessToken.length > 0 && token != null
+                && MessageDigest.isEqual(accessToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Deleted once it has been streamed
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path file;
+
+        TemporaryFileResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Channels.newChannel(getInputStream());
+        }
+
+        // Streamed through getInputStream, not copied from the file directly
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.stratton_oakmont.observability.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Reports the duration of every request to the {@link ContinuousRecording}.
+ */
+class SloBreachFilter extends OncePerRequestFilter {
+
+    private static final String START_NANOS = SloBreachFilter.class.getName() + ".start";
+
+    private final ContinuousRecording continuousRecording;
+
+    SloBreachFilter(ContinuousRecording continuousRecording) {
+        this.continuousRecording = continuousRecording;
+    }
+
+    // Async handlers (Mono, CompletableFuture) finish in a second dispatch
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long startNanos = (Long) request.getAttribute(START_NANOS);
+        if (startNanos == null) {
+            startNanos = System.nanoTime();
+            request.setAttribute(START_NANOS, startNanos);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                continuousRecording.requestCompleted(System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
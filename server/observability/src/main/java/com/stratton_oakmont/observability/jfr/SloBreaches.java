@@ -0,0 +1,55 @@
+package com.stratton_oakmont.observability.jfr;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when the latency SLO counts as breached: at least {@code count} requests slower than the
+ * SLO within {@code window}, at most once per {@code cooldown}. A single slow request is no reason
+ * to dump a recording.
+ */
+class SloBreaches {
+
+    private final long sloNanos;
+    private final int count;
+    private final long windowNanos;
+    private final long cooldownNanos;
+    private final LongSupplier nanoClock;
+
+    // Completion times of the recent slow requests
+    private final ArrayDeque<Long> slowRequests = new ArrayDeque<>();
+    private boolean breached;
+    private long lastBreachNanos;
+
+    SloBreaches(Duration slo, int count, Duration window, Duration cooldown, LongSupplier nanoClock) {
+        this.sloNanos = slo.toNanos();
+        this.count = Math.max(1, count);
+        this.windowNanos = window.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Record a completed request, true when this request breaches the SLO.
+     */
+    boolean record(long durationNanos) {
+        if (durationNanos < sloNanos) {
+            return false;
+        }
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            slowRequests.addLast(now);
+            while (now - slowRequests.peekFirst() > windowNanos) {
+                slowRequests.removeFirst();
+            }
+            if (slowRequests.size() < count || (breached && now - lastBreachNanos < cooldownNanos)) {
+                return false;
+            }
+            breached = true;
+            lastBreachNanos = now;
+            slowRequests.clear();
+            return true;
+        }
+    }
+}
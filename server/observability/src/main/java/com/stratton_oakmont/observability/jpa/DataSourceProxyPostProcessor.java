@@ -0,0 +1,34 @@
+package com.stratton_oakmont.observability.jpa;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every {@link DataSource} bean in a proxy that reports each execution to the
+ * {@link StatementListener} and {@link StatementTracingListener}. Pools stay reachable through
+ * {@link DataSource#unwrap}, so the Hikari pool metrics keep working.
+ */
+class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final QueryExecutionListener[] listeners;
+
+    DataSourceProxyPostProcessor(QueryExecutionListener... listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+            for (QueryExecutionListener listener : listeners) {
+                builder.listener(listener);
+            }
+            return builder.build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,208 @@
+package com.stratton_oakmont.observability.jpa;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Exports Hibernate statistics per entity, per second-level cache region and per query. Entities
+ * and regions are known at startup; queries only once they ran, so new ones are picked up every
+ * {@code refreshSeconds}.
+ * <p>
+ * Queries are tagged by their shape rather than their text: the select list and literals are
+ * collapsed, so queries that only differ in the selected fields share one series. Only shapes
+ * matching one of the {@code allowedQueries} patterns (all if none are given) get their own series,
+ * up to {@code maxQueries}; all other queries are summed up under {@code query=other}. The sums are
+ * recomputed from the current statistics on every refresh, so they lag by up to {@code refreshSeconds}.
+ */
+class HibernateStatisticsMetrics implements MeterBinder, DisposableBean {
+
+    static final String OTHER = "other";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxQueries;
+    private final long refreshSeconds;
+    private final List<Pattern> allowedQueries;
+    // Totals per shape as of the last refresh, bounded by maxQueries plus the other series
+    private final Map<String, AtomicReference<QueryTotals>> series = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+
+    HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory, int maxQueries, long refreshSeconds,
+                               List<String> allowedQueries) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxQueries = maxQueries;
+        this.refreshSeconds = refreshSeconds;
+        this.allowedQueries = allowedQueries.stream()
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(pattern -> Pattern.compile(pattern, Pattern.CASE_INSENSITIVE))
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        for (String entity : statistics.getEntityNames()) {
+            EntityStatistics entityStatistics = statistics.getEntityStatistics(entity);
+            Tags tags = Tags.of("entity", simpleName(entity));
+            entityCounter(registry, "hibernate.entity.loads", "Entities loaded from the database or the second-level cache",
+                    tags, entityStatistics, EntityStatistics::getLoadCount);
+            entityCounter(registry, "hibernate.entity.fetches", "Entities fetched by a separate select, e.g. lazy associations",
+                    tags, entityStatistics, EntityStatistics::getFetchCount);
+            entityCounter(registry, "hibernate.entity.inserts", "Entity inserts", tags, entityStatistics, EntityStatistics::getInsertCount);
+            entityCounter(registry, "hibernate.entity.updates", "Entity updates", tags, entityStatistics, EntityStatistics::getUpdateCount);
+            entityCounter(registry, "hibernate.entity.deletes", "Entity deletes", tags, entityStatistics, EntityStatistics::getDeleteCount);
+        }
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            regionCounter(registry, region, "hit", regionStatistics, CacheRegionStatistics::getHitCount);
+            regionCounter(registry, region, "miss", regionStatistics, CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.cache.region.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .description("Entries put into the second-level cache region")
+                    .tag("region", region)
+                    .register(registry);
+        }
+
+        refreshQueries(registry, statistics);
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hibernate-statistics-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> refreshQueries(registry, statistics),
+                refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    // Re-reads all query statistics and sums them per shape, nothing is kept per query string
+    private void refreshQueries(MeterRegistry registry, Statistics statistics) {
+        Map<String, QueryTotals> totals = new HashMap<>();
+        for (String query : statistics.getQueries()) {
+            String label = StatementShapes.ofQuery(query);
+            if (!series.containsKey(label) && (!isAllowed(label) || ownSeries() >= maxQueries)) {
+                label = OTHER;
+            }
+            series.computeIfAbsent(label, key -> register(registry, key));
+            totals.merge(label, QueryTotals.of(statistics.getQueryStatistics(query)), QueryTotals::plus);
+        }
+        series.forEach((label, current) -> current.set(totals.getOrDefault(label, QueryTotals.NONE)));
+    }
+
+    private int ownSeries() {
+        return series.containsKey(OTHER) ? series.size() - 1 : series.size();
+    }
+
+    private boolean isAllowed(String label) {
+        if (allowedQueries.isEmpty()) {
+            return true;
+        }
+        for (Pattern allowed : allowedQueries) {
+            if (allowed.matcher(label).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AtomicReference<QueryTotals> register(MeterRegistry registry, String label) {
+        AtomicReference<QueryTotals> totals = new AtomicReference<>(QueryTotals.NONE);
+        Tags tags = Tags.of("query", label);
+        FunctionTimer.builder("hibernate.query.executions", totals,
+                        t -> t.get().executions(), t -> t.get().executionTime(), TimeUnit.MILLISECONDS)
+                .description("Executions and total execution time of the query")
+                .tags(tags)
+                .register(registry);
+        TimeGauge.builder("hibernate.query.execution.max", totals, TimeUnit.MILLISECONDS, t -> t.get().maxExecutionTime())
+                .description("Slowest execution of the query")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.rows", totals, t -> t.get().rows())
+                .description("Rows returned by the query")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.requests", totals, t -> t.get().cacheHits())
+                .description("Query cache lookups of the query")
+                .tags(tags).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.requests", totals, t -> t.get().cacheMisses())
+                .description("Query cache lookups of the query")
+                .tags(tags).tag("result", "miss")
+                .register(registry);
+        return totals;
+    }
+
+    private static void entityCounter(MeterRegistry registry, String name, String description, Tags tags,
+                                      EntityStatistics statistics, ToDoubleFunction<EntityStatistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static void regionCounter(MeterRegistry registry, String region, String result,
+                                      CacheRegionStatistics statistics, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.cache.region.requests", statistics, count)
+                .description("Second-level cache lookups in the region")
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static String simpleName(String entity) {
+        return entity.substring(entity.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * The statistics of all queries sharing one shape
+     */
+    private record QueryTotals(long executions, long executionTime, long maxExecutionTime,
+                               long rows, long cacheHits, long cacheMisses) {
+
+        static final QueryTotals NONE = new QueryTotals(0, 0, 0, 0, 0, 0);
+
+        static QueryTotals of(QueryStatistics statistics) {
+            return new QueryTotals(statistics.getExecutionCount(), statistics.getExecutionTotalTime(),
+                    statistics.getExecutionMaxTime(), statistics.getExecutionRowCount(),
+                    statistics.getCacheHitCount(), statistics.getCacheMissCount());
+        }
+
+        QueryTotals plus(QueryTotals other) {
+            return new QueryTotals(executions + other.executions, executionTime + other.executionTime,
+                    Math.max(maxExecutionTime, other.maxExecutionTime), rows + other.rows,
+                    cacheHits + other.cacheHits, cacheMisses + other.cacheMisses);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.stratton_oakmont.observability.jpa;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Database telemetry for the JPA services:
+ * <ul>
+ *   <li>Hibernate statistics per entity, cache region and query ({@code observability.hibernate.statistics.*})</li>
+ *   <li>slow statements logged with their parameter types ({@code observability.jdbc.slow-query-threshold-ms})</li>
+ *   <li>requests repeating one statement shape flagged as likely N+1 ({@code observability.jdbc.n-plus-one-threshold})</li>
+ *   <li>a span per statement in traced requests ({@code observability.jdbc.tracing.enabled})</li>
+ * </ul>
+ */
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass({EntityManagerFactory.class, SessionFactory.class})
+public class JpaObservabilityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnSingleCandidate(EntityManagerFactory.class)
+    @ConditionalOnProperty(name = "observability.hibernate.statistics.enabled", matchIfMissing = true)
+    HibernateStatisticsMetrics hibernateStatisticsMetrics(
+            EntityManagerFactory entityManagerFactory,
+            @Value("${observability.hibernate.statistics.max-queries:100}") int maxQueries,
+            @Value("${observability.hibernate.statistics.refresh-seconds:30}") long refreshSeconds,
+            @Value("${observability.hibernate.statistics.queries:}") List<String> allowedQueries) {
+        return new HibernateStatisticsMetrics(entityManagerFactory, maxQueries, refreshSeconds, allowedQueries);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ProxyDataSource.class)
+    @ConditionalOnProperty(name = "observability.jdbc.enabled", matchIfMissing = true)
+    static class JdbcObservabilityConfiguration {
+
+        // Static: post-processors are created before regular beans, the registries are looked up lazily
+        @Bean
+        static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(Environment environment,
+                                                                         ObjectProvider<MeterRegistry> meterRegistry,
+                                                                         ObjectProvider<ObservationRegistry> observationRegistry) {
+            long slowThresholdMillis = environment.getProperty("observability.jdbc.slow-query-threshold-ms", Long.class, 200L);
+            StatementListener statementListener = new StatementListener(slowThresholdMillis,
+                    () -> meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            if (!environment.getProperty("observability.jdbc.tracing.enabled", Boolean.class, true)) {
+                return new DataSourceProxyPostProcessor(statementListener);
+            }
+            return new DataSourceProxyPostProcessor(statementListener, new StatementTracingListener(
+                    () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+        }
+
+        @Bean
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        FilterRegistrationBean<NPlusOneDetectionFilter> nPlusOneDetectionFilter(
+                @Value("${observability.jdbc.n-plus-one-threshold:5}") int threshold,
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            FilterRegistrationBean<NPlusOneDetectionFilter> registration = new FilterRegistrationBean<>(
+                    new NPlusOneDetectionFilter(threshold, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+            return registration;
+        }
+    }
+}
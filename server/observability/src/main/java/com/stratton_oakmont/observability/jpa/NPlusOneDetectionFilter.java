@@ -0,0 +1,72 @@
+package com.stratton_oakmont.observability.jpa;
+
+import com.stratton_oakmont.observability.Routes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the statements of every request and flags the request as a likely N+1 when one statement
+ * shape was executed at least {@code threshold} times. Recorded per route as
+ * {@code db.request.statements} and {@code db.requests.n_plus_one}.
+ */
+class NPlusOneDetectionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NPlusOneDetectionFilter.class);
+
+    private final int threshold;
+    private final MeterRegistry meterRegistry;
+
+    NPlusOneDetectionFilter(int threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.close();
+            report(request, statements);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestStatements statements) {
+        if (statements.getTotal() == 0) {
+            return;
+        }
+        String method = request.getMethod();
+        String route = Routes.of(request);
+        DistributionSummary.builder("db.request.statements")
+                .description("JDBC executions per HTTP request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(statements.getTotal());
+
+        Map<String, Integer> repeated = statements.repeatedShapes(threshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder("db.requests.n_plus_one")
+                .description("HTTP requests that repeated one statement shape at least the N+1 threshold")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .increment();
+        repeated.forEach((shape, count) ->
+                logger.warn("Likely N+1 in {} {}: {} of {} statements were {}",
+                        method, route, count, statements.getTotal(), shape));
+    }
+}
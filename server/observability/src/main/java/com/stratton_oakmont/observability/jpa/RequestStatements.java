@@ -0,0 +1,62 @@
+package com.stratton_oakmont.observability.jpa;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements issued on the current thread while a request is being handled, counted per shape.
+ * The same shape executed over and over within one request is the signature of an N+1 access
+ * pattern: a lazy association or a repository call inside a loop.
+ */
+final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+
+    private final Map<String, Integer> countsByShape = new HashMap<>();
+    private int total;
+
+    private RequestStatements() {
+    }
+
+    static RequestStatements open() {
+        RequestStatements statements = new RequestStatements();
+        current.set(statements);
+        return statements;
+    }
+
+    /**
+     * Count a statement towards the request handled on this thread, if any
+     */
+    static void record(String sql) {
+        RequestStatements statements = current.get();
+        if (statements != null) {
+            statements.add(StatementShapes.of(sql));
+        }
+    }
+
+    void close() {
+        current.remove();
+    }
+
+    private void add(String shape) {
+        countsByShape.merge(shape, 1, Integer::sum);
+        total++;
+    }
+
+    int getTotal() {
+        return total;
+    }
+
+    /**
+     * Shapes executed at least {@code threshold} times, most frequent first
+     */
+    Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsByShape.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,88 @@
+package com.stratton_oakmont.observability.jpa;
+
+import com.stratton_oakmont.observability.timing.RequestTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Sees every JDBC execution of the proxied data sources: logs the ones slower than the threshold
+ * with the types of their bound parameters and counts all of them towards the current request, for
+ * the N+1 detection and the Server-Timing header.
+ */
+class StatementListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementListener.class);
+
+    private static final String START_NANOS = StatementListener.class.getName() + ".start";
+
+    private final long slowThresholdMillis;
+    private final Supplier<MeterRegistry> meterRegistry;
+    private volatile Counter slowStatements;
+
+    StatementListener(long slowThresholdMillis, Supplier<MeterRegistry> meterRegistry) {
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // The elapsed time of the proxy is in whole milliseconds, most statements take less
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && startNanos != null) {
+            timings.addStatement(System.nanoTime() - startNanos);
+        }
+        for (QueryInfo query : queryInfoList) {
+            RequestStatements.record(query.getQuery());
+        }
+        if (slowThresholdMillis > 0 && execInfo.getElapsedTime() >= slowThresholdMillis) {
+            logSlow(execInfo, queryInfoList);
+        }
+    }
+
+    private void logSlow(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        slowStatements().increment();
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            String shapes = parameters.isEmpty() ? "[]" : StatementShapes.describeParameters(parameters.get(0));
+            if (execInfo.isBatch()) {
+                logger.warn("Slow statement on {}: {} ms for a batch of {}, params {}: {}",
+                        execInfo.getDataSourceName(), execInfo.getElapsedTime(), execInfo.getBatchSize(),
+                        shapes, StatementShapes.of(query.getQuery()));
+            } else {
+                logger.warn("Slow statement on {}: {} ms, params {}: {}",
+                        execInfo.getDataSourceName(), execInfo.getElapsedTime(),
+                        shapes, StatementShapes.of(query.getQuery()));
+            }
+        }
+    }
+
+    private Counter slowStatements() {
+        Counter counter = slowStatements;
+        if (counter == null) {
+            // Resolved on first use, the data source is created before the meter registry
+            counter = Counter.builder("db.statements.slow")
+                    .description("JDBC executions slower than the slow-query threshold")
+                    .register(meterRegistry.get());
+            slowStatements = counter;
+        }
+        return counter;
+    }
+}
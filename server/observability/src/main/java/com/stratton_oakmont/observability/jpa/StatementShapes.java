@@ -0,0 +1,99 @@
+package com.stratton_oakmont.observability.jpa;
+
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to their shape: literals and IN lists are replaced by a single placeholder,
+ * so the same query with different arguments maps to the same string. HQL queries also lose their
+ * select list. Bound parameters are only described by their type, values never end up in logs.
+ */
+final class StatementShapes {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    // Hibernate generates a small, fixed set of statements, so the cache stays small in practice
+    private static final int MAX_CACHED_SHAPES = 2048;
+    private static final Map<String, String> shapes = new ConcurrentHashMap<>();
+
+    private StatementShapes() {
+    }
+
+    /**
+     * Shape of a SQL statement, e.g. {@code select ... where id in (?) limit ?}
+     */
+    static String of(String sql) {
+        String shape = shapes.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = normalize(sql);
+        if (shapes.size() < MAX_CACHED_SHAPES) {
+            shapes.put(sql, shape);
+        }
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    /**
+     * Shape of a HQL query, e.g. {@code select ... from ModuleDetails md where md.id = :id}
+     */
+    static String ofQuery(String query) {
+        String shape = WHITESPACE.matcher(query.trim()).replaceAll(" ");
+        if (shape.regionMatches(true, 0, "select ", 0, 7)) {
+            int from = topLevelFrom(shape);
+            if (from > 0) {
+                shape = "select ..." + shape.substring(from);
+            }
+        }
+        return normalize(shape);
+    }
+
+    // Index of the " from " that ends the select list, skipping the ones of subqueries in it
+    private static int topLevelFrom(String query) {
+        String lower = query.toLowerCase(Locale.ROOT);
+        int depth = 0;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && lower.startsWith(" from ", i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Types of the parameters bound to one execution, e.g. {@code [Long, String, null]}
+     */
+    static String describeParameters(List<ParameterSetOperation> parameters) {
+        StringJoiner types = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            if ("setNull".equals(parameter.getMethod().getName()) || args.length < 2 || args[1] == null) {
+                types.add("null");
+            } else {
+                types.add(args[1].getClass().getSimpleName());
+            }
+        }
+        return types.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.stratton_oakmont.observability.jpa;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Opens a {@code jdbc.statement} observation, i.e. a span, for every JDBC execution inside an
+ * observed operation such as an HTTP request. The statement is attached in its normalized shape,
+ * without literals. Executions outside of one, e.g. at startup, are not traced.
+ */
+class StatementTracingListener implements QueryExecutionListener {
+
+    private static final String OBSERVATION = StatementTracingListener.class.getName() + ".observation";
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+    private volatile ObservationRegistry registry;
+
+    StatementTracingListener(Supplier<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ObservationRegistry registry = registry();
+        if (registry.isNoop() || registry.getCurrentObservation() == null) {
+            return;
+        }
+        String statement = queryInfoList.isEmpty() ? "" : StatementShapes.of(queryInfoList.get(0).getQuery());
+        Observation observation = Observation.createNotStarted("jdbc.statement", registry)
+                .contextualName(operation(statement))
+                .lowCardinalityKeyValue("datasource", String.valueOf(execInfo.getDataSourceName()))
+                .highCardinalityKeyValue("db.statement", statement)
+                .highCardinalityKeyValue("db.statement.count", String.valueOf(queryInfoList.size()))
+                .start();
+        execInfo.addCustomValue(OBSERVATION, observation);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.isBatch()) {
+            observation.highCardinalityKeyValue("db.batch.size", String.valueOf(execInfo.getBatchSize()));
+        }
+        if (execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+
+    private ObservationRegistry registry() {
+        ObservationRegistry current = registry;
+        if (current == null) {
+            // Resolved on first use, the data source is created before the observation registry
+            current = observationRegistry.get();
+            registry = current;
+        }
+        return current;
+    }
+
+    // Span name such as "select semester_courses"
+    static String operation(String statement) {
+        String[] words = statement.trim().split("\\s+");
+        String verb = words[0].toLowerCase(Locale.ROOT);
+        String tableKeyword = switch (verb) {
+            case "select", "delete" -> "from";
+            case "insert" -> "into";
+            case "update" -> "update";
+            default -> null;
+        };
+        if (tableKeyword != null) {
+            for (int i = 0; i < words.length - 1; i++) {
+                if (words[i].equalsIgnoreCase(tableKeyword)) {
+                    return verb + " " + words[i + 1];
+                }
+            }
+        }
+        return verb.isEmpty() ? "jdbc" : verb;
+    }
+}
@@ -0,0 +1,25 @@
+package com.stratton_oakmont.observability.timing;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adds the time of WebClient calls, up to the response headers, to the request that started them.
+ * The exchange is subscribed on the request thread, the response arrives on a Netty thread.
+ */
+class RemoteCallTimingFilterFunction implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return next.exchange(request);
+        }
+        long start = System.nanoTime();
+        return next.exchange(request)
+                .doFinally(signal -> timings.addRemoteCall(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,29 @@
+package com.stratton_oakmont.observability.timing;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Adds the time of RestTemplate calls, up to the response headers, to the current request.
+ */
+class RemoteCallTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return execution.execute(request, body);
+        }
+        long start = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            timings.addRemoteCall(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.stratton_oakmont.observability.timing;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Where the time of one HTTP request went: database statements, calls to other services and JSON
+ * serialization. Bound to the request thread by {@link ServerTimingFilter}; remote calls that
+ * complete on another thread add to the instance they captured when they were started.
+ */
+public final class RequestTimings {
+
+    static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTimings> current = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong databaseNanos = new AtomicLong();
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong remoteNanos = new AtomicLong();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private final AtomicLong serializationNanos = new AtomicLong();
+
+    RequestTimings() {
+    }
+
+    /**
+     * Timings of the request handled on this thread, null outside of a request
+     */
+    public static RequestTimings current() {
+        return current.get();
+    }
+
+    static void bind(RequestTimings timings) {
+        current.set(timings);
+    }
+
+    static void unbind() {
+        current.remove();
+    }
+
+    public void addStatement(long nanos) {
+        databaseNanos.addAndGet(nanos);
+        statements.incrementAndGet();
+    }
+
+    public void addRemoteCall(long nanos) {
+        remoteNanos.addAndGet(nanos);
+        remoteCalls.incrementAndGet();
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos.addAndGet(nanos);
+    }
+
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    long getDatabaseNanos() {
+        return databaseNanos.get();
+    }
+
+    int getStatements() {
+        return statements.get();
+    }
+
+    long getRemoteNanos() {
+        return remoteNanos.get();
+    }
+
+    int getRemoteCalls() {
+        return remoteCalls.get();
+    }
+
+    long getSerializationNanos() {
+        return serializationNanos.get();
+    }
+
+    /**
+     * Server-Timing header value, e.g. {@code db;dur=12.4;desc="7 statements", remote;dur=40.1;desc="2 calls", ser;dur=3.2, app;dur=80.5}
+     */
+    String toHeader() {
+        StringBuilder header = new StringBuilder();
+        if (getStatements() > 0) {
+            metric(header, "db", getDatabaseNanos()).append(";desc=\"").append(getStatements()).append(" statements\"");
+        }
+        if (getRemoteCalls() > 0) {
+            metric(header, "remote", getRemoteNanos()).append(";desc=\"").append(getRemoteCalls()).append(" calls\"");
+        }
+        if (getSerializationNanos() > 0) {
+            metric(header, "ser", getSerializationNanos());
+        }
+        return metric(header, "app", getElapsedNanos()).toString();
+    }
+
+    private static StringBuilder metric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        return header.append(name).append(";dur=").append(formatMillis(nanos));
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
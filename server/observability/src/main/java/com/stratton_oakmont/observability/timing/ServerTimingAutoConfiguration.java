@@ -0,0 +1,73 @@
+package com.stratton_oakmont.observability.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Server-Timing header, per-route time histograms and slow-request log for every servlet service
+ * ({@code observability.server-timing.*}). Remote calls are timed for RestTemplates built from the
+ * RestTemplateBuilder and WebClients built with the WebClientCustomizers.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "observability.server-timing.enabled", matchIfMissing = true)
+public class ServerTimingAutoConfiguration {
+
+    @Bean
+    FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${observability.server-timing.slow-request-ms:1000}") long slowRequestMillis,
+            @Value("${observability.server-timing.slow-request-sample-rate:1.0}") double slowRequestSampleRate) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter(
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), slowRequestMillis, slowRequestSampleRate));
+        // Outermost, so the time of all other filters is part of the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    @Bean
+    WebMvcConfigurer timedJsonMessageConverter() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+                        ? new TimedJackson2HttpMessageConverter(((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                        : converter);
+            }
+        };
+    }
+
+    @Bean
+    RestTemplateCustomizer remoteCallTimingRestTemplateCustomizer() {
+        return restTemplate -> restTemplate.getInterceptors().add(new RemoteCallTimingInterceptor());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.web.reactive.function.client.WebClient")
+    static class WebClientTimingConfiguration {
+
+        @Bean
+        WebClientCustomizer remoteCallTimingWebClientCustomizer() {
+            return builder -> builder.filter(new RemoteCallTimingFilterFunction());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.stratton_oakmont.observability.timing;
+
+import com.stratton_oakmont.observability.Routes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the time of every request into database, remote-call and serialization time. Reported as
+ * a {@code Server-Timing} response header, as {@code http.server.requests.db|remote|serialization}
+ * histograms per route and, for a sample of requests slower than the threshold, as one structured
+ * log line.
+ */
+class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+    private final double slowRequestSampleRate;
+
+    ServerTimingFilter(MeterRegistry meterRegistry, long slowRequestMillis, double slowRequestSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.slowRequestSampleRate = slowRequestSampleRate;
+    }
+
+    // Async handlers (Mono, CompletableFuture) finish in a second dispatch that writes the response
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = (RequestTimings) request.getAttribute(ATTRIBUTE);
+        if (timings == null) {
+            timings = new RequestTimings();
+            request.setAttribute(ATTRIBUTE, timings);
+        }
+        RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.unbind();
+            if (!isAsyncStarted(request)) {
+                complete(request, response, timings);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        // JSON bodies carry the header already, see TimedJackson2HttpMessageConverter
+        if (!response.isCommitted() && !response.containsHeader(RequestTimings.HEADER)) {
+            response.setHeader(RequestTimings.HEADER, timings.toHeader());
+        }
+
+        Tags tags = Tags.of("method", request.getMethod(), "uri", Routes.of(request));
+        record("http.server.requests.db", "Database time per request", tags, timings.getDatabaseNanos());
+        record("http.server.requests.remote", "Time spent in calls to other services per request", tags, timings.getRemoteNanos());
+        record("http.server.requests.serialization", "JSON serialization time per request", tags, timings.getSerializationNanos());
+
+        long elapsedNanos = timings.getElapsedNanos();
+        if (elapsedNanos >= slowRequestNanos && ThreadLocalRandom.current().nextDouble() < slowRequestSampleRate) {
+            logger.warn("slow_request method={} uri={} path={} status={} total_ms={} db_ms={} db_statements={} remote_ms={} remote_calls={} serialization_ms={}",
+                    request.getMethod(), Routes.of(request), request.getRequestURI(), response.getStatus(),
+                    RequestTimings.formatMillis(elapsedNanos),
+                    RequestTimings.formatMillis(timings.getDatabaseNanos()), timings.getStatements(),
+                    RequestTimings.formatMillis(timings.getRemoteNanos()), timings.getRemoteCalls(),
+                    RequestTimings.formatMillis(timings.getSerializationNanos()));
+        }
+    }
+
+    private void record(String name, String description, Tags tags, long nanos) {
+        Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.stratton_oakmont.observability.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes response bodies into a buffer first, so the time Jackson needs is measured without the
+ * network write and the Server-Timing header, including that time, can still be set before the
+ * response is committed.
+ */
+class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    TimedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new BufferedOutputMessage(outputMessage.getHeaders(), body));
+        timings.addSerialization(System.nanoTime() - start);
+
+        outputMessage.getHeaders().set(RequestTimings.HEADER, timings.toHeader());
+        body.writeTo(outputMessage.getBody());
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers;
+        private final OutputStream body;
+
+        BufferedOutputMessage(HttpHeaders headers, OutputStream body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+    }
+}
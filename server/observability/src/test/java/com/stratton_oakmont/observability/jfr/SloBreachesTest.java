@@ -0,0 +1,54 @@
+package com.stratton_oakmont.observability.jfr;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SloBreachesTest {
+
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+    private final SloBreaches breaches = new SloBreaches(Duration.ofSeconds(2), 3, Duration.ofMinutes(1),
+            Duration.ofMinutes(15), now::get);
+
+    @Test
+    void breachedBySeveralSlowRequestsWithinTheWindow() {
+        assertFalse(breaches.record(Duration.ofMillis(100).toNanos()));
+        assertFalse(breaches.record(SLOW));
+        assertFalse(breaches.record(SLOW));
+        assertTrue(breaches.record(SLOW));
+    }
+
+    @Test
+    void forgetsSlowRequestsOutsideOfTheWindow() {
+        breaches.record(SLOW);
+        breaches.record(SLOW);
+        advance(Duration.ofMinutes(2));
+        assertFalse(breaches.record(SLOW));
+    }
+
+    @Test
+    void breachesAgainOnlyAfterTheCooldown() {
+        for (int i = 0; i < 3; i++) {
+            breaches.record(SLOW);
+        }
+        advance(Duration.ofMinutes(5));
+        breaches.record(SLOW);
+        breaches.record(SLOW);
+        assertFalse(breaches.record(SLOW));
+
+        advance(Duration.ofMinutes(15));
+        breaches.record(SLOW);
+        breaches.record(SLOW);
+        assertTrue(breaches.record(SLOW));
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
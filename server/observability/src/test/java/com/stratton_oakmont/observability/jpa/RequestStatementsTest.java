@@ -0,0 +1,49 @@
+package com.stratton_oakmont.observability.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestStatementsTest {
+
+    @Test
+    void normalizesLiteralsInListsAndWhitespace() {
+        assertEquals("select * from semester_courses sc where sc.semester_id in (?) and sc.code = ? limit ?",
+                StatementShapes.normalize("select *\n  from semester_courses sc where sc.semester_id IN (?, ?,?) and sc.code = 'IN2000' limit 20"));
+        assertEquals("select m1_0.id from module_details m1_0 where m1_0.id=?",
+                StatementShapes.normalize("select m1_0.id from module_details m1_0 where m1_0.id=?"));
+    }
+
+    @Test
+    void collapsesTheSelectListOfQueries() {
+        String expected = "select ... FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId";
+        assertEquals(expected, StatementShapes.ofQuery(
+                "SELECT md.id AS id, md.name AS name FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId"));
+        assertEquals(expected, StatementShapes.ofQuery(
+                "SELECT md.id AS id,\n  md.credits AS credits FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId"));
+        assertEquals("select ... from StudyPlan p where p.userId = ? and p.active = ?", StatementShapes.ofQuery(
+                "select (select count(s) from Semester s where s.studyPlan = p) from StudyPlan p where p.userId = 42 and p.active = 'Y'"));
+        assertEquals("delete from User u where u.id in (?)", StatementShapes.ofQuery("delete from User u where u.id in (?, ?)"));
+    }
+
+    @Test
+    void reportsShapesRepeatedWithinTheRequest() {
+        RequestStatements statements = RequestStatements.open();
+        try {
+            RequestStatements.record("select * from semesters where id=?");
+            for (int i = 0; i < 6; i++) {
+                RequestStatements.record("select * from semester_courses where semester_id=" + i);
+            }
+        } finally {
+            statements.close();
+        }
+        RequestStatements.record("select 1");
+
+        assertEquals(7, statements.getTotal());
+        assertEquals(Map.of("select * from semester_courses where semester_id=?", 6), statements.repeatedShapes(5));
+        assertTrue(statements.repeatedShapes(7).isEmpty());
+    }
+}
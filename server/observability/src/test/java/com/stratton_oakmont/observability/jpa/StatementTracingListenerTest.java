@@ -0,0 +1,72 @@
+package com.stratton_oakmont.observability.jpa;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementTracingListenerTest {
+
+    private final List<Observation.Context> stopped = new ArrayList<>();
+    private final ObservationRegistry registry = ObservationRegistry.create();
+    private final StatementTracingListener listener = new StatementTracingListener(() -> registry);
+
+    StatementTracingListenerTest() {
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+        });
+    }
+
+    @Test
+    void tracesStatementsAsChildrenOfTheCurrentObservation() {
+        Observation request = Observation.createNotStarted("http.server.requests", registry);
+        request.observe(() -> execute("select s1_0.id from semester_courses s1_0 where s1_0.code='IN2000'"));
+
+        Observation.Context statement = stopped.get(0);
+        assertEquals("jdbc.statement", statement.getName());
+        assertEquals("select semester_courses", statement.getContextualName());
+        assertEquals("select s1_0.id from semester_courses s1_0 where s1_0.code=?",
+                statement.getHighCardinalityKeyValue("db.statement").getValue());
+        assertSame(request, statement.getParentObservation());
+    }
+
+    @Test
+    void ignoresStatementsOutsideOfObservedOperations() {
+        execute("select 1");
+        assertTrue(stopped.isEmpty());
+    }
+
+    @Test
+    void namesSpansByOperationAndTable() {
+        assertEquals("insert semesters", StatementTracingListener.operation("insert into semesters (name,study_plan_id) values (?,?)"));
+        assertEquals("update semester_courses", StatementTracingListener.operation("update semester_courses set course_order=? where id=?"));
+        assertEquals("delete study_plans", StatementTracingListener.operation("delete from study_plans where id=?"));
+        assertEquals("commit", StatementTracingListener.operation("commit"));
+        assertEquals("jdbc", StatementTracingListener.operation(""));
+    }
+
+    private void execute(String sql) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setDataSourceName("dataSource");
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(execInfo, queries);
+        listener.afterQuery(execInfo, queries);
+    }
+}
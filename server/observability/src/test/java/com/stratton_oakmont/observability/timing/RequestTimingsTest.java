@@ -0,0 +1,26 @@
+package com.stratton_oakmont.observability.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingsTest {
+
+    @Test
+    void headerListsOnlyTheRecordedParts() {
+        RequestTimings timings = new RequestTimings();
+        assertTrue(timings.toHeader().matches("app;dur=\\d+\\.\\d"));
+
+        timings.addStatement(TimeUnit.MICROSECONDS.toNanos(400));
+        timings.addStatement(TimeUnit.MILLISECONDS.toNanos(2));
+        timings.addRemoteCall(TimeUnit.MICROSECONDS.toNanos(7500));
+        timings.addRemoteCall(TimeUnit.MICROSECONDS.toNanos(7500));
+        timings.addSerialization(TimeUnit.MICROSECONDS.toNanos(1250));
+
+        assertTrue(timings.toHeader().matches(
+                "db;dur=2\\.4;desc=\"2 statements\", remote;dur=15\\.0;desc=\"2 calls\", ser;dur=1\\.3, app;dur=\\d+\\.\\d"),
+                timings.toHeader());
+    }
+}
@@ -0,0 +1,77 @@
+package com.stratton_oakmont.program_catalog_service.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary pool from spring.datasource.*, plus an optional read replica (DB_STUDY_DATA_REPLICA_URL)
+ * that serves read-only transactions.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${DB_STUDY_DATA_REPLICA_URL:}")
+    private String replicaUrl;
+
+    @Value("${DB_STUDY_DATA_REPLICA_USERNAME:}")
+    private String replicaUsername;
+
+    @Value("${DB_STUDY_DATA_REPLICA_PASSWORD:}")
+    private String replicaPassword;
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Value("${catalog.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        return new ReplicaLagGuard(maxLagMillis);
+    }
+
+    // Pool sizing, timeouts and driver properties (spring.datasource.hikari.*), shared by the primary and the replica pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig poolConfig() {
+        return new HikariConfig();
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, HikariConfig poolConfig, ReplicaLagGuard replicaLagGuard,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool("program-catalog-primary", properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), properties.determineDriverClassName(), poolConfig, meterRegistry);
+        if (replicaUrl.isBlank()) {
+            return primary;
+        }
+        HikariDataSource replica = pool("program-catalog-replica", replicaUrl,
+                replicaUsername.isBlank() ? properties.determineUsername() : replicaUsername,
+                replicaPassword.isBlank() ? properties.determinePassword() : replicaPassword,
+                properties.determineDriverClassName(), poolConfig, meterRegistry);
+        replica.setReadOnly(true);
+        return ReadWriteRoutingDataSource.of(primary, replica, replicaLagGuard::isReplicaCurrent);
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, String driverClassName,
+                                         HikariConfig poolConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        // Not started until the first connection is requested
+        HikariDataSource dataSource = new HikariDataSource();
+        poolConfig.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setPoolName(name);
+        // The Boot pool metrics only find the pool behind the DataSource bean, so both pools report
+        // hikaricp.* themselves, tagged with pool=<name>
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+}
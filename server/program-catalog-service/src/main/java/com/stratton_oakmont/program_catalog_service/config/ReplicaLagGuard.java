@@ -0,0 +1,35 @@
+package com.stratton_oakmont.program_catalog_service.config;
+
+import com.stratton_oakmont.program_catalog_service.service.CatalogChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps reads on the primary for a while after every catalog change. The snapshot, the second-level
+ * cache and the response cache are all refilled right after a change and keyed by the new catalog
+ * version, so they must not be filled from a replica that has not replayed the change yet.
+ */
+public class ReplicaLagGuard {
+
+    private final long maxLagNanos;
+    private volatile long lastChangeNanos;
+
+    public ReplicaLagGuard(long maxLagMillis) {
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+        this.lastChangeNanos = System.nanoTime() - maxLagNanos;
+    }
+
+    // Before the listeners that evict and rebuild the caches
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lastChangeNanos = System.nanoTime();
+    }
+
+    public boolean isReplicaCurrent() {
+        return System.nanoTime() - lastChangeNanos >= maxLagNanos;
+    }
+}
@@ -0,0 +1,79 @@
+package com.stratton_oakmont.program_catalog_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import com.stratton_oakmont.program_catalog_service.model.StudyProgram;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache, backed by Caffeine through JCache. Every region is created
+ * here with an explicit size (hibernate.javax.cache.missing_cache_strategy=fail rejects any other),
+ * writes through Hibernate invalidate the regions themselves, JDBC writes and imports are evicted by
+ * {@link com.stratton_oakmont.program_catalog_service.service.EntityCacheService}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Hibernate's default regions for query results and the last update time per table
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${catalog.l2-cache.module-details.max-entries:20000}") long moduleDetailsMaxEntries,
+            @Value("${catalog.l2-cache.study-programs.max-entries:1000}") long studyProgramsMaxEntries,
+            @Value("${catalog.l2-cache.query-results.max-entries:10000}") long queryResultsMaxEntries,
+            @Value("${catalog.l2-cache.expire-after-write-minutes:60}") long expireAfterWriteMinutes) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        long expireAfterWrite = TimeUnit.MINUTES.toNanos(expireAfterWriteMinutes);
+        cacheManager.createCache(ModuleDetails.CACHE_REGION, region(moduleDetailsMaxEntries, expireAfterWrite));
+        cacheManager.createCache(StudyProgram.CACHE_REGION, region(studyProgramsMaxEntries, expireAfterWrite));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queryResultsMaxEntries, expireAfterWrite));
+        // Timestamps must outlive every cached query result, otherwise stale results pass as fresh.
+        // There is one entry per table, so the size never matters.
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(1000, 0));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    // Hits, misses, puts and evictions per region, tagged with cache=<region name>
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String region : secondLevelCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(region));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, long expireAfterWriteNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (expireAfterWriteNanos > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWriteNanos));
+        }
+        // Hibernate cache entries are immutable, copying them on every access only costs time
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
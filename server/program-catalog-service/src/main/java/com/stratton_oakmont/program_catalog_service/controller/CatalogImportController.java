@@ -0,0 +1,79 @@
+package com.stratton_oakmont.program_catalog_service.controller;
+
+import com.stratton_oakmont.program_catalog_service.dto.CatalogImportResultDto;
+import com.stratton_oakmont.program_catalog_service.importer.CatalogImportException;
+import com.stratton_oakmont.program_catalog_service.importer.CatalogImportService;
+import com.stratton_oakmont.program_catalog_service.importer.CatalogImportType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/import")
+@Tag(name = "Catalog Import", description = "Bulk import of the data-collection CSV files (Admin only)")
+public class CatalogImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportController.class);
+
+    private final CatalogImportService catalogImportService;
+
+    @Value("${admin.api.key:default-admin-key-change-me}")
+    private String adminApiKey;
+
+    @Autowired
+    public CatalogImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    @Operation(summary = "Import a CSV file", description = "Import csv_tables/modules.csv (type 'modules', replaces all modules) " +
+            "or csv_tables/module_details_scraped.csv (type 'module-details', updates modules by module ID) in one transaction (Admin only)")
+    @PostMapping(value = "/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importCsv(
+            @Parameter(description = "Import type (modules or module-details)") @PathVariable String type,
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader(value = "X-Admin-API-Key", required = false) String apiKey) {
+
+        if (!isValidAdminApiKey(apiKey)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "UNAUTHORIZED");
+            error.put("message", "Valid admin API key required for this operation");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+
+        try (InputStream input = file.getInputStream()) {
+            CatalogImportResultDto result = catalogImportService.importCsv(CatalogImportType.fromName(type), input);
+            return ResponseEntity.ok(result);
+        } catch (CatalogImportException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "IMPORT_ERROR");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            logger.error("Catalog import of {} failed", type, e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "IMPORT_ERROR");
+            error.put("message", "Error importing " + type + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    /**
+     * Validates the admin API key
+     */
+    private boolean isValidAdminApiKey(String apiKey) {
+        return apiKey != null && !apiKey.trim().isEmpty() && adminApiKey.equals(apiKey);
+    }
+}
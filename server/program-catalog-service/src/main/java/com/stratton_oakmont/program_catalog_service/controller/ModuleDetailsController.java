@@ -1,10 +1,21 @@
 package com.stratton_oakmont.program_catalog_service.controller;
 
+import com.stratton_oakmont.program_catalog_service.dto.BulkUpsertResultDto;
+import com.stratton_oakmont.program_catalog_service.dto.CatalogChangesDto;
 import com.stratton_oakmont.program_catalog_service.dto.CategoryStatisticsDto;
 import com.stratton_oakmont.program_catalog_service.dto.CurriculumOverviewDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSectionsDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSuggestionDto;
+import com.stratton_oakmont.program_catalog_service.dto.PrerequisiteDto;
+import com.stratton_oakmont.program_catalog_service.dto.SimilarModuleDto;
+import com.stratton_oakmont.program_catalog_service.dto.TopologicalOrderDto;
 import com.stratton_oakmont.program_catalog_service.dto.ModuleSummaryDto;
 import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
 import com.stratton_oakmont.program_catalog_service.service.ModuleDetailsService;
+import com.stratton_oakmont.program_catalog_service.service.ModuleSearchService;
+import com.stratton_oakmont.program_catalog_service.service.PrerequisiteService;
+import com.stratton_oakmont.program_catalog_service.util.FieldMask;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +25,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,30 +38,106 @@ public class ModuleDetailsController {
     
     @Autowired
     private ModuleDetailsService moduleDetailsService;
+    
+    @Autowired
+    private ModuleSearchService moduleSearchService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
 
     @Value("${admin.api.key:default-admin-key-change-me}")
     private String adminApiKey;
 
-    @Operation(summary = "Get all module details", description = "Retrieve all module details from the database")
+    @Operation(summary = "Get all module details", description = "Retrieve all modules as list items (without long-form text sections)")
     @GetMapping
-    public ResponseEntity<List<ModuleDetails>> getAllModuleDetails() {
-        List<ModuleDetails> modules = moduleDetailsService.getAllModuleDetails();
-        return ResponseEntity.ok(modules);
+    public ResponseEntity<?> getAllModuleDetails(
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        List<ModuleListItemDto> modules = moduleDetailsService.getAllModuleListItems();
+        return masked(modules, ModuleListItemDto.class, fields);
+    }
+    
+    @Operation(summary = "Get module changes", description = "Get modules created, updated or deleted since a catalog version. Falls back to a full snapshot if the changes are no longer retained")
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesDto> getChangesSince(
+            @Parameter(description = "Catalog version of the last sync, 0 for a full snapshot") @RequestParam long since) {
+        return ResponseEntity.ok(moduleDetailsService.getChangesSince(since));
     }
     
     @Operation(summary = "Get module details by ID", description = "Retrieve module details by database ID (e.g., 1)")
     @GetMapping("/{id}")
-    public ResponseEntity<ModuleDetails> getModuleDetailsById(
-            @Parameter(description = "Database ID of the module (e.g., 1)") @PathVariable Integer id) {
+    public ResponseEntity<?> getModuleDetailsById(
+            @Parameter(description = "Database ID of the module (e.g., 1)") @PathVariable Integer id,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(ModuleDetails.class, fields);
+        if (mask != null) {
+            // Only select the requested columns
+            return moduleDetailsService.getModuleDetailsById(id, mask).map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
         Optional<ModuleDetails> moduleDetails = moduleDetailsService.getModuleDetailsById(id);
         return moduleDetails.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @Operation(summary = "Get module text sections", description = "Retrieve the long-form text sections (content, learning outcomes, reading list, ...) of a module by database ID")
+    @GetMapping("/{id}/sections")
+    public ResponseEntity<?> getModuleSections(
+            @Parameter(description = "Database ID of the module (e.g., 1)") @PathVariable Integer id,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        Optional<ModuleSectionsDto> sections = moduleDetailsService.getModuleSections(id);
+        return sections.<ResponseEntity<?>>map(section -> masked(section, ModuleSectionsDto.class, fields))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @Operation(summary = "Get module prerequisites", description = "Modules required by a module (e.g., IN2128), parsed from the recommended prerequisites, nearest first")
+    @GetMapping("/{moduleId}/prerequisites")
+    public ResponseEntity<?> getPrerequisites(
+            @Parameter(description = "Module ID (e.g., IN2128)") @PathVariable String moduleId,
+            @Parameter(description = "Study program ID, the whole catalog if omitted") @RequestParam(required = false) Integer studyProgramId,
+            @Parameter(description = "How many prerequisite levels to follow (1-10)") @RequestParam(defaultValue = "1") int depth) {
+        Optional<List<PrerequisiteDto>> prerequisites = prerequisiteService.getPrerequisites(moduleId, studyProgramId, depth);
+        return prerequisites.<ResponseEntity<?>>map(ResponseEntity::ok).orElseGet(() -> moduleNotFound(moduleId));
+    }
+    
+    @Operation(summary = "Get module dependents", description = "Modules that list a module (e.g., IN0006) as a recommended prerequisite, nearest first")
+    @GetMapping("/{moduleId}/dependents")
+    public ResponseEntity<?> getDependents(
+            @Parameter(description = "Module ID (e.g., IN0006)") @PathVariable String moduleId,
+            @Parameter(description = "Study program ID, the whole catalog if omitted") @RequestParam(required = false) Integer studyProgramId,
+            @Parameter(description = "How many dependent levels to follow (1-10)") @RequestParam(defaultValue = "1") int depth) {
+        Optional<List<PrerequisiteDto>> dependents = prerequisiteService.getDependents(moduleId, studyProgramId, depth);
+        return dependents.<ResponseEntity<?>>map(ResponseEntity::ok).orElseGet(() -> moduleNotFound(moduleId));
+    }
+    
+    @Operation(summary = "Get similar modules", description = "Modules with the most similar content and learning outcomes (e.g., for IN2346), most similar first")
+    @GetMapping("/{moduleId}/similar")
+    public ResponseEntity<?> getSimilarModules(
+            @Parameter(description = "Module ID (e.g., IN2346)") @PathVariable String moduleId,
+            @Parameter(description = "Only modules of this study program, the whole catalog if omitted") @RequestParam(required = false) Integer studyProgramId,
+            @Parameter(description = "Maximum number of modules") @RequestParam(defaultValue = "10") int limit) {
+        Optional<List<SimilarModuleDto>> similar = moduleSearchService.findSimilarModules(moduleId, studyProgramId, limit);
+        return similar.<ResponseEntity<?>>map(ResponseEntity::ok).orElseGet(() -> moduleNotFound(moduleId));
+    }
+    
+    @Operation(summary = "Order modules by prerequisites", description = "Order a set of modules so that every module comes after its (transitive) prerequisites")
+    @GetMapping("/topological-order")
+    public ResponseEntity<TopologicalOrderDto> getTopologicalOrder(
+            @Parameter(description = "Comma separated module IDs (e.g., IN2128,IN0006)") @RequestParam List<String> moduleIds,
+            @Parameter(description = "Study program ID, the whole catalog if omitted") @RequestParam(required = false) Integer studyProgramId) {
+        return ResponseEntity.ok(prerequisiteService.getTopologicalOrder(moduleIds, studyProgramId));
+    }
+    
     @Operation(summary = "Get module details by module ID", description = "Retrieve module details by module ID (e.g., IN2003)")
     @GetMapping("/module/{moduleId}")
-    public ResponseEntity<ModuleDetails> getModuleDetailsByModuleId(
-            @Parameter(description = "Module ID (e.g., IN2003)") @PathVariable String moduleId) {
+    public ResponseEntity<?> getModuleDetailsByModuleId(
+            @Parameter(description = "Module ID (e.g., IN2003)") @PathVariable String moduleId,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(ModuleDetails.class, fields);
+        if (mask != null) {
+            // Only select the requested columns
+            return moduleDetailsService.getModuleDetailsByModuleId(moduleId, mask).map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
         Optional<ModuleDetails> moduleDetails = moduleDetailsService.getModuleDetailsByModuleId(moduleId);
         return moduleDetails.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -73,16 +161,17 @@ public class ModuleDetailsController {
     
     @Operation(summary = "Get module summaries by category", description = "Get simplified module information for a specific category")
     @GetMapping("/study-program/{studyProgramId}/category/{category}/summaries")
-    public ResponseEntity<List<ModuleSummaryDto>> getModuleSummariesByCategory(
+    public ResponseEntity<?> getModuleSummariesByCategory(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
-            @Parameter(description = "Category name") @PathVariable String category) {
+            @Parameter(description = "Category name") @PathVariable String category,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
         List<ModuleSummaryDto> summaries = moduleDetailsService.getModuleSummariesByCategory(studyProgramId, category);
-        return ResponseEntity.ok(summaries);
+        return masked(summaries, ModuleSummaryDto.class, fields);
     }
     
     @Operation(summary = "Advanced search with filters", description = "Search modules with multiple filter options")
     @GetMapping("/study-program/{studyProgramId}/advanced-search")
-    public ResponseEntity<List<ModuleDetails>> advancedSearch(
+    public ResponseEntity<?> advancedSearch(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
             @Parameter(description = "Category filter") @RequestParam(required = false) String category,
             @Parameter(description = "Subcategory filter") @RequestParam(required = false) String subcategory,
@@ -90,20 +179,22 @@ public class ModuleDetailsController {
             @Parameter(description = "Occurrence filter") @RequestParam(required = false) String occurrence,
             @Parameter(description = "Minimum credits") @RequestParam(required = false) Integer minCredits,
             @Parameter(description = "Maximum credits") @RequestParam(required = false) Integer maxCredits,
-            @Parameter(description = "Search term") @RequestParam(required = false) String searchTerm) {
+            @Parameter(description = "Search term") @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
         
-        List<ModuleDetails> modules = moduleDetailsService.searchWithFilters(
+        List<ModuleListItemDto> modules = moduleDetailsService.searchWithFilters(
             studyProgramId, category, subcategory, language, occurrence, minCredits, maxCredits, searchTerm);
-        return ResponseEntity.ok(modules);
+        return masked(modules, ModuleListItemDto.class, fields);
     }
     
     @Operation(summary = "Get modules by semester", description = "Get modules available in a specific semester")
     @GetMapping("/study-program/{studyProgramId}/semester/{semester}")
-    public ResponseEntity<List<ModuleDetails>> getModulesBySemester(
+    public ResponseEntity<?> getModulesBySemester(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
-            @Parameter(description = "Semester (winter/summer)") @PathVariable String semester) {
-        List<ModuleDetails> modules = moduleDetailsService.getModulesBySemester(studyProgramId, semester);
-        return ResponseEntity.ok(modules);
+            @Parameter(description = "Semester (winter/summer)") @PathVariable String semester,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        List<ModuleListItemDto> modules = moduleDetailsService.getModulesBySemester(studyProgramId, semester);
+        return masked(modules, ModuleListItemDto.class, fields);
     }
     
     @Operation(summary = "Get distinct languages", description = "Get all unique languages for a study program")
@@ -125,47 +216,86 @@ public class ModuleDetailsController {
     
     @Operation(summary = "Get modules by study program", description = "Retrieve all modules for a specific study program")
     @GetMapping("/study-program/{studyProgramId}")
-    public ResponseEntity<List<ModuleDetails>> getModulesByStudyProgram(
-            @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId) {
-        List<ModuleDetails> modules = moduleDetailsService.getModuleDetailsByStudyProgramId(studyProgramId);
-        return ResponseEntity.ok(modules);
+    public ResponseEntity<?> getModulesByStudyProgram(
+            @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(ModuleListItemDto.class, fields);
+        // The description is a preview built from the projection, the masked query can only select columns
+        if (mask != null && !mask.includes("description")) {
+            return ResponseEntity.ok(moduleDetailsService.getModuleDetailsByStudyProgramId(studyProgramId, mask));
+        }
+        List<ModuleListItemDto> modules = moduleDetailsService.getModuleDetailsByStudyProgramId(studyProgramId);
+        return ResponseEntity.ok(mask != null ? mask.applyAll(modules) : modules);
     }
     
     @Operation(summary = "Get modules by study program and category", description = "Retrieve modules filtered by study program and category")
     @GetMapping("/study-program/{studyProgramId}/category/{category}")
-    public ResponseEntity<List<ModuleDetails>> getModulesByStudyProgramAndCategory(
+    public ResponseEntity<?> getModulesByStudyProgramAndCategory(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
-            @Parameter(description = "Module category") @PathVariable String category) {
-        List<ModuleDetails> modules = moduleDetailsService.getModuleDetailsByStudyProgramIdAndCategory(studyProgramId, category);
-        return ResponseEntity.ok(modules);
+            @Parameter(description = "Module category") @PathVariable String category,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(ModuleListItemDto.class, fields);
+        // The description is a preview built from the projection, the masked query can only select columns
+        if (mask != null && !mask.includes("description")) {
+            return ResponseEntity.ok(moduleDetailsService.getModuleDetailsByStudyProgramIdAndCategory(studyProgramId, category, mask));
+        }
+        List<ModuleListItemDto> modules = moduleDetailsService.getModuleDetailsByStudyProgramIdAndCategory(studyProgramId, category);
+        return ResponseEntity.ok(mask != null ? mask.applyAll(modules) : modules);
     }
     
-    @Operation(summary = "Search modules", description = "Search modules by name or module ID within a study program")
+    @Operation(summary = "Search modules", description = "Search modules by name or module ID within a study program, falls back to fuzzy matching if nothing matches literally")
     @GetMapping("/study-program/{studyProgramId}/search")
-    public ResponseEntity<List<ModuleDetails>> searchModules(
+    public ResponseEntity<?> searchModules(
+            @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
+            @Parameter(description = "Search term") @RequestParam String q,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        List<ModuleListItemDto> modules = moduleDetailsService.searchModuleDetails(studyProgramId, q);
+        if (modules.isEmpty()) {
+            // Nothing contains the term literally, likely a typo
+            modules = moduleSearchService.fuzzySearchModules(studyProgramId, q, 20);
+        }
+        return masked(modules, ModuleListItemDto.class, fields);
+    }
+    
+    @Operation(summary = "Fuzzy search modules", description = "Typo tolerant search over name, module ID, abbreviation and responsible within a study program")
+    @GetMapping("/study-program/{studyProgramId}/fuzzy-search")
+    public ResponseEntity<?> fuzzySearchModules(
+            @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
+            @Parameter(description = "Search term") @RequestParam String q,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        List<ModuleListItemDto> modules = moduleSearchService.fuzzySearchModules(studyProgramId, q, limit);
+        return masked(modules, ModuleListItemDto.class, fields);
+    }
+    
+    @Operation(summary = "Suggest modules", description = "Typeahead suggestions by word prefix of the module name, module ID or abbreviation, most popular first")
+    @GetMapping("/study-program/{studyProgramId}/suggest")
+    public ResponseEntity<List<ModuleSuggestionDto>> suggestModules(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
-            @Parameter(description = "Search term") @RequestParam String q) {
-        List<ModuleDetails> modules = moduleDetailsService.searchModuleDetails(studyProgramId, q);
-        return ResponseEntity.ok(modules);
+            @Parameter(description = "Typed prefix") @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions (at most 10)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(moduleSearchService.suggestModules(studyProgramId, q, limit));
     }
     
     @Operation(summary = "Get modules by occurrence", description = "Retrieve modules by semester occurrence (e.g., 'winter semester', 'summer semester')")
     @GetMapping("/study-program/{studyProgramId}/occurrence/{occurrence}")
-    public ResponseEntity<List<ModuleDetails>> getModulesByOccurrence(
+    public ResponseEntity<?> getModulesByOccurrence(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
-            @Parameter(description = "Semester occurrence") @PathVariable String occurrence) {
-        List<ModuleDetails> modules = moduleDetailsService.getModuleDetailsByOccurrence(studyProgramId, occurrence);
-        return ResponseEntity.ok(modules);
+            @Parameter(description = "Semester occurrence") @PathVariable String occurrence,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        List<ModuleListItemDto> modules = moduleDetailsService.getModuleDetailsByOccurrence(studyProgramId, occurrence);
+        return masked(modules, ModuleListItemDto.class, fields);
     }
     
     @Operation(summary = "Get modules by credits range", description = "Retrieve modules within a specific credits range")
     @GetMapping("/study-program/{studyProgramId}/credits")
-    public ResponseEntity<List<ModuleDetails>> getModulesByCreditsRange(
+    public ResponseEntity<?> getModulesByCreditsRange(
             @Parameter(description = "Study program ID") @PathVariable Integer studyProgramId,
             @Parameter(description = "Minimum credits") @RequestParam Integer minCredits,
-            @Parameter(description = "Maximum credits") @RequestParam Integer maxCredits) {
-        List<ModuleDetails> modules = moduleDetailsService.getModuleDetailsByCreditsRange(studyProgramId, minCredits, maxCredits);
-        return ResponseEntity.ok(modules);
+            @Parameter(description = "Maximum credits") @RequestParam Integer maxCredits,
+            @Parameter(description = "Comma separated fields to return (e.g., moduleId,name,credits)") @RequestParam(required = false) String fields) {
+        List<ModuleListItemDto> modules = moduleDetailsService.getModuleDetailsByCreditsRange(studyProgramId, minCredits, maxCredits);
+        return masked(modules, ModuleListItemDto.class, fields);
     }
     
     @Operation(summary = "Get distinct categories", description = "Get all unique categories for a study program")
@@ -209,6 +339,36 @@ public class ModuleDetailsController {
         }
     }
     
+    @Operation(summary = "Bulk upsert module details", description = "Insert or update many modules keyed by moduleId and studyProgramId " +
+            "in one transaction, unchanged modules are skipped (Admin only)")
+    @PutMapping("/bulk")
+    public ResponseEntity<?> bulkUpsertModuleDetails(
+            @RequestBody List<ModuleDetails> modules,
+            @RequestHeader(value = "X-Admin-API-Key", required = false) String apiKey) {
+        
+        if (!isValidAdminApiKey(apiKey)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "UNAUTHORIZED");
+            error.put("message", "Valid admin API key required for this operation");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+        
+        try {
+            BulkUpsertResultDto result = moduleDetailsService.bulkUpsertModuleDetails(modules);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "INVALID_MODULES");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "UPDATE_ERROR");
+            error.put("message", "Error updating modules: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
     @Operation(summary = "Update module details", description = "Update existing module details (Admin only)")
     @PutMapping("/{id}")
     public ResponseEntity<?> updateModuleDetails(
@@ -253,7 +413,12 @@ public class ModuleDetailsController {
         }
         
         try {
-            moduleDetailsService.deleteModuleDetails(id);
+            if (!moduleDetailsService.deleteModuleDetails(id)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "NOT_FOUND");
+                error.put("message", "Module not found with id: " + id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
             Map<String, String> response = new HashMap<>();
             response.put("message", "Module deleted successfully");
             response.put("deletedId", id.toString());
@@ -272,4 +437,34 @@ public class ModuleDetailsController {
     private boolean isValidAdminApiKey(String apiKey) {
         return apiKey != null && !apiKey.trim().isEmpty() && adminApiKey.equals(apiKey);
     }
+
+    private ResponseEntity<?> moduleNotFound(String moduleId) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "NOT_FOUND");
+        error.put("message", "Module not found in the catalog: " + moduleId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Restricts an already loaded response to the requested fields
+     */
+    private ResponseEntity<?> masked(Object body, Class<?> type, String fields) {
+        FieldMask mask = FieldMask.of(type, fields);
+        if (mask == null) {
+            return ResponseEntity.ok(body);
+        }
+        if (body instanceof Collection<?> items) {
+            return ResponseEntity.ok(mask.applyAll(items));
+        }
+        return ResponseEntity.ok(mask.apply(body));
+    }
+
+    // Exception handlers
+    @ExceptionHandler(FieldMask.InvalidFieldsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFields(FieldMask.InvalidFieldsException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "INVALID_FIELDS");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
 }
\ No newline at end of file
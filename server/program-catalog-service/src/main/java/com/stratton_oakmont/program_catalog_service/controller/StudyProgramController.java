@@ -1,14 +1,20 @@
 package com.stratton_oakmont.program_catalog_service.controller;
 
+import com.stratton_oakmont.program_catalog_service.dto.ProgramComparisonDto;
+import com.stratton_oakmont.program_catalog_service.dto.ProgramSimilarityDto;
 import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
 import com.stratton_oakmont.program_catalog_service.model.StudyProgram;
+import com.stratton_oakmont.program_catalog_service.service.ProgramComparisonService;
 import com.stratton_oakmont.program_catalog_service.service.StudyProgramService;
+import com.stratton_oakmont.program_catalog_service.util.FieldMask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -17,33 +23,81 @@ import java.util.stream.Collectors;
 public class StudyProgramController {
     
     private final StudyProgramService studyProgramService;
+    private final ProgramComparisonService programComparisonService;
     
     @Autowired
-    public StudyProgramController(StudyProgramService studyProgramService) {
+    public StudyProgramController(StudyProgramService studyProgramService, ProgramComparisonService programComparisonService) {
         this.studyProgramService = studyProgramService;
+        this.programComparisonService = programComparisonService;
     }
     
-    // GET /api/v1/study-programs - Get all study programs
+    // GET /api/v1/study-programs?fields=id,degree - Get all study programs
     @GetMapping({""})
-    public ResponseEntity<List<StudyProgramDto>> getAllStudyPrograms() {
+    public ResponseEntity<?> getAllStudyPrograms(@RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(StudyProgramDto.class, fields);
         try {
             List<StudyProgram> programs = studyProgramService.getAllStudyPrograms();
             List<StudyProgramDto> dtos = programs.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+            if (mask != null) {
+                return ResponseEntity.ok(mask.applyAll(dtos));
+            }
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
-    // GET /api/v1/study-programs/{id} - Get study program by ID
+    // GET /api/v1/study-programs/search?degree=master&curriculum=inform - Search study programs by word prefix
+    @GetMapping("/search")
+    public ResponseEntity<?> searchStudyPrograms(@RequestParam(required = false) String q,
+                                                 @RequestParam(required = false) String degree,
+                                                 @RequestParam(required = false) String curriculum,
+                                                 @RequestParam(required = false) String fieldOfStudies,
+                                                 @RequestParam(defaultValue = "20") int limit,
+                                                 @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(StudyProgramDto.class, fields);
+        List<StudyProgramDto> programs = studyProgramService.searchStudyPrograms(q, degree, curriculum, fieldOfStudies, limit);
+        if (mask != null) {
+            return ResponseEntity.ok(mask.applyAll(programs));
+        }
+        return ResponseEntity.ok(programs);
+    }
+    
+    // GET /api/v1/study-programs/compare?a=121&b=122 - Shared and unique modules of two study programs
+    @GetMapping("/compare")
+    public ResponseEntity<?> compareStudyPrograms(@RequestParam Integer a, @RequestParam Integer b) {
+        Optional<ProgramComparisonDto> comparison = programComparisonService.compare(a, b);
+        if (comparison.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "NOT_FOUND");
+            error.put("message", "Study program " + a + " or " + b + " not found or has no modules");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        return ResponseEntity.ok(comparison.get());
+    }
+    
+    // GET /api/v1/study-programs/compare/all?minSimilarity=0.2&limit=100 - Most similar pairs of study programs
+    @GetMapping("/compare/all")
+    public ResponseEntity<List<ProgramSimilarityDto>> getSimilarStudyPrograms(
+            @RequestParam(defaultValue = "0") double minSimilarity,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(programComparisonService.getSimilarPrograms(minSimilarity, Math.max(0, limit)));
+    }
+    
+    // GET /api/v1/study-programs/{id}?fields=id,degree - Get study program by ID
     @GetMapping("/{id}")
-    public ResponseEntity<StudyProgramDto> getStudyProgramById(@PathVariable Long id) {
+    public ResponseEntity<?> getStudyProgramById(@PathVariable Long id,
+                                                 @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(StudyProgramDto.class, fields);
         try {
             Optional<StudyProgram> program = studyProgramService.getStudyProgramById(id);
             if (program.isPresent()) {
                 StudyProgramDto dto = convertToDto(program.get());
+                if (mask != null) {
+                    return ResponseEntity.ok(mask.apply(dto));
+                }
                 return ResponseEntity.ok(dto);
             } else {
                 return ResponseEntity.notFound().build();
@@ -64,4 +118,13 @@ public class StudyProgramController {
         dto.setCurriculumLink(program.getCurriculumLink());
         return dto;
     }
+
+    // Exception handlers
+    @ExceptionHandler(FieldMask.InvalidFieldsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFields(FieldMask.InvalidFieldsException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "INVALID_FIELDS");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
 }
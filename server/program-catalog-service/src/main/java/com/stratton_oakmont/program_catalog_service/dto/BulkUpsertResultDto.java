@@ -0,0 +1,30 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+public class BulkUpsertResultDto {
+    private Integer inserted;
+    private Integer updated;
+    private Integer unchanged;
+    private Long catalogVersion;
+
+    public BulkUpsertResultDto() {}
+
+    public BulkUpsertResultDto(Integer inserted, Integer updated, Integer unchanged, Long catalogVersion) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.catalogVersion = catalogVersion;
+    }
+
+    // Getters and Setters
+    public Integer getInserted() { return inserted; }
+    public void setInserted(Integer inserted) { this.inserted = inserted; }
+
+    public Integer getUpdated() { return updated; }
+    public void setUpdated(Integer updated) { this.updated = updated; }
+
+    public Integer getUnchanged() { return unchanged; }
+    public void setUnchanged(Integer unchanged) { this.unchanged = unchanged; }
+
+    public Long getCatalogVersion() { return catalogVersion; }
+    public void setCatalogVersion(Long catalogVersion) { this.catalogVersion = catalogVersion; }
+}
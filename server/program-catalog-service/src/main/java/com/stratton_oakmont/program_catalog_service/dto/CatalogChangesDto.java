@@ -0,0 +1,42 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+import java.util.List;
+
+/**
+ * Response of /modules/changes. Applying the upserts and deletes to the state at {@code since}
+ * gives the state at {@code version}. If {@code snapshot} is set, the consumer was too far behind:
+ * upserts then contains every module and the local state has to be replaced instead.
+ */
+public class CatalogChangesDto {
+    private Long since;
+    private Long version;
+    private Boolean snapshot;
+    private List<ModuleListItemDto> upserts;
+    private List<Integer> deletes;
+
+    public CatalogChangesDto() {}
+
+    public CatalogChangesDto(Long since, Long version, Boolean snapshot, List<ModuleListItemDto> upserts, List<Integer> deletes) {
+        this.since = since;
+        this.version = version;
+        this.snapshot = snapshot;
+        this.upserts = upserts;
+        this.deletes = deletes;
+    }
+
+    // Getters and Setters
+    public Long getSince() { return since; }
+    public void setSince(Long since) { this.since = since; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Boolean getSnapshot() { return snapshot; }
+    public void setSnapshot(Boolean snapshot) { this.snapshot = snapshot; }
+
+    public List<ModuleListItemDto> getUpserts() { return upserts; }
+    public void setUpserts(List<ModuleListItemDto> upserts) { this.upserts = upserts; }
+
+    public List<Integer> getDeletes() { return deletes; }
+    public void setDeletes(List<Integer> deletes) { this.deletes = deletes; }
+}
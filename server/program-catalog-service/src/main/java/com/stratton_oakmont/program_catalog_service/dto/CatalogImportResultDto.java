@@ -0,0 +1,46 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+public class CatalogImportResultDto {
+    private String type;
+    private Long rowsRead;
+    private Integer rowsApplied;
+    private Long copyDurationMs;
+    private Long durationMs;
+    private Long rowsPerSecond;
+    private Long catalogVersion;
+
+    public CatalogImportResultDto() {}
+
+    public CatalogImportResultDto(String type, Long rowsRead, Integer rowsApplied, Long copyDurationMs,
+                                  Long durationMs, Long rowsPerSecond, Long catalogVersion) {
+        this.type = type;
+        this.rowsRead = rowsRead;
+        this.rowsApplied = rowsApplied;
+        this.copyDurationMs = copyDurationMs;
+        this.durationMs = durationMs;
+        this.rowsPerSecond = rowsPerSecond;
+        this.catalogVersion = catalogVersion;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getRowsRead() { return rowsRead; }
+    public void setRowsRead(Long rowsRead) { this.rowsRead = rowsRead; }
+
+    public Integer getRowsApplied() { return rowsApplied; }
+    public void setRowsApplied(Integer rowsApplied) { this.rowsApplied = rowsApplied; }
+
+    public Long getCopyDurationMs() { return copyDurationMs; }
+    public void setCopyDurationMs(Long copyDurationMs) { this.copyDurationMs = copyDurationMs; }
+
+    public Long getDurationMs() { return durationMs; }
+    public void setDurationMs(Long durationMs) { this.durationMs = durationMs; }
+
+    public Long getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(Long rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    public Long getCatalogVersion() { return catalogVersion; }
+    public void setCatalogVersion(Long catalogVersion) { this.catalogVersion = catalogVersion; }
+}
@@ -0,0 +1,25 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+public class CategoryOverlapDto {
+    private String category;
+    private Integer moduleCount;
+    private Integer sharedModuleCount;
+
+    public CategoryOverlapDto() {}
+
+    public CategoryOverlapDto(String category, Integer moduleCount, Integer sharedModuleCount) {
+        this.category = category;
+        this.moduleCount = moduleCount;
+        this.sharedModuleCount = sharedModuleCount;
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Integer getModuleCount() { return moduleCount; }
+    public void setModuleCount(Integer moduleCount) { this.moduleCount = moduleCount; }
+
+    public Integer getSharedModuleCount() { return sharedModuleCount; }
+    public void setSharedModuleCount(Integer sharedModuleCount) { this.sharedModuleCount = sharedModuleCount; }
+}
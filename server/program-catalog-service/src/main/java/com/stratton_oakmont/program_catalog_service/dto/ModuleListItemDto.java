@@ -0,0 +1,152 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+/**
+ * Lightweight module representation for list and search endpoints.
+ * Contains the short columns of ModuleDetails, a preview of the learning outcomes (or the content) as
+ * description and the short prerequisites text. The other TEXT columns are served by /modules/{id}/sections.
+ */
+public class ModuleListItemDto {
+
+    // Length of the description preview, the list queries select one character more to detect truncation
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
+    private Integer id;
+    private Integer studyProgramId;
+    private String category;
+    private String subcategory;
+    private String courseIdAndName;
+    private String link;
+    private String moduleId;
+    private String name;
+    private Integer credits;
+    private String responsible;
+    private String organisation;
+    private String moduleLevel;
+    private String abbreviation;
+    private String occurrence;
+    private String language;
+    private Double totalHours;
+    private Double contactHours;
+    private Double selfStudyHours;
+    private String examRetakeNextSemester;
+    private String examRetakeAtTheEndOfSemester;
+    private String description;
+    private String prerequisitesRecommended;
+
+    public ModuleListItemDto() {}
+
+    public ModuleListItemDto(Integer id, Integer studyProgramId, String category, String subcategory,
+                             String courseIdAndName, String link, String moduleId, String name, Integer credits,
+                             String responsible, String organisation, String moduleLevel, String abbreviation,
+                             String occurrence, String language, Double totalHours, Double contactHours,
+                             Double selfStudyHours, String examRetakeNextSemester, String examRetakeAtTheEndOfSemester) {
+        this.id = id;
+        this.studyProgramId = studyProgramId;
+        this.category = category;
+        this.subcategory = subcategory;
+        this.courseIdAndName = courseIdAndName;
+        this.link = link;
+        this.moduleId = moduleId;
+        this.name = name;
+        this.credits = credits;
+        this.responsible = responsible;
+        this.organisation = organisation;
+        this.moduleLevel = moduleLevel;
+        this.abbreviation = abbreviation;
+        this.occurrence = occurrence;
+        this.language = language;
+        this.totalHours = totalHours;
+        this.contactHours = contactHours;
+        this.selfStudyHours = selfStudyHours;
+        this.examRetakeNextSemester = examRetakeNextSemester;
+        this.examRetakeAtTheEndOfSemester = examRetakeAtTheEndOfSemester;
+    }
+
+    // Used by the JPQL constructor expressions in ModuleDetailsRepository
+    public ModuleListItemDto(Integer id, Integer studyProgramId, String category, String subcategory,
+                             String courseIdAndName, String link, String moduleId, String name, Integer credits,
+                             String responsible, String organisation, String moduleLevel, String abbreviation,
+                             String occurrence, String language, Double totalHours, Double contactHours,
+                             Double selfStudyHours, String examRetakeNextSemester, String examRetakeAtTheEndOfSemester,
+                             String descriptionPrefix, String prerequisitesRecommended) {
+        this(id, studyProgramId, category, subcategory, courseIdAndName, link, moduleId, name, credits, responsible,
+                organisation, moduleLevel, abbreviation, occurrence, language, totalHours, contactHours, selfStudyHours,
+                examRetakeNextSemester, examRetakeAtTheEndOfSemester);
+        this.description = preview(descriptionPrefix);
+        this.prerequisitesRecommended = prerequisitesRecommended;
+    }
+
+    private static String preview(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.length() > DESCRIPTION_PREVIEW_LENGTH ? prefix.substring(0, DESCRIPTION_PREVIEW_LENGTH) + "..." : prefix;
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Integer getStudyProgramId() { return studyProgramId; }
+    public void setStudyProgramId(Integer studyProgramId) { this.studyProgramId = studyProgramId; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSubcategory() { return subcategory; }
+    public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+
+    public String getCourseIdAndName() { return courseIdAndName; }
+    public void setCourseIdAndName(String courseIdAndName) { this.courseIdAndName = courseIdAndName; }
+
+    public String getLink() { return link; }
+    public void setLink(String link) { this.link = link; }
+
+    public String getModuleId() { return moduleId; }
+    public void setModuleId(String moduleId) { this.moduleId = moduleId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getCredits() { return credits; }
+    public void setCredits(Integer credits) { this.credits = credits; }
+
+    public String getResponsible() { return responsible; }
+    public void setResponsible(String responsible) { this.responsible = responsible; }
+
+    public String getOrganisation() { return organisation; }
+    public void setOrganisation(String organisation) { this.organisation = organisation; }
+
+    public String getModuleLevel() { return moduleLevel; }
+    public void setModuleLevel(String moduleLevel) { this.moduleLevel = moduleLevel; }
+
+    public String getAbbreviation() { return abbreviation; }
+    public void setAbbreviation(String abbreviation) { this.abbreviation = abbreviation; }
+
+    public String getOccurrence() { return occurrence; }
+    public void setOccurrence(String occurrence) { this.occurrence = occurrence; }
+
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+
+    public Double getTotalHours() { return totalHours; }
+    public void setTotalHours(Double totalHours) { this.totalHours = totalHours; }
+
+    public Double getContactHours() { return contactHours; }
+    public void setContactHours(Double contactHours) { this.contactHours = contactHours; }
+
+    public Double getSelfStudyHours() { return selfStudyHours; }
+    public void setSelfStudyHours(Double selfStudyHours) { this.selfStudyHours = selfStudyHours; }
+
+    public String getExamRetakeNextSemester() { return examRetakeNextSemester; }
+    public void setExamRetakeNextSemester(String examRetakeNextSemester) { this.examRetakeNextSemester = examRetakeNextSemester; }
+
+    public String getExamRetakeAtTheEndOfSemester() { return examRetakeAtTheEndOfSemester; }
+    public void setExamRetakeAtTheEndOfSemester(String examRetakeAtTheEndOfSemester) { this.examRetakeAtTheEndOfSemester = examRetakeAtTheEndOfSemester; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getPrerequisitesRecommended() { return prerequisitesRecommended; }
+    public void setPrerequisitesRecommended(String prerequisitesRecommended) { this.prerequisitesRecommended = prerequisitesRecommended; }
+}
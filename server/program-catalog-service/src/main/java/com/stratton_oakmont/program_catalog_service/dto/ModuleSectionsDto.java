@@ -0,0 +1,60 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+/**
+ * Long-form text sections of a module, delivered on demand by /modules/{id}/sections.
+ */
+public class ModuleSectionsDto {
+    private Integer id;
+    private String moduleId;
+    private String descriptionOfAchievementAndAssessmentMethods;
+    private String prerequisitesRecommended;
+    private String intendedLearningOutcomes;
+    private String content;
+    private String teachingAndLearningMethods;
+    private String media;
+    private String readingList;
+
+    public ModuleSectionsDto() {}
+
+    public ModuleSectionsDto(Integer id, String moduleId, String descriptionOfAchievementAndAssessmentMethods,
+                             String prerequisitesRecommended, String intendedLearningOutcomes, String content,
+                             String teachingAndLearningMethods, String media, String readingList) {
+        this.id = id;
+        this.moduleId = moduleId;
+        this.descriptionOfAchievementAndAssessmentMethods = descriptionOfAchievementAndAssessmentMethods;
+        this.prerequisitesRecommended = prerequisitesRecommended;
+        this.intendedLearningOutcomes = intendedLearningOutcomes;
+        this.content = content;
+        this.teachingAndLearningMethods = teachingAndLearningMethods;
+        this.media = media;
+        this.readingList = readingList;
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getModuleId() { return moduleId; }
+    public void setModuleId(String moduleId) { this.moduleId = moduleId; }
+
+    public String getDescriptionOfAchievementAndAssessmentMethods() { return descriptionOfAchievementAndAssessmentMethods; }
+    public void setDescriptionOfAchievementAndAssessmentMethods(String descriptionOfAchievementAndAssessmentMethods) { this.descriptionOfAchievementAndAssessmentMethods = descriptionOfAchievementAndAssessmentMethods; }
+
+    public String getPrerequisitesRecommended() { return prerequisitesRecommended; }
+    public void setPrerequisitesRecommended(String prerequisitesRecommended) { this.prerequisitesRecommended = prerequisitesRecommended; }
+
+    public String getIntendedLearningOutcomes() { return intendedLearningOutcomes; }
+    public void setIntendedLearningOutcomes(String intendedLearningOutcomes) { this.intendedLearningOutcomes = intendedLearningOutcomes; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public String getTeachingAndLearningMethods() { return teachingAndLearningMethods; }
+    public void setTeachingAndLearningMethods(String teachingAndLearningMethods) { this.teachingAndLearningMethods = teachingAndLearningMethods; }
+
+    public String getMedia() { return media; }
+    public void setMedia(String media) { this.media = media; }
+
+    public String getReadingList() { return readingList; }
+    public void setReadingList(String readingList) { this.readingList = readingList; }
+}
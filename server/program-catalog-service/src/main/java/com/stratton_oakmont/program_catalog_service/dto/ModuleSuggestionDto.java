@@ -0,0 +1,43 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+/**
+ * Typeahead suggestion, just enough to render the entry and open the module
+ */
+public class ModuleSuggestionDto {
+    private Integer id;
+    private String moduleId;
+    private String name;
+    private String abbreviation;
+    private Integer credits;
+    private String category;
+
+    public ModuleSuggestionDto() {}
+
+    public ModuleSuggestionDto(Integer id, String moduleId, String name, String abbreviation, Integer credits, String category) {
+        this.id = id;
+        this.moduleId = moduleId;
+        this.name = name;
+        this.abbreviation = abbreviation;
+        this.credits = credits;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getModuleId() { return moduleId; }
+    public void setModuleId(String moduleId) { this.moduleId = moduleId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getAbbreviation() { return abbreviation; }
+    public void setAbbreviation(String abbreviation) { this.abbreviation = abbreviation; }
+
+    public Integer getCredits() { return credits; }
+    public void setCredits(Integer credits) { this.credits = credits; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+}
@@ -27,6 +27,12 @@ public class ModuleSummaryDto {
         this.responsible = responsible;
     }
     
+    public ModuleSummaryDto(Integer id, String moduleId, String name, Integer credits, String category, 
+                           String subcategory, String occurrence, String language, String responsible, String description) {
+        this(id, moduleId, name, credits, category, subcategory, occurrence, language, responsible);
+        this.description = description;
+    }
+    
     // Getters and Setters
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
@@ -0,0 +1,30 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+public class PrerequisiteDto {
+    private String moduleId;
+    private String name;
+    private Integer depth;
+    private Boolean inStudyProgram;
+
+    public PrerequisiteDto() {}
+
+    public PrerequisiteDto(String moduleId, String name, Integer depth, Boolean inStudyProgram) {
+        this.moduleId = moduleId;
+        this.name = name;
+        this.depth = depth;
+        this.inStudyProgram = inStudyProgram;
+    }
+
+    // Getters and Setters
+    public String getModuleId() { return moduleId; }
+    public void setModuleId(String moduleId) { this.moduleId = moduleId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getDepth() { return depth; }
+    public void setDepth(Integer depth) { this.depth = depth; }
+
+    public Boolean getInStudyProgram() { return inStudyProgram; }
+    public void setInStudyProgram(Boolean inStudyProgram) { this.inStudyProgram = inStudyProgram; }
+}
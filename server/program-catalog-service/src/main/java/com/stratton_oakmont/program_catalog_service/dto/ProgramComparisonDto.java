@@ -0,0 +1,49 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+import java.util.List;
+
+/**
+ * Module overlap of two study programs, e.g. what carries over when switching from A to B
+ */
+public class ProgramComparisonDto {
+    private Integer studyProgramIdA;
+    private Integer studyProgramIdB;
+    // Jaccard similarity of the module sets
+    private Double similarity;
+    private Integer sharedCredits;
+    private List<ModuleSuggestionDto> sharedModules;
+    private List<ModuleSuggestionDto> onlyInA;
+    private List<ModuleSuggestionDto> onlyInB;
+    private List<CategoryOverlapDto> categoriesA;
+    private List<CategoryOverlapDto> categoriesB;
+
+    public ProgramComparisonDto() {}
+
+    // Getters and Setters
+    public Integer getStudyProgramIdA() { return studyProgramIdA; }
+    public void setStudyProgramIdA(Integer studyProgramIdA) { this.studyProgramIdA = studyProgramIdA; }
+
+    public Integer getStudyProgramIdB() { return studyProgramIdB; }
+    public void setStudyProgramIdB(Integer studyProgramIdB) { this.studyProgramIdB = studyProgramIdB; }
+
+    public Double getSimilarity() { return similarity; }
+    public void setSimilarity(Double similarity) { this.similarity = similarity; }
+
+    public Integer getSharedCredits() { return sharedCredits; }
+    public void setSharedCredits(Integer sharedCredits) { this.sharedCredits = sharedCredits; }
+
+    public List<ModuleSuggestionDto> getSharedModules() { return sharedModules; }
+    public void setSharedModules(List<ModuleSuggestionDto> sharedModules) { this.sharedModules = sharedModules; }
+
+    public List<ModuleSuggestionDto> getOnlyInA() { return onlyInA; }
+    public void setOnlyInA(List<ModuleSuggestionDto> onlyInA) { this.onlyInA = onlyInA; }
+
+    public List<ModuleSuggestionDto> getOnlyInB() { return onlyInB; }
+    public void setOnlyInB(List<ModuleSuggestionDto> onlyInB) { this.onlyInB = onlyInB; }
+
+    public List<CategoryOverlapDto> getCategoriesA() { return categoriesA; }
+    public void setCategoriesA(List<CategoryOverlapDto> categoriesA) { this.categoriesA = categoriesA; }
+
+    public List<CategoryOverlapDto> getCategoriesB() { return categoriesB; }
+    public void setCategoriesB(List<CategoryOverlapDto> categoriesB) { this.categoriesB = categoriesB; }
+}
@@ -0,0 +1,30 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+public class ProgramSimilarityDto {
+    private Integer studyProgramIdA;
+    private Integer studyProgramIdB;
+    private Integer sharedModuleCount;
+    private Double similarity;
+
+    public ProgramSimilarityDto() {}
+
+    public ProgramSimilarityDto(Integer studyProgramIdA, Integer studyProgramIdB, Integer sharedModuleCount, Double similarity) {
+        this.studyProgramIdA = studyProgramIdA;
+        this.studyProgramIdB = studyProgramIdB;
+        this.sharedModuleCount = sharedModuleCount;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public Integer getStudyProgramIdA() { return studyProgramIdA; }
+    public void setStudyProgramIdA(Integer studyProgramIdA) { this.studyProgramIdA = studyProgramIdA; }
+
+    public Integer getStudyProgramIdB() { return studyProgramIdB; }
+    public void setStudyProgramIdB(Integer studyProgramIdB) { this.studyProgramIdB = studyProgramIdB; }
+
+    public Integer getSharedModuleCount() { return sharedModuleCount; }
+    public void setSharedModuleCount(Integer sharedModuleCount) { this.sharedModuleCount = sharedModuleCount; }
+
+    public Double getSimilarity() { return similarity; }
+    public void setSimilarity(Double similarity) { this.similarity = similarity; }
+}
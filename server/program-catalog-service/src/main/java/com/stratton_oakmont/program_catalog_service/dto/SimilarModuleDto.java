@@ -0,0 +1,25 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+public class SimilarModuleDto {
+    private String moduleId;
+    private String name;
+    private Double similarity;
+
+    public SimilarModuleDto() {}
+
+    public SimilarModuleDto(String moduleId, String name, Double similarity) {
+        this.moduleId = moduleId;
+        this.name = name;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public String getModuleId() { return moduleId; }
+    public void setModuleId(String moduleId) { this.moduleId = moduleId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Double getSimilarity() { return similarity; }
+    public void setSimilarity(Double similarity) { this.similarity = similarity; }
+}
@@ -18,6 +18,17 @@ public class StudyProgramDto {
         this.curriculum = curriculum;
     }
     
+    public StudyProgramDto(Long id, String degree, String curriculum, String fieldOfStudies, Integer ectsCredits,
+                           Integer semester, String curriculumLink) {
+        this.id = id;
+        this.degree = degree;
+        this.curriculum = curriculum;
+        this.fieldOfStudies = fieldOfStudies;
+        this.ectsCredits = ectsCredits;
+        this.semester = semester;
+        this.curriculumLink = curriculumLink;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,24 @@
+package com.stratton_oakmont.program_catalog_service.dto;
+
+import java.util.List;
+
+public class TopologicalOrderDto {
+    // Module IDs with every prerequisite before the modules that need it
+    private List<String> order;
+    // Module IDs on a prerequisite cycle, these cannot be ordered
+    private List<String> cyclic;
+
+    public TopologicalOrderDto() {}
+
+    public TopologicalOrderDto(List<String> order, List<String> cyclic) {
+        this.order = order;
+        this.cyclic = cyclic;
+    }
+
+    // Getters and Setters
+    public List<String> getOrder() { return order; }
+    public void setOrder(List<String> order) { this.order = order; }
+
+    public List<String> getCyclic() { return cyclic; }
+    public void setCyclic(List<String> cyclic) { this.cyclic = cyclic; }
+}
@@ -0,0 +1,299 @@
+package com.stratton_oakmont.program_catalog_service.filter;
+
+import com.stratton_oakmont.program_catalog_service.service.CatalogVersionService;
+import com.stratton_oakmont.program_catalog_service.snapshot.CatalogSnapshotService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized (and gzip compressed) bytes of catalog GET responses, keyed by path,
+ * query string and catalog version. Catalog responses do not depend on the caller, so a hit is
+ * written straight to the servlet output stream without touching the controllers or Jackson.
+ *
+ * Also adds ETag / Last-Modified validators derived from the catalog version to every catalog GET
+ * and answers matching conditional requests with 304 before anything else runs. Responses built
+ * from an in-memory snapshot that is still being rebuilt for the current version are passed through
+ * without validators, so validators are only ever handed out for data of the version they name.
+ *
+ * Hits and 304s never reach the DispatcherServlet, so the filter sets the route template the handler
+ * mapping would have set, which the request metrics and traces use as their uri.
+ */
+@Component
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogResponseCacheFilter.class);
+
+    private final CatalogVersionService catalogVersionService;
+    private final HandlerMappingIntrospector handlerMappingIntrospector;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+    private final Map<String, CachedResponse> cache;
+    private final boolean cacheEnabled;
+    private final int maxBodyBytes;
+
+    @Autowired
+    public CatalogResponseCacheFilter(CatalogVersionService catalogVersionService,
+                                      HandlerMappingIntrospector handlerMappingIntrospector,
+                                      @Value("${catalog.response-cache.enabled:true}") boolean cacheEnabled,
+                                      @Value("${catalog.response-cache.max-entries:512}") int maxEntries,
+                                      @Value("${catalog.response-cache.max-body-bytes:8388608}") int maxBodyBytes) {
+        this.catalogVersionService = catalogVersionService;
+        this.handlerMappingIntrospector = handlerMappingIntrospector;
+        this.cacheEnabled = cacheEnabled;
+        this.maxBodyBytes = maxBodyBytes;
+        // Access ordered map as a simple LRU, guarded by its own monitor
+        this.cache = new LinkedHashMap<>(maxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        // Typeahead answers are tiny, served from memory and differ per keystroke, caching them would only churn the cache
+        return !(path.startsWith("/modules") || path.startsWith("/study-programs")) || path.endsWith("/suggest");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long version = catalogVersionService.getVersion();
+        long lastModified = catalogVersionService.getLastModified().toEpochMilli();
+        String key = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+
+        CachedResponse cached = null;
+        if (cacheEnabled) {
+            synchronized (cache) {
+                cached = cache.get(key);
+            }
+            if (cached != null && cached.version() != version) {
+                cached = null;
+            }
+        }
+        boolean gzip = cached != null && cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = etag(version, gzip);
+
+        // "*" only matches when the resource is known to exist, otherwise the handler decides
+        if (isNotModified(request, version, lastModified, cached != null)) {
+            setRoute(request, cached != null ? cached.route() : null);
+            if (applyCors(request, response)) {
+                setValidators(response, etag, lastModified);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            }
+            return;
+        }
+
+        if (cached != null) {
+            setRoute(request, cached.route());
+            if (applyCors(request, response)) {
+                setValidators(response, etag, lastModified);
+                writeCached(cached, gzip, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK && !isBuiltFromOlderSnapshot(request, version)) {
+            setValidators(responseWrapper, etag, lastModified);
+            if (cacheEnabled && isCacheable(responseWrapper)) {
+                byte[] body = responseWrapper.getContentAsByteArray();
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                CachedResponse entry = new CachedResponse(version, route != null ? route.toString() : null,
+                        responseWrapper.getContentType(), body, gzip(body));
+                synchronized (cache) {
+                    cache.put(key, entry);
+                }
+            }
+            if (matchesAny(request)) {
+                responseWrapper.resetBuffer();
+                responseWrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            }
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static boolean isBuiltFromOlderSnapshot(HttpServletRequest request, long version) {
+        return request.getAttribute(CatalogSnapshotService.SNAPSHOT_VERSION_ATTRIBUTE) instanceof Long snapshotVersion
+                && snapshotVersion < version;
+    }
+
+    // Strong validator, each content coding is its own representation
+    private static String etag(long version, boolean gzip) {
+        return "\"catalog-" + version + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, long version, long lastModified, boolean exists) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match uses the weak comparison, so the coding suffix and W/ prefix are ignored
+            String current = "\"catalog-" + version;
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ((exists && candidate.equals("*")) || candidate.equals(current + "\"") || candidate.equals(current + "-gzip\"")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            // HTTP dates have second precision
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean matchesAny(HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            if (tag.trim().equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setValidators(HttpServletResponse response, String etag, long lastModified) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        // Let browsers keep the body but revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("application/json")
+                && response.getContentSize() <= maxBodyBytes;
+    }
+
+    // Sets the route template of the cached entry, or looks up the handler for it like the DispatcherServlet
+    private void setRoute(HttpServletRequest request, String route) {
+        if (route == null) {
+            route = findRoute(request);
+        }
+        if (route != null) {
+            String pattern = route;
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setPathPattern(pattern));
+        }
+    }
+
+    private String findRoute(HttpServletRequest request) {
+        List<HandlerMapping> handlerMappings = handlerMappingIntrospector.getHandlerMappings();
+        boolean parsed = ServletRequestPathUtils.hasParsedRequestPath(request);
+        if (!parsed) {
+            ServletRequestPathUtils.parseAndCache(request);
+        }
+        try {
+            for (HandlerMapping handlerMapping : handlerMappings) {
+                // A match stores the pattern as the BEST_MATCHING_PATTERN_ATTRIBUTE of the request
+                if (handlerMapping.getHandler(request) != null) {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    return pattern != null ? pattern.toString() : null;
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to find the route of {}: {}", request.getRequestURI(), e.getMessage());
+        } finally {
+            if (!parsed) {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+        return null;
+    }
+
+    // Responses written here skip the DispatcherServlet, so apply the MVC CORS configuration ourselves
+    private boolean applyCors(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CorsConfiguration corsConfiguration = handlerMappingIntrospector.getCorsConfiguration(request);
+        return corsConfiguration == null || corsProcessor.processRequest(corsConfiguration, request, response);
+    }
+
+    private void writeCached(CachedResponse cached, boolean gzip, HttpServletResponse response) throws IOException {
+        byte[] body = cached.identity();
+        if (gzip) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // gzip unless the client sent it with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // Entries are compressed once, so spend the time on the best ratio
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            logger.warn("Failed to gzip cached catalog response", e);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private record CachedResponse(long version, String route, String contentType, byte[] identity, byte[] gzip) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.stratton_oakmont.program_catalog_service.importer;
+
+/**
+ * Thrown when an import file cannot be loaded, nothing of the import is applied in that case
+ */
+public class CatalogImportException extends RuntimeException {
+
+    public CatalogImportException(String message) {
+        super(message);
+    }
+
+    public CatalogImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,228 @@
+package com.stratton_oakmont.program_catalog_service.importer;
+
+import com.stratton_oakmont.program_catalog_service.dto.CatalogImportResultDto;
+import com.stratton_oakmont.program_catalog_service.service.CatalogChangeService;
+import com.stratton_oakmont.program_catalog_service.service.CatalogVersionService;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads the data-collection CSV files into the catalog in one transaction:
+ * the file is parsed as a stream, batches of records are converted to COPY format in parallel,
+ * written with COPY into a temporary staging table and then applied to curriculums_x_module_details.
+ * Readers see the old catalog until the import commits.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogChangeService catalogChangeService;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int batchSize;
+
+    @Autowired
+    public CatalogImportService(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                CatalogVersionService catalogVersionService, CatalogChangeService catalogChangeService,
+                                @Value("${catalog.import.parallelism:0}") int parallelism,
+                                @Value("${catalog.import.batch-size:500}") int batchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogVersionService = catalogVersionService;
+        this.catalogChangeService = catalogChangeService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Import a CSV file, either all of it is applied or nothing
+     */
+    @Transactional
+    public CatalogImportResultDto importCsv(CatalogImportType type, InputStream input) {
+        long start = System.nanoTime();
+
+        jdbcTemplate.execute(type.stagingTableDdl());
+        long rowsRead = copyIntoStaging(type, input);
+        long copied = System.nanoTime();
+
+        type.beforeApply().forEach(jdbcTemplate::execute);
+        int rowsApplied = jdbcTemplate.update(type.apply());
+        type.afterApply().forEach(jdbcTemplate::execute);
+
+        // An import is not part of the change log, change feed consumers resync from a snapshot
+        long version = catalogVersionService.bump();
+        catalogChangeService.resetAfterImport(version);
+
+        long end = System.nanoTime();
+        double seconds = Math.max(end - start, 1) / 1_000_000_000.0;
+        CatalogImportResultDto result = new CatalogImportResultDto(type.getName(), rowsRead, rowsApplied,
+                (copied - start) / 1_000_000, (end - start) / 1_000_000, Math.round(rowsRead / seconds), version);
+        logger.info("Imported {} rows of {} ({} applied) in {} ms, {} rows/s",
+                rowsRead, type.getName(), rowsApplied, result.getDurationMs(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private long copyIntoStaging(CatalogImportType type, InputStream input) {
+        // The connection of the surrounding transaction, so the staging table is visible to the apply statements
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = null;
+        try (CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int[] columnIndexes = resolveColumns(type, reader.next());
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(type.copyStatement());
+
+            // Parsing stays sequential (quoted fields can span lines), converting batches runs in parallel.
+            // Batches are written in submission order, the window bounds the memory in flight.
+            Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+            long rows = 0;
+            long firstRecord = reader.getRecordNumber() + 1;
+            List<String[]> batch = new ArrayList<>(batchSize);
+            String[] record;
+            while ((record = reader.next()) != null) {
+                if (record.length == 1 && record[0].isEmpty()) {
+                    continue;
+                }
+                batch.add(record);
+                rows++;
+                if (batch.size() == batchSize) {
+                    inFlight.add(submit(type, columnIndexes, batch, firstRecord));
+                    firstRecord = reader.getRecordNumber() + 1;
+                    batch = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= parallelism * 2) {
+                        write(copyIn, inFlight.poll());
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                inFlight.add(submit(type, columnIndexes, batch, firstRecord));
+            }
+            while (!inFlight.isEmpty()) {
+                write(copyIn, inFlight.poll());
+            }
+            copyIn.endCopy();
+            return rows;
+        } catch (IOException | SQLException e) {
+            cancel(copyIn);
+            throw new CatalogImportException("Failed to load " + type.getName() + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            cancel(copyIn);
+            throw e;
+        }
+    }
+
+    private int[] resolveColumns(CatalogImportType type, String[] header) {
+        if (header == null) {
+            throw new CatalogImportException("Import file is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            positions.putIfAbsent(header[i].trim(), i);
+        }
+        List<ImportColumn> columns = type.getColumns();
+        int[] indexes = new int[columns.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            Integer position = positions.get(columns.get(i).header());
+            if (position == null) {
+                missing.add(columns.get(i).header());
+            } else {
+                indexes[i] = position;
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new CatalogImportException("Missing columns for " + type.getName() + ": " + missing);
+        }
+        return indexes;
+    }
+
+    private Future<byte[]> submit(CatalogImportType type, int[] columnIndexes, List<String[]> batch, long firstRecord) {
+        return executor.submit(() -> toCopyFormat(type.getColumns(), columnIndexes, batch, firstRecord));
+    }
+
+    private static byte[] toCopyFormat(List<ImportColumn> columns, int[] columnIndexes, List<String[]> batch, long firstRecord) {
+        StringBuilder out = new StringBuilder(batch.size() * 512);
+        for (int row = 0; row < batch.size(); row++) {
+            String[] record = batch.get(row);
+            for (int i = 0; i < columnIndexes.length; i++) {
+                if (i > 0) {
+                    out.append('\t');
+                }
+                int index = columnIndexes[i];
+                String raw = index < record.length ? record[index] : null;
+                try {
+                    columns.get(i).appendCopyValue(raw, out);
+                } catch (NumberFormatException e) {
+                    throw new CatalogImportException("Record " + (firstRecord + row) + ", column "
+                            + columns.get(i).header() + ": " + e.getMessage());
+                }
+            }
+            out.append('\n');
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void write(CopyIn copyIn, Future<byte[]> batch) throws SQLException {
+        try {
+            byte[] bytes = batch.get();
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CatalogImportException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CatalogImportException importException) {
+                throw importException;
+            }
+            throw new CatalogImportException("Failed to convert import batch", e.getCause());
+        }
+    }
+
+    private static void cancel(CopyIn copyIn) {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException e) {
+                logger.warn("Failed to cancel COPY: {}", e.getMessage());
+            }
+        }
+    }
+}
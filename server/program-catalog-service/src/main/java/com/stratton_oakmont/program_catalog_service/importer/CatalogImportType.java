@@ -0,0 +1,183 @@
+package com.stratton_oakmont.program_catalog_service.importer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.stratton_oakmont.program_catalog_service.importer.ImportColumn.decimal;
+import static com.stratton_oakmont.program_catalog_service.importer.ImportColumn.integer;
+import static com.stratton_oakmont.program_catalog_service.importer.ImportColumn.text;
+
+/**
+ * CSV files of data-collection/csv_tables that can be imported, with the typed columns they are
+ * staged into and how the staged rows are applied to curriculums_x_module_details
+ */
+public enum CatalogImportType {
+
+    /**
+     * csv_tables/modules.csv, one row per module and curriculum. Replaces the whole table.
+     */
+    MODULES("modules", List.of(
+            integer("id", "id"),
+            integer("study_program_id", "study_program_id"),
+            text("category", "category"),
+            text("subcategory", "subcategory"),
+            text("course_id_and_name", "course_id_and_name"),
+            text("link", "link"),
+            text("module_id", "module_id"),
+            text("name", "name"),
+            integer("credits", "credits"),
+            text("version", "version"),
+            text("valid", "valid"),
+            text("responsible", "responsible"),
+            text("organisation", "organisation"),
+            text("note", "note"),
+            text("module_level", "module_level"),
+            text("abbreviation", "abbreviation"),
+            text("subtitle", "subtitle"),
+            text("duration", "duration"),
+            text("occurrence", "occurrence"),
+            text("language", "language"),
+            text("related_programs", "related_programs"),
+            decimal("total_hours", "total_hours"),
+            decimal("contact_hours", "contact_hours"),
+            decimal("self_study_hours", "self_study_hours"),
+            text("description_of_achievement_and_assessment_methods", "description_of_achievement_and_assessment_methods"),
+            text("exam_retake_next_semester", "exam_retake_next_semester"),
+            text("exam_retake_at_the_end_of_semester", "exam_retake_at_the_end_of_semester"),
+            text("prerequisites_recommended", "prerequisites_recommended"),
+            text("intended_learning_outcomes", "intended_learning_outcomes"),
+            text("content", "content"),
+            text("teaching_and_learning_methods", "teaching_and_learning_methods"),
+            text("media", "media"),
+            text("reading_list", "reading_list"),
+            decimal("curriculum_id", "curriculum_id"),
+            text("transformed_link", "transformed_link"),
+            text("extraction_method", "extraction_method")
+    )) {
+        @Override
+        public List<String> beforeApply() {
+            // DELETE instead of TRUNCATE, readers keep seeing the old rows until the import commits
+            return List.of("DELETE FROM curriculums_x_module_details");
+        }
+
+        @Override
+        public String apply() {
+            String columns = columnList();
+            return "INSERT INTO curriculums_x_module_details (" + columns + ") SELECT " + columns + " FROM " + STAGING_TABLE;
+        }
+
+        @Override
+        public List<String> afterApply() {
+            // Ids come from the file, move the identity sequence past them
+            return List.of(
+                    "SELECT setval(seq, (SELECT COALESCE(MAX(id), 0) + 1 FROM curriculums_x_module_details), false) " +
+                    "FROM (SELECT pg_get_serial_sequence('curriculums_x_module_details', 'id') AS seq) s WHERE seq IS NOT NULL"
+            );
+        }
+    },
+
+    /**
+     * csv_tables/module_details_scraped.csv, one row per module. Updates the module columns of
+     * every curriculum row with the same module_id.
+     */
+    MODULE_DETAILS("module-details", List.of(
+            text("ID", "module_id"),
+            text("name", "name"),
+            integer("credits", "credits"),
+            text("version", "version"),
+            text("valid", "valid"),
+            text("responsible", "responsible"),
+            text("organisation", "organisation"),
+            text("note", "note"),
+            text("module_level", "module_level"),
+            text("abbreviation", "abbreviation"),
+            text("subtitle", "subtitle"),
+            text("duration", "duration"),
+            text("occurrence", "occurrence"),
+            text("language", "language"),
+            text("related_programs", "related_programs"),
+            decimal("total_hours", "total_hours"),
+            decimal("contact_hours", "contact_hours"),
+            decimal("self_study_hours", "self_study_hours"),
+            text("description_of_achievement_and_assessment_methods", "description_of_achievement_and_assessment_methods"),
+            text("exam_retake_next_semester", "exam_retake_next_semester"),
+            text("exam_retake_at_the_end_of_semester", "exam_retake_at_the_end_of_semester"),
+            text("prerequisites_recommended", "prerequisites_recommended"),
+            text("intended_learning_outcomes", "intended_learning_outcomes"),
+            text("content", "content"),
+            text("teaching_and_learning_methods", "teaching_and_learning_methods"),
+            text("media", "media"),
+            text("reading_list", "reading_list"),
+            text("transformed_link", "transformed_link"),
+            text("extraction_method", "extraction_method")
+    )) {
+        @Override
+        public String apply() {
+            String assignments = getColumns().stream()
+                    .map(ImportColumn::column)
+                    .filter(column -> !column.equals("module_id"))
+                    .map(column -> column + " = s." + column)
+                    .collect(Collectors.joining(", "));
+            // The scraped file can contain a module twice, one of the rows wins
+            return "UPDATE curriculums_x_module_details t SET " + assignments +
+                    " FROM (SELECT DISTINCT ON (module_id) * FROM " + STAGING_TABLE + " ORDER BY module_id) s" +
+                    " WHERE t.module_id = s.module_id";
+        }
+    };
+
+    static final String STAGING_TABLE = "catalog_import_staging";
+
+    private final String name;
+    private final List<ImportColumn> columns;
+
+    CatalogImportType(String name, List<ImportColumn> columns) {
+        this.name = name;
+        this.columns = columns;
+    }
+
+    /**
+     * Statement that applies the staged rows, its row count is reported
+     */
+    public abstract String apply();
+
+    public List<String> beforeApply() {
+        return List.of();
+    }
+
+    public List<String> afterApply() {
+        return List.of();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<ImportColumn> getColumns() {
+        return columns;
+    }
+
+    public String stagingTableDdl() {
+        return "CREATE TEMPORARY TABLE " + STAGING_TABLE + " (" +
+                columns.stream()
+                        .map(column -> column.column() + " " + column.type().getSqlType())
+                        .collect(Collectors.joining(", ")) +
+                ") ON COMMIT DROP";
+    }
+
+    public String copyStatement() {
+        return "COPY " + STAGING_TABLE + " (" + columnList() + ") FROM STDIN WITH (FORMAT text)";
+    }
+
+    String columnList() {
+        return columns.stream().map(ImportColumn::column).collect(Collectors.joining(", "));
+    }
+
+    public static CatalogImportType fromName(String name) {
+        for (CatalogImportType type : values()) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+        throw new CatalogImportException("Unknown import type " + name + ", expected modules or module-details");
+    }
+}
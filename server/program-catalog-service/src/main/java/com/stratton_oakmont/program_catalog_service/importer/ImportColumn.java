@@ -0,0 +1,70 @@
+package com.stratton_oakmont.program_catalog_service.importer;
+
+/**
+ * Maps a CSV header to a typed column of the staging table
+ */
+public record ImportColumn(String header, String column, Type type) {
+
+    public enum Type {
+        INTEGER("integer"),
+        DOUBLE("double precision"),
+        TEXT("text");
+
+        private final String sqlType;
+
+        Type(String sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        public String getSqlType() {
+            return sqlType;
+        }
+    }
+
+    static ImportColumn integer(String header, String column) {
+        return new ImportColumn(header, column, Type.INTEGER);
+    }
+
+    static ImportColumn decimal(String header, String column) {
+        return new ImportColumn(header, column, Type.DOUBLE);
+    }
+
+    static ImportColumn text(String header, String column) {
+        return new ImportColumn(header, column, Type.TEXT);
+    }
+
+    /**
+     * Appends the value in Postgres COPY text format, empty values become NULL
+     *
+     * @throws NumberFormatException if a numeric column holds something else
+     */
+    void appendCopyValue(String raw, StringBuilder out) {
+        if (raw == null || raw.isEmpty()) {
+            out.append("\\N");
+            return;
+        }
+        switch (type) {
+            case INTEGER -> {
+                // pandas writes integer columns with missing values as floats, e.g. 30.0
+                double value = Double.parseDouble(raw.trim());
+                if (value != Math.rint(value)) {
+                    throw new NumberFormatException("Not an integer: " + raw);
+                }
+                out.append((long) value);
+            }
+            case DOUBLE -> out.append(Double.parseDouble(raw.trim()));
+            case TEXT -> {
+                for (int i = 0; i < raw.length(); i++) {
+                    char c = raw.charAt(i);
+                    switch (c) {
+                        case '\\' -> out.append("\\\\");
+                        case '\n' -> out.append("\\n");
+                        case '\r' -> out.append("\\r");
+                        case '\t' -> out.append("\\t");
+                        default -> out.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.stratton_oakmont.program_catalog_service.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
+/**
+ * Module row of a curriculum. The long-form TEXT columns are lazy (bytecode enhancement is
+ * enabled in build.gradle), so loading an entity only fetches them once one of them is accessed.
+ * List views should use {@link com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto}.
+ * Entities are kept in the second-level cache, see {@link com.stratton_oakmont.program_catalog_service.config.SecondLevelCacheConfig}.
+ */
 @Entity
 @Table(name = "curriculums_x_module_details")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ModuleDetails.CACHE_REGION)
 public class ModuleDetails {
     
+    public static final String CACHE_REGION = "catalog.module-details";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -80,6 +93,7 @@ public class ModuleDetails {
     @Column(name = "self_study_hours")
     private Double selfStudyHours;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description_of_achievement_and_assessment_methods", columnDefinition = "TEXT")
     private String descriptionOfAchievementAndAssessmentMethods;
     
@@ -89,21 +103,27 @@ public class ModuleDetails {
     @Column(name = "exam_retake_at_the_end_of_semester")
     private String examRetakeAtTheEndOfSemester;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "prerequisites_recommended", columnDefinition = "TEXT")
     private String prerequisitesRecommended;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "intended_learning_outcomes", columnDefinition = "TEXT")
     private String intendedLearningOutcomes;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "content", columnDefinition = "TEXT")
     private String content;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "teaching_and_learning_methods", columnDefinition = "TEXT")
     private String teachingAndLearningMethods;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "media", columnDefinition = "TEXT")
     private String media;
     
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "reading_list", columnDefinition = "TEXT")
     private String readingList;
     
@@ -1,10 +1,17 @@
 package com.stratton_oakmont.program_catalog_service.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "study_programs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = StudyProgram.CACHE_REGION)
 public class StudyProgram {
+    
+    public static final String CACHE_REGION = "catalog.study-programs";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -0,0 +1,238 @@
+package com.stratton_oakmont.program_catalog_service.repository;
+
+import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Plain JDBC access for bulk module writes. Rows are compared by a content hash over all written
+ * columns, so unchanged modules are never written, and inserts and updates go out as JDBC batches.
+ */
+@Repository
+public class ModuleDetailsBulkRepository {
+
+    // Every column except the generated id, in statement order
+    private static final List<Column> COLUMNS = List.of(
+            Column.integer("study_program_id", ModuleDetails::getStudyProgramId),
+            Column.text("category", ModuleDetails::getCategory),
+            Column.text("subcategory", ModuleDetails::getSubcategory),
+            Column.text("course_id_and_name", ModuleDetails::getCourseIdAndName),
+            Column.text("link", ModuleDetails::getLink),
+            Column.text("module_id", ModuleDetails::getModuleId),
+            Column.text("name", ModuleDetails::getName),
+            Column.integer("credits", ModuleDetails::getCredits),
+            Column.text("version", ModuleDetails::getVersion),
+            Column.text("valid", ModuleDetails::getValid),
+            Column.text("responsible", ModuleDetails::getResponsible),
+            Column.text("organisation", ModuleDetails::getOrganisation),
+            Column.text("note", ModuleDetails::getNote),
+            Column.text("module_level", ModuleDetails::getModuleLevel),
+            Column.text("abbreviation", ModuleDetails::getAbbreviation),
+            Column.text("subtitle", ModuleDetails::getSubtitle),
+            Column.text("duration", ModuleDetails::getDuration),
+            Column.text("occurrence", ModuleDetails::getOccurrence),
+            Column.text("language", ModuleDetails::getLanguage),
+            Column.text("related_programs", ModuleDetails::getRelatedPrograms),
+            Column.decimal("total_hours", ModuleDetails::getTotalHours),
+            Column.decimal("contact_hours", ModuleDetails::getContactHours),
+            Column.decimal("self_study_hours", ModuleDetails::getSelfStudyHours),
+            Column.text("description_of_achievement_and_assessment_methods", ModuleDetails::getDescriptionOfAchievementAndAssessmentMethods),
+            Column.text("exam_retake_next_semester", ModuleDetails::getExamRetakeNextSemester),
+            Column.text("exam_retake_at_the_end_of_semester", ModuleDetails::getExamRetakeAtTheEndOfSemester),
+            Column.text("prerequisites_recommended", ModuleDetails::getPrerequisitesRecommended),
+            Column.text("intended_learning_outcomes", ModuleDetails::getIntendedLearningOutcomes),
+            Column.text("content", ModuleDetails::getContent),
+            Column.text("teaching_and_learning_methods", ModuleDetails::getTeachingAndLearningMethods),
+            Column.text("media", ModuleDetails::getMedia),
+            Column.text("reading_list", ModuleDetails::getReadingList),
+            Column.decimal("curriculum_id", ModuleDetails::getCurriculumId),
+            Column.text("transformed_link", ModuleDetails::getTransformedLink),
+            Column.text("extraction_method", ModuleDetails::getExtractionMethod));
+
+    private static final String COLUMN_LIST = COLUMNS.stream().map(Column::name).collect(Collectors.joining(", "));
+
+    private static final String SELECT_BY_MODULE_IDS = "SELECT id, " + COLUMN_LIST +
+            " FROM curriculums_x_module_details WHERE module_id = ANY (?)";
+
+    private static final String INSERT = "INSERT INTO curriculums_x_module_details (" + COLUMN_LIST + ") VALUES (" +
+            COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+
+    private static final String UPDATE = "UPDATE curriculums_x_module_details SET " +
+            COLUMNS.stream().map(column -> column.name() + " = ?").collect(Collectors.joining(", ")) + " WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ModuleDetailsBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Find the stored rows of the given module IDs with the content hash of each row
+     */
+    public List<StoredModule> findStoredByModuleIdIn(Collection<String> moduleIds) {
+        List<StoredModule> stored = new ArrayList<>();
+        if (moduleIds.isEmpty()) {
+            return stored;
+        }
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_BY_MODULE_IDS);
+                    statement.setArray(1, connection.createArrayOf("text", moduleIds.toArray()));
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> {
+                    Object[] values = new Object[COLUMNS.size()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = COLUMNS.get(i).read(rs);
+                    }
+                    stored.add(new StoredModule(rs.getInt("id"), (String) values[5], (Integer) values[0],
+                            (String) values[1], hash(values)));
+                });
+        return stored;
+    }
+
+    /**
+     * Insert the modules as one batch, returns the generated IDs in input order
+     */
+    public List<Integer> insertAll(List<ModuleDetails> modules) {
+        if (modules.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        bind(statement, modules.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return modules.size();
+                    }
+                },
+                keyHolder);
+        List<Integer> ids = new ArrayList<>(modules.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.get("id")).intValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Overwrite all columns of the given rows as one batch, keyed by database ID
+     */
+    public void updateAll(Map<Integer, ModuleDetails> modulesById) {
+        if (modulesById.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Integer, ModuleDetails>> entries = new ArrayList<>(modulesById.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                bind(statement, entries.get(i).getValue());
+                statement.setInt(COLUMNS.size() + 1, entries.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /**
+     * Content hash over all written columns of a module
+     */
+    public static byte[] hash(ModuleDetails module) {
+        Object[] values = new Object[COLUMNS.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = COLUMNS.get(i).getter().apply(module);
+        }
+        return hash(values);
+    }
+
+    private static byte[] hash(Object[] values) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Object value : values) {
+            // Null and empty text must hash differently
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0x1F);
+        }
+        return digest.digest();
+    }
+
+    private static void bind(PreparedStatement statement, ModuleDetails module) throws SQLException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Column column = COLUMNS.get(i);
+            statement.setObject(i + 1, column.getter().apply(module), column.sqlType());
+        }
+    }
+
+    /**
+     * A stored module row, reduced to what the bulk upsert matches and compares on
+     */
+    public record StoredModule(Integer id, String moduleId, Integer studyProgramId, String category, byte[] contentHash) {
+
+        public boolean hasContent(byte[] hash) {
+            return Arrays.equals(contentHash, hash);
+        }
+    }
+
+    private record Column(String name, int sqlType, Function<ModuleDetails, Object> getter) {
+
+        static Column integer(String name, Function<ModuleDetails, Integer> getter) {
+            return new Column(name, Types.INTEGER, getter::apply);
+        }
+
+        static Column decimal(String name, Function<ModuleDetails, Double> getter) {
+            return new Column(name, Types.DOUBLE, getter::apply);
+        }
+
+        static Column text(String name, Function<ModuleDetails, String> getter) {
+            return new Column(name, Types.VARCHAR, getter::apply);
+        }
+
+        // Read with the Java type the entity uses, so stored and incoming values hash the same
+        Object read(ResultSet rs) throws SQLException {
+            Object value = switch (sqlType) {
+                case Types.INTEGER -> rs.getInt(name);
+                case Types.DOUBLE -> rs.getDouble(name);
+                default -> rs.getString(name);
+            };
+            return rs.wasNull() ? null : value;
+        }
+    }
+}
@@ -1,30 +1,54 @@
 package com.stratton_oakmont.program_catalog_service.repository;
 
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSectionsDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSummaryDto;
 import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import com.stratton_oakmont.program_catalog_service.snapshot.ModuleText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ModuleDetailsRepository extends JpaRepository<ModuleDetails, Integer> {
-    
+public interface ModuleDetailsRepository extends JpaRepository<ModuleDetails, Integer>, ModuleDetailsRepositoryCustom {
+
+    // Select clause for list projections. Of the TEXT columns it only selects a prefix of the learning
+    // outcomes (or the content) for the description preview and the short prerequisites
+    String LIST_ITEM_SELECT = "SELECT new com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto(" +
+            "md.id, md.studyProgramId, md.category, md.subcategory, md.courseIdAndName, md.link, md.moduleId, md.name, " +
+            "md.credits, md.responsible, md.organisation, md.moduleLevel, md.abbreviation, md.occurrence, md.language, " +
+            "md.totalHours, md.contactHours, md.selfStudyHours, md.examRetakeNextSemester, md.examRetakeAtTheEndOfSemester, " +
+            "SUBSTRING(COALESCE(md.intendedLearningOutcomes, md.content), 1, 201), md.prerequisitesRecommended) " +
+            "FROM ModuleDetails md ";
+    
+    // Finders and distinct-value queries with fixed parameter sets use the query cache, the cached
+    // entity IDs resolve through the second-level cache (see SecondLevelCacheConfig)
     // Find by study program ID
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<ModuleDetails> findByStudyProgramId(Integer studyProgramId);
     
     // Find by module ID
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<ModuleDetails> findByModuleId(String moduleId);
     
     // Find by category
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<ModuleDetails> findByCategory(String category);
     
     // Find by category and subcategory
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<ModuleDetails> findByCategoryAndSubcategory(String category, String subcategory);
     
     // Find by study program and category
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<ModuleDetails> findByStudyProgramIdAndCategory(Integer studyProgramId, String category);
     
     // Find by study program and multiple categories
@@ -36,6 +60,7 @@ public interface ModuleDetailsRepository extends JpaRepository<ModuleDetails, In
     List<ModuleDetails> searchByNameOrModuleId(@Param("studyProgramId") Integer studyProgramId, @Param("searchTerm") String searchTerm);
     
     // Find by occurrence (semester availability)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<ModuleDetails> findByStudyProgramIdAndOccurrence(Integer studyProgramId, String occurrence);
     
     // Find by credits range
@@ -43,55 +68,101 @@ public interface ModuleDetailsRepository extends JpaRepository<ModuleDetails, In
     List<ModuleDetails> findByStudyProgramIdAndCreditsBetween(@Param("studyProgramId") Integer studyProgramId, @Param("minCredits") Integer minCredits, @Param("maxCredits") Integer maxCredits);
     
     // Get all distinct categories for a study program
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT md.category FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId ORDER BY md.category")
     List<String> findDistinctCategoriesByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
     
     // Get all distinct subcategories for a study program and category
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT md.subcategory FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId AND md.category = :category ORDER BY md.subcategory")
     List<String> findDistinctSubcategoriesByStudyProgramIdAndCategory(@Param("studyProgramId") Integer studyProgramId, @Param("category") String category);
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT md.language FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId AND md.language IS NOT NULL ORDER BY md.language")
     List<String> findDistinctLanguagesByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT md.occurrence FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId AND md.occurrence IS NOT NULL ORDER BY md.occurrence")
     List<String> findDistinctOccurrencesByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT md.category, COUNT(md), SUM(md.credits) FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId GROUP BY md.category ORDER BY md.category")
     List<Object[]> findCategoryStatisticsByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(md) FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId")
     Integer countByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT SUM(md.credits) FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId")
     Integer sumCreditsByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
-    
-    // Enhanced search with multiple filters
-    @Query(value = "SELECT * FROM curriculums_x_module_details md WHERE md.study_program_id = :studyProgramId " +
-       "AND (:category IS NULL OR md.category = :category) " +
-       "AND (:subcategory IS NULL OR md.subcategory = :subcategory) " +
-       "AND (:language IS NULL OR md.language = :language) " +
-       "AND (:occurrence IS NULL OR md.occurrence = :occurrence) " +
-       "AND (:minCredits IS NULL OR md.credits >= :minCredits) " +
-       "AND (:maxCredits IS NULL OR md.credits <= :maxCredits) " +
-       "AND (:searchTerm IS NULL OR " +
-       "LOWER(md.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-       "LOWER(md.module_id) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-       "LOWER(md.responsible) LIKE LOWER(CONCAT('%', :searchTerm, '%')))", 
-       nativeQuery = true)
-       List<ModuleDetails> findWithFilters(@Param("studyProgramId") Integer studyProgramId,
-                                          @Param("category") String category,
-                                          @Param("subcategory") String subcategory,
-                                          @Param("language") String language,
-                                          @Param("occurrence") String occurrence,
-                                          @Param("minCredits") Integer minCredits,
-                                          @Param("maxCredits") Integer maxCredits,
-                                          @Param("searchTerm") String searchTerm);
-    // Semester-based filtering
-    @Query("SELECT md FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId AND " +
+
+    // Lightweight projections for list and search endpoints
+    @Query(LIST_ITEM_SELECT + "ORDER BY md.id")
+    List<ModuleListItemDto> findAllListItems();
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.id IN :ids ORDER BY md.id")
+    List<ModuleListItemDto> findListItemsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId")
+    List<ModuleListItemDto> findListItemsByStudyProgramId(@Param("studyProgramId") Integer studyProgramId);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId AND md.category = :category")
+    List<ModuleListItemDto> findListItemsByStudyProgramIdAndCategory(@Param("studyProgramId") Integer studyProgramId, @Param("category") String category);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId AND (LOWER(md.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(md.moduleId) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    List<ModuleListItemDto> searchListItemsByNameOrModuleId(@Param("studyProgramId") Integer studyProgramId, @Param("searchTerm") String searchTerm);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId AND md.occurrence = :occurrence")
+    List<ModuleListItemDto> findListItemsByStudyProgramIdAndOccurrence(@Param("studyProgramId") Integer studyProgramId, @Param("occurrence") String occurrence);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId AND md.credits BETWEEN :minCredits AND :maxCredits")
+    List<ModuleListItemDto> findListItemsByStudyProgramIdAndCreditsBetween(@Param("studyProgramId") Integer studyProgramId, @Param("minCredits") Integer minCredits, @Param("maxCredits") Integer maxCredits);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId AND " +
            "(LOWER(md.occurrence) LIKE LOWER(CONCAT('%', :semester, '%')) OR " +
            "LOWER(md.occurrence) LIKE '%both%' OR " +
            "LOWER(md.occurrence) LIKE '%winter/summer%' OR " +
            "LOWER(md.occurrence) LIKE '%summer/winter%')")
-    List<ModuleDetails> findBySemesterAvailability(@Param("studyProgramId") Integer studyProgramId, @Param("semester") String semester);
+    List<ModuleListItemDto> findListItemsBySemesterAvailability(@Param("studyProgramId") Integer studyProgramId, @Param("semester") String semester);
+
+    @Query(LIST_ITEM_SELECT + "WHERE md.studyProgramId = :studyProgramId " +
+           "AND (:category IS NULL OR md.category = :category) " +
+           "AND (:subcategory IS NULL OR md.subcategory = :subcategory) " +
+           "AND (:language IS NULL OR md.language = :language) " +
+           "AND (:occurrence IS NULL OR md.occurrence = :occurrence) " +
+           "AND (:minCredits IS NULL OR md.credits >= :minCredits) " +
+           "AND (:maxCredits IS NULL OR md.credits <= :maxCredits) " +
+           "AND (:searchTerm IS NULL OR " +
+           "LOWER(md.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(md.moduleId) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(md.responsible) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    List<ModuleListItemDto> findListItemsWithFilters(@Param("studyProgramId") Integer studyProgramId,
+                                                     @Param("category") String category,
+                                                     @Param("subcategory") String subcategory,
+                                                     @Param("language") String language,
+                                                     @Param("occurrence") String occurrence,
+                                                     @Param("minCredits") Integer minCredits,
+                                                     @Param("maxCredits") Integer maxCredits,
+                                                     @Param("searchTerm") String searchTerm);
+
+    // Summaries only need a short preview of the learning outcomes, so only a prefix is selected
+    @Query("SELECT new com.stratton_oakmont.program_catalog_service.dto.ModuleSummaryDto(" +
+           "md.id, md.moduleId, md.name, md.credits, md.category, md.subcategory, md.occurrence, md.language, md.responsible, " +
+           "SUBSTRING(md.intendedLearningOutcomes, 1, 201)) " +
+           "FROM ModuleDetails md WHERE md.studyProgramId = :studyProgramId AND md.category = :category")
+    List<ModuleSummaryDto> findSummariesByStudyProgramIdAndCategory(@Param("studyProgramId") Integer studyProgramId, @Param("category") String category);
+
+    // Text columns of all modules for the prerequisite graphs and the similarity index of the catalog snapshot
+    @Query("SELECT new com.stratton_oakmont.program_catalog_service.snapshot.ModuleText(" +
+           "md.studyProgramId, md.moduleId, md.name, md.prerequisitesRecommended, md.intendedLearningOutcomes, md.content) " +
+           "FROM ModuleDetails md ORDER BY md.id")
+    List<ModuleText> findModuleTexts();
 
-}
\ No newline at end of file
+    // Long-form text of a single module
+    @Query("SELECT new com.stratton_oakmont.program_catalog_service.dto.ModuleSectionsDto(" +
+           "md.id, md.moduleId, md.descriptionOfAchievementAndAssessmentMethods, md.prerequisitesRecommended, " +
+           "md.intendedLearningOutcomes, md.content, md.teachingAndLearningMethods, md.media, md.readingList) " +
+           "FROM ModuleDetails md WHERE md.id = :id")
+    Optional<ModuleSectionsDto> findSectionsById(@Param("id") Integer id);
+}
@@ -0,0 +1,21 @@
+package com.stratton_oakmont.program_catalog_service.repository;
+
+import com.stratton_oakmont.program_catalog_service.util.FieldMask;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries that only select the columns of a {@link FieldMask}
+ */
+public interface ModuleDetailsRepositoryCustom {
+
+    Optional<Map<String, Object>> findMaskedById(Integer id, FieldMask mask);
+
+    Optional<Map<String, Object>> findMaskedByModuleId(String moduleId, FieldMask mask);
+
+    List<Map<String, Object>> findMaskedByStudyProgramId(Integer studyProgramId, FieldMask mask);
+
+    List<Map<String, Object>> findMaskedByStudyProgramIdAndCategory(Integer studyProgramId, String category, FieldMask mask);
+}
@@ -0,0 +1,66 @@
+package com.stratton_oakmont.program_catalog_service.repository;
+
+import com.stratton_oakmont.program_catalog_service.util.FieldMask;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class ModuleDetailsRepositoryImpl implements ModuleDetailsRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findMaskedById(Integer id, FieldMask mask) {
+        TypedQuery<Tuple> query = createQuery(mask, "WHERE md.id = :id");
+        query.setParameter("id", id);
+        return first(query, mask);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findMaskedByModuleId(String moduleId, FieldMask mask) {
+        TypedQuery<Tuple> query = createQuery(mask, "WHERE md.moduleId = :moduleId");
+        query.setParameter("moduleId", moduleId);
+        return first(query, mask);
+    }
+
+    @Override
+    public List<Map<String, Object>> findMaskedByStudyProgramId(Integer studyProgramId, FieldMask mask) {
+        TypedQuery<Tuple> query = createQuery(mask, "WHERE md.studyProgramId = :studyProgramId");
+        query.setParameter("studyProgramId", studyProgramId);
+        return toMaps(query.getResultList(), mask);
+    }
+
+    @Override
+    public List<Map<String, Object>> findMaskedByStudyProgramIdAndCategory(Integer studyProgramId, String category, FieldMask mask) {
+        TypedQuery<Tuple> query = createQuery(mask, "WHERE md.studyProgramId = :studyProgramId AND md.category = :category");
+        query.setParameter("studyProgramId", studyProgramId);
+        query.setParameter("category", category);
+        return toMaps(query.getResultList(), mask);
+    }
+
+    // Field names are validated against the bean properties by FieldMask, so they are safe to inline
+    private TypedQuery<Tuple> createQuery(FieldMask mask, String where) {
+        String jpql = "SELECT " + mask.selectClause("md") + " FROM ModuleDetails md " + where;
+        return entityManager.createQuery(jpql, Tuple.class);
+    }
+
+    private Optional<Map<String, Object>> first(TypedQuery<Tuple> query, FieldMask mask) {
+        List<Tuple> rows = query.setMaxResults(1).getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(mask.toMap(rows.get(0).toArray()));
+    }
+
+    private List<Map<String, Object>> toMaps(List<Tuple> rows, FieldMask mask) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(mask.toMap(row.toArray()));
+        }
+        return result;
+    }
+}
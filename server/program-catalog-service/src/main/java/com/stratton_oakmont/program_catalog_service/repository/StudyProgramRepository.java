@@ -1,7 +1,12 @@
 package com.stratton_oakmont.program_catalog_service.repository;
 
+import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
 import com.stratton_oakmont.program_catalog_service.model.StudyProgram;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,13 +15,25 @@ import java.util.Optional;
 @Repository
 public interface StudyProgramRepository extends JpaRepository<StudyProgram, Long> {
     
+    // Exact match finders use the query cache, the program rows come from the second-level cache
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<StudyProgram> findAll();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<StudyProgram> findByDegree(String degree);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<StudyProgram> findByCurriculum(String curriculum);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<StudyProgram> findByFieldOfStudies(String fieldOfStudies);
     
     List<StudyProgram> findByDegreeContainingIgnoreCase(String degree);
     
     List<StudyProgram> findByCurriculumContainingIgnoreCase(String curriculum);
+    
+    // All programs as DTOs for the program directory of the catalog snapshot
+    @Query("SELECT new com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto(sp.id, sp.degree, sp.curriculum, sp.fieldOfStudies, sp.ectsCredits, sp.semester, sp.curriculumLink) FROM StudyProgram sp ORDER BY sp.id")
+    List<StudyProgramDto> findAllDtos();
 }
@@ -0,0 +1,172 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+import com.stratton_oakmont.program_catalog_service.dto.CatalogChangesDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.repository.ModuleDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change log behind /modules/changes. Module writes record their change in the writing transaction,
+ * so the log is exactly as complete as the catalog itself.
+ */
+@Service
+public class CatalogChangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeService.class);
+
+    private static final String UPSERT = "UPSERT";
+    private static final String DELETE = "DELETE";
+
+    private static final String RECORD =
+            "INSERT INTO catalog_changes (version, module_details_id, operation, changed_at) VALUES (?, ?, ?, now()) " +
+            "ON CONFLICT (version, module_details_id) DO UPDATE SET operation = EXCLUDED.operation";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ModuleDetailsRepository moduleDetailsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    @Autowired
+    public CatalogChangeService(JdbcTemplate jdbcTemplate, ModuleDetailsRepository moduleDetailsRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${catalog.changes.retention-days:30}") long retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.moduleDetailsRepository = moduleDetailsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Record that a module was created or updated in the given catalog version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpsert(Integer moduleDetailsId, long version) {
+        record(moduleDetailsId, version, UPSERT);
+    }
+
+    /**
+     * Record that a module was deleted in the given catalog version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(Integer moduleDetailsId, long version) {
+        record(moduleDetailsId, version, DELETE);
+    }
+
+    /**
+     * Record that the given modules were created or updated in the given catalog version, as one batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpserts(Collection<Integer> moduleDetailsIds, long version) {
+        jdbcTemplate.batchUpdate(RECORD, moduleDetailsIds, moduleDetailsIds.size(), (statement, id) -> {
+            statement.setLong(1, version);
+            statement.setInt(2, id);
+            statement.setString(3, UPSERT);
+        });
+    }
+
+    private void record(Integer moduleDetailsId, long version, String operation) {
+        jdbcTemplate.update(RECORD, version, moduleDetailsId, operation);
+    }
+
+    /**
+     * Drop the change log after an import replaced the catalog, consumers behind it get a snapshot
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void resetAfterImport(long version) {
+        jdbcTemplate.update("DELETE FROM catalog_changes");
+        jdbcTemplate.update("UPDATE catalog_version SET changes_retained_since = ? WHERE id = 1", version);
+    }
+
+    /**
+     * Get the module changes after the given version, or a snapshot if they are no longer complete
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CatalogChangesDto getChangesSince(long since) {
+        // Read the version and the log from the same snapshot so they are consistent
+        Map<String, Object> state = jdbcTemplate.queryForMap(
+                "SELECT version, changes_retained_since FROM catalog_version WHERE id = 1");
+        long version = ((Number) state.get("version")).longValue();
+        long retainedSince = ((Number) state.get("changes_retained_since")).longValue();
+
+        if (since < retainedSince || since > version) {
+            return new CatalogChangesDto(since, version, true, moduleDetailsRepository.findAllListItems(), Collections.emptyList());
+        }
+        if (since == version) {
+            return new CatalogChangesDto(since, version, false, Collections.emptyList(), Collections.emptyList());
+        }
+
+        // Latest operation per module wins
+        Map<Integer, String> latest = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT module_details_id, operation FROM catalog_changes WHERE version > ? AND version <= ? ORDER BY version",
+                (RowCallbackHandler) rs -> latest.put(rs.getInt("module_details_id"), rs.getString("operation")),
+                since, version);
+
+        List<Integer> upsertIds = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        latest.forEach((id, operation) -> (DELETE.equals(operation) ? deletes : upsertIds).add(id));
+
+        List<ModuleListItemDto> upserts = upsertIds.isEmpty()
+                ? Collections.emptyList()
+                : moduleDetailsRepository.findListItemsByIdIn(upsertIds);
+        return new CatalogChangesDto(since, version, false, upserts, deletes);
+    }
+
+    /**
+     * Compact the change log periodically, a failed run is rolled back and retried on the next one
+     */
+    @Scheduled(fixedDelayString = "${catalog.changes.compaction-interval-ms:3600000}")
+    public void scheduledCompact() {
+        // Catch outside the transaction so a failure rolls it back instead of committing half a compaction
+        try {
+            transactionTemplate.executeWithoutResult(status -> compact());
+        } catch (Exception e) {
+            logger.warn("Failed to compact catalog change log: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Keep only the latest change per module and drop changes older than the retention.
+     * Consumers behind the dropped changes get a snapshot instead.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void compact() {
+        int superseded = jdbcTemplate.update(
+                "DELETE FROM catalog_changes c USING catalog_changes newer " +
+                "WHERE newer.module_details_id = c.module_details_id AND newer.version > c.version");
+
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+        jdbcTemplate.update(
+                "UPDATE catalog_version SET changes_retained_since = GREATEST(changes_retained_since, " +
+                "COALESCE((SELECT MAX(version) FROM catalog_changes WHERE changed_at < ?), 0)) WHERE id = 1",
+                cutoff);
+        int expired = jdbcTemplate.update(
+                "DELETE FROM catalog_changes WHERE version <= (SELECT changes_retained_since FROM catalog_version WHERE id = 1)");
+
+        if (superseded > 0 || expired > 0) {
+            logger.info("Compacted catalog change log: {} superseded, {} expired", superseded, expired);
+        }
+    }
+}
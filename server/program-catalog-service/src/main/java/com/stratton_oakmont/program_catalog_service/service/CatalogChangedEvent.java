@@ -0,0 +1,16 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+/**
+ * Published once this instance has seen a new catalog version, either from its own write
+ * (after commit) or from the periodic refresh picking up an import or another instance's write.
+ */
+public class CatalogChangedEvent {
+
+    private final long version;
+
+    public CatalogChangedEvent(long version) {
+        this.version = version;
+    }
+
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,98 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Monotonically increasing version of the catalog data, persisted in the catalog_version table.
+ * Every module or program write bumps it in the writing transaction, imports bump it as well.
+ * Reads are served from a local copy so validators (ETag, Last-Modified) never hit the database.
+ */
+@Service
+public class CatalogVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    private static final RowMapper<CatalogVersion> ROW_MAPPER = (rs, rowNum) ->
+            new CatalogVersion(rs.getLong("version"), rs.getTimestamp("updated_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile CatalogVersion current;
+
+    @Autowired
+    public CatalogVersionService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.current = jdbcTemplate.queryForObject("SELECT version, updated_at FROM catalog_version WHERE id = 1", ROW_MAPPER);
+    }
+
+    /**
+     * Get the current catalog version
+     */
+    public long getVersion() {
+        return current.version();
+    }
+
+    /**
+     * Get the time of the last catalog change
+     */
+    public Instant getLastModified() {
+        return current.updatedAt();
+    }
+
+    /**
+     * Bump the catalog version. Inside a transaction the new version becomes visible after commit.
+     */
+    public long bump() {
+        CatalogVersion bumped = jdbcTemplate.queryForObject(
+                "UPDATE catalog_version SET version = version + 1, updated_at = now() WHERE id = 1 RETURNING version, updated_at",
+                ROW_MAPPER);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advanceTo(bumped);
+                }
+            });
+        } else {
+            advanceTo(bumped);
+        }
+        return bumped.version();
+    }
+
+    /**
+     * Re-read the version to pick up imports and writes of other instances
+     */
+    @Scheduled(fixedDelayString = "${catalog.version.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            advanceTo(jdbcTemplate.queryForObject("SELECT version, updated_at FROM catalog_version WHERE id = 1", ROW_MAPPER));
+        } catch (Exception e) {
+            logger.warn("Failed to refresh catalog version: {}", e.getMessage());
+        }
+    }
+
+    private void advanceTo(CatalogVersion candidate) {
+        synchronized (this) {
+            if (candidate.version() <= current.version()) {
+                return;
+            }
+            current = candidate;
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(candidate.version()));
+    }
+
+    private record CatalogVersion(long version, Instant updatedAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the second-level and query cache in line with writes Hibernate does not see: the JDBC batch
+ * upserts, CSV imports and writes of other instances. All of them advance the catalog version, so
+ * the cached catalog entities and query results are dropped whenever a new version is seen.
+ */
+@Service
+public class EntityCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheService.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        evictAll();
+        logger.debug("Evicted second-level cache for catalog version {}", event.getVersion());
+    }
+
+    /**
+     * Drop all cached entities and query results
+     */
+    public void evictAll() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData();
+        cache.evictQueryRegions();
+    }
+}
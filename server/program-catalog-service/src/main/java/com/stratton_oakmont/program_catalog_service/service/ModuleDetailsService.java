@@ -1,31 +1,53 @@
 package com.stratton_oakmont.program_catalog_service.service;
 
+import com.stratton_oakmont.program_catalog_service.dto.BulkUpsertResultDto;
+import com.stratton_oakmont.program_catalog_service.dto.CatalogChangesDto;
 import com.stratton_oakmont.program_catalog_service.dto.CategoryStatisticsDto;
 import com.stratton_oakmont.program_catalog_service.dto.CurriculumOverviewDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSectionsDto;
 import com.stratton_oakmont.program_catalog_service.dto.ModuleSummaryDto;
 import com.stratton_oakmont.program_catalog_service.model.ModuleDetails;
+import com.stratton_oakmont.program_catalog_service.repository.ModuleDetailsBulkRepository;
+import com.stratton_oakmont.program_catalog_service.repository.ModuleDetailsBulkRepository.StoredModule;
 import com.stratton_oakmont.program_catalog_service.repository.ModuleDetailsRepository;
+import com.stratton_oakmont.program_catalog_service.util.FieldMask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class ModuleDetailsService {
     
     @Autowired
     private ModuleDetailsRepository moduleDetailsRepository;
     
+    @Autowired
+    private ModuleDetailsBulkRepository moduleDetailsBulkRepository;
+    
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+    
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+    
     /**
-     * Get all module details
+     * Get all modules as lightweight list items
      */
-    public List<ModuleDetails> getAllModuleDetails() {
-        return moduleDetailsRepository.findAll();
+    public List<ModuleListItemDto> getAllModuleListItems() {
+        return moduleDetailsRepository.findAllListItems();
     }
     
     /**
@@ -35,6 +57,20 @@ public class ModuleDetailsService {
         return moduleDetailsRepository.findById(id);
     }
     
+    /**
+     * Get only the masked fields of a module by ID
+     */
+    public Optional<Map<String, Object>> getModuleDetailsById(Integer id, FieldMask mask) {
+        return moduleDetailsRepository.findMaskedById(id, mask);
+    }
+    
+    /**
+     * Get the long-form text sections of a module
+     */
+    public Optional<ModuleSectionsDto> getModuleSections(Integer id) {
+        return moduleDetailsRepository.findSectionsById(id);
+    }
+    
     /**
      * Get module details by module ID
      */
@@ -42,18 +78,39 @@ public class ModuleDetailsService {
         return moduleDetailsRepository.findByModuleId(moduleId);
     }
     
+    /**
+     * Get only the masked fields of a module by module ID
+     */
+    public Optional<Map<String, Object>> getModuleDetailsByModuleId(String moduleId, FieldMask mask) {
+        return moduleDetailsRepository.findMaskedByModuleId(moduleId, mask);
+    }
+    
     /**
      * Get all module details for a specific study program
      */
-    public List<ModuleDetails> getModuleDetailsByStudyProgramId(Integer studyProgramId) {
-        return moduleDetailsRepository.findByStudyProgramId(studyProgramId);
+    public List<ModuleListItemDto> getModuleDetailsByStudyProgramId(Integer studyProgramId) {
+        return moduleDetailsRepository.findListItemsByStudyProgramId(studyProgramId);
     }
     
     /**
      * Get module details by study program and category
      */
-    public List<ModuleDetails> getModuleDetailsByStudyProgramIdAndCategory(Integer studyProgramId, String category) {
-        return moduleDetailsRepository.findByStudyProgramIdAndCategory(studyProgramId, category);
+    public List<ModuleListItemDto> getModuleDetailsByStudyProgramIdAndCategory(Integer studyProgramId, String category) {
+        return moduleDetailsRepository.findListItemsByStudyProgramIdAndCategory(studyProgramId, category);
+    }
+    
+    /**
+     * Get only the masked fields of the modules of a study program
+     */
+    public List<Map<String, Object>> getModuleDetailsByStudyProgramId(Integer studyProgramId, FieldMask mask) {
+        return moduleDetailsRepository.findMaskedByStudyProgramId(studyProgramId, mask);
+    }
+    
+    /**
+     * Get only the masked fields of the modules of a study program and category
+     */
+    public List<Map<String, Object>> getModuleDetailsByStudyProgramIdAndCategory(Integer studyProgramId, String category, FieldMask mask) {
+        return moduleDetailsRepository.findMaskedByStudyProgramIdAndCategory(studyProgramId, category, mask);
     }
     
     /**
@@ -66,22 +123,22 @@ public class ModuleDetailsService {
     /**
      * Search module details by name or module ID
      */
-    public List<ModuleDetails> searchModuleDetails(Integer studyProgramId, String searchTerm) {
-        return moduleDetailsRepository.searchByNameOrModuleId(studyProgramId, searchTerm);
+    public List<ModuleListItemDto> searchModuleDetails(Integer studyProgramId, String searchTerm) {
+        return moduleDetailsRepository.searchListItemsByNameOrModuleId(studyProgramId, searchTerm);
     }
     
     /**
      * Get module details by occurrence (semester availability)
      */
-    public List<ModuleDetails> getModuleDetailsByOccurrence(Integer studyProgramId, String occurrence) {
-        return moduleDetailsRepository.findByStudyProgramIdAndOccurrence(studyProgramId, occurrence);
+    public List<ModuleListItemDto> getModuleDetailsByOccurrence(Integer studyProgramId, String occurrence) {
+        return moduleDetailsRepository.findListItemsByStudyProgramIdAndOccurrence(studyProgramId, occurrence);
     }
     
     /**
      * Get module details by credits range
      */
-    public List<ModuleDetails> getModuleDetailsByCreditsRange(Integer studyProgramId, Integer minCredits, Integer maxCredits) {
-        return moduleDetailsRepository.findByStudyProgramIdAndCreditsBetween(studyProgramId, minCredits, maxCredits);
+    public List<ModuleListItemDto> getModuleDetailsByCreditsRange(Integer studyProgramId, Integer minCredits, Integer maxCredits) {
+        return moduleDetailsRepository.findListItemsByStudyProgramIdAndCreditsBetween(studyProgramId, minCredits, maxCredits);
     }
     
     /**
@@ -145,11 +202,7 @@ public class ModuleDetailsService {
             categoryDto.setSubcategories(subcategories);
             
             // Get module summaries for this category
-            List<ModuleDetails> modules = getModuleDetailsByStudyProgramIdAndCategory(studyProgramId, category);
-            List<ModuleSummaryDto> moduleSummaries = modules.stream()
-                .map(this::convertToModuleSummary)
-                .collect(Collectors.toList());
-            categoryDto.setModules(moduleSummaries);
+            categoryDto.setModules(getModuleSummariesByCategory(studyProgramId, category));
             
             categoryStats.add(categoryDto);
         }
@@ -174,7 +227,7 @@ public class ModuleDetailsService {
     /**
      * Advanced search with multiple filters
      */
-    public List<ModuleDetails> searchWithFilters(Integer studyProgramId, String category, String subcategory,
+    public List<ModuleListItemDto> searchWithFilters(Integer studyProgramId, String category, String subcategory,
                                              String language, String occurrence, Integer minCredits,
                                              Integer maxCredits, String searchTerm) {
     try {
@@ -185,8 +238,8 @@ public class ModuleDetailsService {
         occurrence = (occurrence != null && occurrence.trim().isEmpty()) ? null : occurrence;
         searchTerm = (searchTerm != null && searchTerm.trim().isEmpty()) ? null : searchTerm;
         
-        return moduleDetailsRepository.findWithFilters(studyProgramId, category, subcategory, language,
-                                                      occurrence, minCredits, maxCredits, searchTerm);
+        return moduleDetailsRepository.findListItemsWithFilters(studyProgramId, category, subcategory, language,
+                                                               occurrence, minCredits, maxCredits, searchTerm);
     } catch (Exception e) {
         // Log the error for debugging
         //logger.error("Error in searchWithFilters: ", e);
@@ -197,54 +250,53 @@ public class ModuleDetailsService {
     /**
      * Get modules available in a specific semester
      */
-    public List<ModuleDetails> getModulesBySemester(Integer studyProgramId, String semester) {
-        return moduleDetailsRepository.findBySemesterAvailability(studyProgramId, semester);
+    public List<ModuleListItemDto> getModulesBySemester(Integer studyProgramId, String semester) {
+        return moduleDetailsRepository.findListItemsBySemesterAvailability(studyProgramId, semester);
     }
     
     /**
      * Get module summaries by category
      */
     public List<ModuleSummaryDto> getModuleSummariesByCategory(Integer studyProgramId, String category) {
-        List<ModuleDetails> modules = getModuleDetailsByStudyProgramIdAndCategory(studyProgramId, category);
-        return modules.stream()
-            .map(this::convertToModuleSummary)
-            .collect(Collectors.toList());
+        List<ModuleSummaryDto> summaries = moduleDetailsRepository.findSummariesByStudyProgramIdAndCategory(studyProgramId, category);
+        summaries.forEach(this::shortenDescription);
+        return summaries;
     }
     
     /**
-     * Convert ModuleDetails to ModuleSummaryDto
+     * Turn the selected learning outcomes prefix into the short summary description
      */
-    private ModuleSummaryDto convertToModuleSummary(ModuleDetails module) {
-        ModuleSummaryDto summary = new ModuleSummaryDto();
-        summary.setId(module.getId());
-        summary.setModuleId(module.getModuleId());
-        summary.setName(module.getName());
-        summary.setCredits(module.getCredits());
-        summary.setCategory(module.getCategory());
-        summary.setSubcategory(module.getSubcategory());
-        summary.setOccurrence(module.getOccurrence());
-        summary.setLanguage(module.getLanguage());
-        summary.setResponsible(module.getResponsible());
-        
-        // Create a short description from content or learning outcomes
-        if (module.getIntendedLearningOutcomes() != null && !module.getIntendedLearningOutcomes().isEmpty()) {
-            String description = module.getIntendedLearningOutcomes();
-            summary.setDescription(description.length() > 200 ? description.substring(0, 200) + "..." : description);
+    private void shortenDescription(ModuleSummaryDto summary) {
+        String description = summary.getDescription();
+        if (description == null || description.isEmpty()) {
+            summary.setDescription(null);
+        } else if (description.length() > 200) {
+            summary.setDescription(description.substring(0, 200) + "...");
         }
-        
-        return summary;
+    }
+
+    /**
+     * Get the module changes since a catalog version
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CatalogChangesDto getChangesSince(long since) {
+        return catalogChangeService.getChangesSince(since);
     }
 
     /**
      * Create new module details
      */
+    @Transactional
     public ModuleDetails createModuleDetails(ModuleDetails moduleDetails) {
-        return moduleDetailsRepository.save(moduleDetails);
+        ModuleDetails created = moduleDetailsRepository.save(moduleDetails);
+        catalogChangeService.recordUpsert(created.getId(), catalogVersionService.bump());
+        return created;
     }
     
     /**
      * Update existing module details
      */
+    @Transactional
     public ModuleDetails updateModuleDetails(Integer id, ModuleDetails moduleDetails) {
         Optional<ModuleDetails> existingModule = moduleDetailsRepository.findById(id);
         if (existingModule.isPresent()) {
@@ -273,15 +325,102 @@ public class ModuleDetailsService {
             existing.setMedia(moduleDetails.getMedia());
             existing.setReadingList(moduleDetails.getReadingList());
             
-            return moduleDetailsRepository.save(existing);
+            ModuleDetails updated = moduleDetailsRepository.save(existing);
+            catalogChangeService.recordUpsert(updated.getId(), catalogVersionService.bump());
+            return updated;
         }
         throw new RuntimeException("Module details not found with id: " + id);
     }
     
     /**
-     * Delete module details
+     * Insert or update many modules keyed by module ID and study program in one transaction.
+     * Modules whose content did not change are not written and the catalog version is bumped once.
+     */
+    @Transactional
+    public BulkUpsertResultDto bulkUpsertModuleDetails(List<ModuleDetails> modules) {
+        Map<String, List<StoredModule>> storedByKey = new HashMap<>();
+        Set<String> moduleIds = new HashSet<>();
+        Set<String> requestKeys = new HashSet<>();
+        for (ModuleDetails module : modules) {
+            if (module.getModuleId() == null || module.getModuleId().isBlank() || module.getStudyProgramId() == null) {
+                throw new IllegalArgumentException("Every module needs a moduleId and a studyProgramId");
+            }
+            // Also catches duplicates of new modules, which match no stored row below
+            if (!requestKeys.add(bulkKey(module.getModuleId(), module.getStudyProgramId()) + '|' + module.getCategory())) {
+                throw new IllegalArgumentException("Module " + module.getModuleId() + " of study program "
+                        + module.getStudyProgramId() + " is contained more than once");
+            }
+            moduleIds.add(module.getModuleId());
+        }
+        for (StoredModule stored : moduleDetailsBulkRepository.findStoredByModuleIdIn(moduleIds)) {
+            storedByKey.computeIfAbsent(bulkKey(stored.moduleId(), stored.studyProgramId()), key -> new ArrayList<>()).add(stored);
+        }
+
+        List<ModuleDetails> inserts = new ArrayList<>();
+        Map<Integer, ModuleDetails> updates = new LinkedHashMap<>();
+        Set<Integer> matched = new HashSet<>();
+        int unchanged = 0;
+        for (ModuleDetails module : modules) {
+            StoredModule target = findBulkTarget(module, storedByKey.get(bulkKey(module.getModuleId(), module.getStudyProgramId())));
+            if (target == null) {
+                inserts.add(module);
+                continue;
+            }
+            if (!matched.add(target.id())) {
+                throw new IllegalArgumentException("Module " + module.getModuleId() + " of study program "
+                        + module.getStudyProgramId() + " is contained more than once");
+            }
+            if (target.hasContent(ModuleDetailsBulkRepository.hash(module))) {
+                unchanged++;
+            } else {
+                updates.put(target.id(), module);
+            }
+        }
+
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return new BulkUpsertResultDto(0, 0, unchanged, catalogVersionService.getVersion());
+        }
+        List<Integer> changedIds = new ArrayList<>(moduleDetailsBulkRepository.insertAll(inserts));
+        moduleDetailsBulkRepository.updateAll(updates);
+        changedIds.addAll(updates.keySet());
+
+        long version = catalogVersionService.bump();
+        catalogChangeService.recordUpserts(changedIds, version);
+        return new BulkUpsertResultDto(inserts.size(), updates.size(), unchanged, version);
+    }
+
+    private static String bulkKey(String moduleId, Integer studyProgramId) {
+        return moduleId + '|' + studyProgramId;
+    }
+
+    /**
+     * A module can be listed under several categories of one curriculum, in that case the row with the same category is updated
+     */
+    private static StoredModule findBulkTarget(ModuleDetails module, List<StoredModule> candidates) {
+        if (candidates == null) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        for (StoredModule candidate : candidates) {
+            if (Objects.equals(candidate.category(), module.getCategory())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Delete module details, returns false without recording a change if the module does not exist
      */
-    public void deleteModuleDetails(Integer id) {
+    @Transactional
+    public boolean deleteModuleDetails(Integer id) {
+        if (!moduleDetailsRepository.existsById(id)) {
+            return false;
+        }
         moduleDetailsRepository.deleteById(id);
+        catalogChangeService.recordDelete(id, catalogVersionService.bump());
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSuggestionDto;
+import com.stratton_oakmont.program_catalog_service.dto.SimilarModuleDto;
+import com.stratton_oakmont.program_catalog_service.snapshot.CatalogSnapshot;
+import com.stratton_oakmont.program_catalog_service.snapshot.CatalogSnapshotService;
+import com.stratton_oakmont.program_catalog_service.snapshot.ProgramIndex;
+import com.stratton_oakmont.program_catalog_service.snapshot.SimilarityIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Search endpoints served from the in-memory catalog snapshot, no database access on the request path
+ */
+@Service
+public class ModuleSearchService {
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Value("${catalog.search.fuzzy.max-work:4000}")
+    private int fuzzyMaxWork;
+
+    /**
+     * Get typeahead suggestions for a study program
+     */
+    public List<ModuleSuggestionDto> suggestModules(Integer studyProgramId, String query, int limit) {
+        ProgramIndex program = catalogSnapshotService.getSnapshot().getProgram(studyProgramId);
+        if (program == null || limit <= 0) {
+            return List.of();
+        }
+        return program.suggest(query, Math.min(limit, catalogSnapshotService.getSuggestK()));
+    }
+
+    /**
+     * Typo tolerant search within a study program, ranked by matched words, edit distance and field weight
+     */
+    public List<ModuleListItemDto> fuzzySearchModules(Integer studyProgramId, String query, int limit) {
+        ProgramIndex program = catalogSnapshotService.getSnapshot().getProgram(studyProgramId);
+        if (program == null) {
+            return List.of();
+        }
+        return program.fuzzySearch(query, limit, fuzzyMaxWork);
+    }
+
+    /**
+     * Get the modules with the most similar content and learning outcomes, empty if the module is unknown
+     */
+    public Optional<List<SimilarModuleDto>> findSimilarModules(String moduleId, Integer studyProgramId, int limit) {
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        SimilarityIndex similarityIndex = snapshot.getSimilarityIndex();
+        if (!similarityIndex.contains(moduleId)) {
+            return Optional.empty();
+        }
+        return Optional.of(similarityIndex.findSimilar(moduleId, limit,
+                candidate -> studyProgramId == null || snapshot.isInStudyProgram(candidate, studyProgramId)));
+    }
+}
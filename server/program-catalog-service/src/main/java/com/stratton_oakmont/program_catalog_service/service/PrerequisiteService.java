@@ -0,0 +1,60 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+import com.stratton_oakmont.program_catalog_service.dto.PrerequisiteDto;
+import com.stratton_oakmont.program_catalog_service.dto.TopologicalOrderDto;
+import com.stratton_oakmont.program_catalog_service.snapshot.CatalogSnapshotService;
+import com.stratton_oakmont.program_catalog_service.snapshot.PrerequisiteGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Prerequisite lookups over the graphs of the catalog snapshot, parsed once per catalog version
+ */
+@Service
+public class PrerequisiteService {
+
+    // Curricula are a few semesters deep, anything longer is a parsing artefact
+    private static final int MAX_DEPTH = 10;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    /**
+     * Get the prerequisites of a module, empty if the module is not in the graph
+     */
+    public Optional<List<PrerequisiteDto>> getPrerequisites(String moduleId, Integer studyProgramId, int depth) {
+        return graphContaining(moduleId, studyProgramId)
+                .map(graph -> graph.getPrerequisites(moduleId, clampDepth(depth)));
+    }
+
+    /**
+     * Get the modules requiring a module, empty if the module is not in the graph
+     */
+    public Optional<List<PrerequisiteDto>> getDependents(String moduleId, Integer studyProgramId, int depth) {
+        return graphContaining(moduleId, studyProgramId)
+                .map(graph -> graph.getDependents(moduleId, clampDepth(depth)));
+    }
+
+    /**
+     * Order modules so prerequisites come first
+     */
+    public TopologicalOrderDto getTopologicalOrder(List<String> moduleIds, Integer studyProgramId) {
+        PrerequisiteGraph graph = catalogSnapshotService.getSnapshot().getPrerequisiteGraph(studyProgramId);
+        if (graph == null) {
+            return new TopologicalOrderDto(List.copyOf(moduleIds), List.of());
+        }
+        return graph.topologicalOrder(moduleIds);
+    }
+
+    private Optional<PrerequisiteGraph> graphContaining(String moduleId, Integer studyProgramId) {
+        PrerequisiteGraph graph = catalogSnapshotService.getSnapshot().getPrerequisiteGraph(studyProgramId);
+        return graph != null && graph.contains(moduleId) ? Optional.of(graph) : Optional.empty();
+    }
+
+    private static int clampDepth(int depth) {
+        return Math.max(1, Math.min(depth, MAX_DEPTH));
+    }
+}
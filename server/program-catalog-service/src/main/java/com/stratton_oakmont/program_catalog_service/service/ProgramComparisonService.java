@@ -0,0 +1,37 @@
+package com.stratton_oakmont.program_catalog_service.service;
+
+import com.stratton_oakmont.program_catalog_service.dto.ProgramComparisonDto;
+import com.stratton_oakmont.program_catalog_service.dto.ProgramSimilarityDto;
+import com.stratton_oakmont.program_catalog_service.snapshot.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Module overlap between study programs, from the program bitsets of the catalog snapshot
+ */
+@Service
+public class ProgramComparisonService {
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    /**
+     * Compare the modules of two study programs, empty if either program has no modules
+     */
+    public Optional<ProgramComparisonDto> compare(Integer studyProgramIdA, Integer studyProgramIdB) {
+        return Optional.ofNullable(catalogSnapshotService.getSnapshot().getProgramOverlap().compare(studyProgramIdA, studyProgramIdB));
+    }
+
+    /**
+     * Get the most similar pairs of study programs
+     */
+    public List<ProgramSimilarityDto> getSimilarPrograms(double minSimilarity, int limit) {
+        return catalogSnapshotService.getSnapshot().getProgramOverlap().getSimilarities().stream()
+                .takeWhile(pair -> pair.getSimilarity() >= minSimilarity)
+                .limit(limit)
+                .toList();
+    }
+}
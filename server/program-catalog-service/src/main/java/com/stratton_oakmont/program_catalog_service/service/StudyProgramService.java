@@ -1,7 +1,9 @@
 package com.stratton_oakmont.program_catalog_service.service;
 
+import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
 import com.stratton_oakmont.program_catalog_service.model.StudyProgram;
 import com.stratton_oakmont.program_catalog_service.repository.StudyProgramRepository;
+import com.stratton_oakmont.program_catalog_service.snapshot.CatalogSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,10 +14,12 @@ import java.util.Optional;
 public class StudyProgramService {
     
     private final StudyProgramRepository studyProgramRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
     
     @Autowired
-    public StudyProgramService(StudyProgramRepository studyProgramRepository) {
+    public StudyProgramService(StudyProgramRepository studyProgramRepository, CatalogSnapshotService catalogSnapshotService) {
         this.studyProgramRepository = studyProgramRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
     
     public List<StudyProgram> getAllStudyPrograms() {
@@ -41,4 +45,16 @@ public class StudyProgramService {
     public List<StudyProgram> getStudyProgramsByFieldOfStudies(String fieldOfStudies) {
         return studyProgramRepository.findByFieldOfStudies(fieldOfStudies);
     }
+    
+    /**
+     * Search the program directory of the catalog snapshot, best match first
+     */
+    public List<StudyProgramDto> searchStudyPrograms(String query, String degree, String curriculum,
+                                                     String fieldOfStudies, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return catalogSnapshotService.getSnapshot().getProgramDirectory()
+                .search(query, degree, curriculum, fieldOfStudies, limit);
+    }
 }
@@ -0,0 +1,200 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable BK-tree over a term dictionary for Levenshtein lookups. The triangle inequality lets a
+ * query skip every child whose edge distance is outside [d - maxDistance, d + maxDistance], so only
+ * a fraction of the dictionary is compared. Every comparison counts against the caller's budget.
+ */
+public final class BkTree {
+
+    private final String[] terms;
+    // Children of node i: childStart[i] until childStart[i + 1] in childDistances / childNodes
+    private final int[] childStart;
+    private final int[] childDistances;
+    private final int[] childNodes;
+    private final int[] maxChildDistance;
+
+    private BkTree(String[] terms, int[] childStart, int[] childDistances, int[] childNodes, int[] maxChildDistance) {
+        this.terms = terms;
+        this.childStart = childStart;
+        this.childDistances = childDistances;
+        this.childNodes = childNodes;
+        this.maxChildDistance = maxChildDistance;
+    }
+
+    public static BkTree build(List<String> dictionary) {
+        List<String> terms = new ArrayList<>();
+        List<int[]> children = new ArrayList<>();
+        List<int[]> distances = new ArrayList<>();
+        for (String term : dictionary) {
+            if (terms.isEmpty()) {
+                terms.add(term);
+                children.add(new int[0]);
+                distances.add(new int[0]);
+                continue;
+            }
+            int node = 0;
+            while (true) {
+                int distance = distance(term, terms.get(node));
+                if (distance == 0) {
+                    break;
+                }
+                int child = indexOf(distances.get(node), distance);
+                if (child >= 0) {
+                    node = children.get(node)[child];
+                    continue;
+                }
+                terms.add(term);
+                children.add(new int[0]);
+                distances.add(new int[0]);
+                children.set(node, append(children.get(node), terms.size() - 1));
+                distances.set(node, append(distances.get(node), distance));
+                break;
+            }
+        }
+
+        // Flatten into arrays, the tree is read-only from here on
+        int[] childStart = new int[terms.size() + 1];
+        for (int i = 0; i < terms.size(); i++) {
+            childStart[i + 1] = childStart[i] + children.get(i).length;
+        }
+        int[] childDistances = new int[childStart[terms.size()]];
+        int[] childNodes = new int[childStart[terms.size()]];
+        int[] maxChildDistance = new int[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            System.arraycopy(distances.get(i), 0, childDistances, childStart[i], distances.get(i).length);
+            System.arraycopy(children.get(i), 0, childNodes, childStart[i], children.get(i).length);
+            for (int distance : distances.get(i)) {
+                maxChildDistance[i] = Math.max(maxChildDistance[i], distance);
+            }
+        }
+        return new BkTree(terms.toArray(new String[0]), childStart, childDistances, childNodes, maxChildDistance);
+    }
+
+    /**
+     * Terms within maxDistance of the query, stops early once the budget is used up
+     */
+    public List<Match> search(String query, int maxDistance, Budget budget) {
+        List<Match> matches = new ArrayList<>();
+        if (terms.length == 0) {
+            return matches;
+        }
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = 0;
+        // Distance rows reused across the comparisons of this query
+        int[][] rows = new int[2][];
+        while (size > 0 && budget.take()) {
+            int node = stack[--size];
+            // Beyond this limit the term cannot match and every child is pruned, so the exact distance is not needed
+            int distance = distance(query, terms[node], rows, maxDistance + maxChildDistance[node]);
+            if (distance <= maxDistance) {
+                matches.add(new Match(terms[node], distance));
+            }
+            for (int i = childStart[node]; i < childStart[node + 1]; i++) {
+                if (Math.abs(childDistances[i] - distance) <= maxDistance) {
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = childNodes[i];
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    static int distance(String a, String b) {
+        return distance(a, b, new int[2][], Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Levenshtein distance with a two row table, the rows are grown in place as needed.
+     * Returns limit + 1 as soon as the distance is known to exceed the limit.
+     */
+    private static int distance(String a, String b, int[][] rows, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        if (rows[0] == null || rows[0].length <= b.length()) {
+            rows[0] = new int[b.length() + 1];
+            rows[1] = new int[b.length() + 1];
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], limit + 1);
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    public record Match(String term, int distance) {
+    }
+
+    /**
+     * Number of term comparisons a single query may spend across all its lookups
+     */
+    public static final class Budget {
+
+        private int remaining;
+
+        public Budget(int remaining) {
+            this.remaining = remaining;
+        }
+
+        boolean take() {
+            if (remaining <= 0) {
+                return false;
+            }
+            remaining--;
+            return true;
+        }
+
+        public boolean isExhausted() {
+            return remaining <= 0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory view of the catalog at one catalog version, with the per-program indexes
+ * that back the search style endpoints. Built off the request path by {@link CatalogSnapshotService}.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final ProgramDirectory programDirectory;
+    private final Map<Integer, ProgramIndex> programs;
+    private final ProgramOverlapIndex programOverlap;
+    private final Map<Integer, PrerequisiteGraph> prerequisiteGraphs;
+    private final PrerequisiteGraph catalogPrerequisiteGraph;
+    private final SimilarityIndex similarityIndex;
+    private final Map<String, Set<Integer>> programsByModuleId;
+
+    private CatalogSnapshot(long version, ProgramDirectory programDirectory, Map<Integer, ProgramIndex> programs, ProgramOverlapIndex programOverlap,
+                            Map<Integer, PrerequisiteGraph> prerequisiteGraphs, PrerequisiteGraph catalogPrerequisiteGraph,
+                            SimilarityIndex similarityIndex, Map<String, Set<Integer>> programsByModuleId) {
+        this.version = version;
+        this.programDirectory = programDirectory;
+        this.programs = programs;
+        this.programOverlap = programOverlap;
+        this.prerequisiteGraphs = prerequisiteGraphs;
+        this.catalogPrerequisiteGraph = catalogPrerequisiteGraph;
+        this.similarityIndex = similarityIndex;
+        this.programsByModuleId = programsByModuleId;
+    }
+
+    static CatalogSnapshot build(long version, List<StudyProgramDto> studyPrograms, List<ModuleListItemDto> modules,
+                                 List<ModuleText> moduleTexts, int suggestK) {
+        // Static popularity: the number of curricula that list a module
+        Map<String, Set<Integer>> programsByModuleId = new HashMap<>();
+        for (ModuleListItemDto module : modules) {
+            if (module.getModuleId() != null) {
+                programsByModuleId.computeIfAbsent(module.getModuleId(), id -> new HashSet<>()).add(module.getStudyProgramId());
+            }
+        }
+        Comparator<ModuleListItemDto> byRank = Comparator
+                .comparingInt((ModuleListItemDto module) -> -popularity(programsByModuleId, module))
+                .thenComparingInt(module -> module.getName() != null ? module.getName().length() : Integer.MAX_VALUE)
+                .thenComparing(ModuleListItemDto::getId);
+
+        Map<Integer, List<ModuleListItemDto>> byProgram = new LinkedHashMap<>();
+        Map<Integer, Set<String>> seen = new HashMap<>();
+        for (ModuleListItemDto module : modules) {
+            // A module listed under several categories of one curriculum is one module to the user
+            String moduleId = module.getModuleId();
+            if (moduleId != null && !seen.computeIfAbsent(module.getStudyProgramId(), id -> new HashSet<>()).add(moduleId)) {
+                continue;
+            }
+            byProgram.computeIfAbsent(module.getStudyProgramId(), id -> new ArrayList<>()).add(module);
+        }
+
+        Map<Integer, ProgramIndex> programs = new HashMap<>();
+        byProgram.forEach((studyProgramId, programModules) -> {
+            programModules.sort(byRank);
+            programs.put(studyProgramId, new ProgramIndex(studyProgramId, List.copyOf(programModules), suggestK));
+        });
+        ProgramOverlapIndex programOverlap = ProgramOverlapIndex.build(programs, modules);
+
+        // Prerequisite graphs per curriculum and one over the whole catalog for lookups without a program
+        Map<String, String> catalogNames = new HashMap<>();
+        Map<Integer, List<ModuleText>> textsByProgram = new HashMap<>();
+        Map<String, ModuleText> textsByModuleId = new LinkedHashMap<>();
+        for (ModuleText text : moduleTexts) {
+            if (text.moduleId() != null) {
+                catalogNames.putIfAbsent(text.moduleId(), text.name());
+                textsByModuleId.putIfAbsent(text.moduleId(), text);
+            }
+            textsByProgram.computeIfAbsent(text.studyProgramId(), id -> new ArrayList<>()).add(text);
+        }
+        Map<Integer, PrerequisiteGraph> prerequisiteGraphs = new HashMap<>();
+        textsByProgram.forEach((studyProgramId, texts) ->
+                prerequisiteGraphs.put(studyProgramId, PrerequisiteGraph.build(texts, catalogNames)));
+        PrerequisiteGraph catalogPrerequisiteGraph = PrerequisiteGraph.build(new ArrayList<>(textsByModuleId.values()), catalogNames);
+        SimilarityIndex similarityIndex = SimilarityIndex.build(new ArrayList<>(textsByModuleId.values()));
+
+        return new CatalogSnapshot(version, new ProgramDirectory(studyPrograms), programs, programOverlap, prerequisiteGraphs, catalogPrerequisiteGraph,
+                similarityIndex, programsByModuleId);
+    }
+
+    private static int popularity(Map<String, Set<Integer>> programsByModuleId, ModuleListItemDto module) {
+        Set<Integer> programs = module.getModuleId() != null ? programsByModuleId.get(module.getModuleId()) : null;
+        return programs != null ? programs.size() : 0;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the searchable directory of all study programs
+     */
+    public ProgramDirectory getProgramDirectory() {
+        return programDirectory;
+    }
+
+    /**
+     * Get the prerequisite graph of a study program, or of the whole catalog if no program is given
+     */
+    public PrerequisiteGraph getPrerequisiteGraph(Integer studyProgramId) {
+        return studyProgramId == null ? catalogPrerequisiteGraph : prerequisiteGraphs.get(studyProgramId);
+    }
+
+    /**
+     * Get the module overlap of the study programs
+     */
+    public ProgramOverlapIndex getProgramOverlap() {
+        return programOverlap;
+    }
+
+    /**
+     * Get the content similarity index over all modules of the catalog
+     */
+    public SimilarityIndex getSimilarityIndex() {
+        return similarityIndex;
+    }
+
+    public boolean isInStudyProgram(String moduleId, Integer studyProgramId) {
+        Set<Integer> studyProgramIds = programsByModuleId.get(moduleId);
+        return studyProgramIds != null && studyProgramIds.contains(studyProgramId);
+    }
+
+    /**
+     * Get the index of a study program, null if the program has no modules
+     */
+    public ProgramIndex getProgram(Integer studyProgramId) {
+        return programs.get(studyProgramId);
+    }
+}
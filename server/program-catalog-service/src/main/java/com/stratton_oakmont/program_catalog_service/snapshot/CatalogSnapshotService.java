@@ -0,0 +1,138 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
+import com.stratton_oakmont.program_catalog_service.repository.ModuleDetailsRepository;
+import com.stratton_oakmont.program_catalog_service.repository.StudyProgramRepository;
+import com.stratton_oakmont.program_catalog_service.service.CatalogChangedEvent;
+import com.stratton_oakmont.program_catalog_service.service.CatalogVersionService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. It is built once the application is ready and rebuilt
+ * in the background whenever the catalog version advances, requests keep using the previous
+ * snapshot until the new one is swapped in.
+ *
+ * Every request that reads a snapshot gets its version as the {@link #SNAPSHOT_VERSION_ATTRIBUTE}
+ * request attribute, so responses built from a snapshot that lags the catalog version are not
+ * cached or validated under the newer version.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    public static final String SNAPSHOT_VERSION_ATTRIBUTE = CatalogSnapshotService.class.getName() + ".version";
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final ModuleDetailsRepository moduleDetailsRepository;
+    private final StudyProgramRepository studyProgramRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final int suggestK;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile CatalogSnapshot snapshot;
+
+    @Autowired
+    public CatalogSnapshotService(ModuleDetailsRepository moduleDetailsRepository, StudyProgramRepository studyProgramRepository,
+                                  CatalogVersionService catalogVersionService,
+                                  @Value("${catalog.snapshot.suggest-k:10}") int suggestK) {
+        this.moduleDetailsRepository = moduleDetailsRepository;
+        this.studyProgramRepository = studyProgramRepository;
+        this.catalogVersionService = catalogVersionService;
+        this.suggestK = suggestK;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the current snapshot, built on the calling thread if none was built yet
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot != null ? snapshot : rebuild();
+            }
+        }
+        recordVersion(current.getVersion());
+        return current;
+    }
+
+    public int getSuggestK() {
+        return suggestK;
+    }
+
+    // Keeps the oldest version a request has read, a rebuild may be swapped in between two reads
+    private static void recordVersion(long version) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object recorded = attributes.getAttribute(SNAPSHOT_VERSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(recorded instanceof Long previous) || version < previous) {
+            attributes.setAttribute(SNAPSHOT_VERSION_ATTRIBUTE, version, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    // Changes arriving while a rebuild is queued are covered by that rebuild
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    logger.warn("Failed to rebuild catalog snapshot: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private synchronized CatalogSnapshot rebuild() {
+        long start = System.nanoTime();
+        // Read the version first, a change during the load triggers another rebuild
+        long version = catalogVersionService.getVersion();
+        if (snapshot != null && snapshot.getVersion() >= version) {
+            return snapshot;
+        }
+        List<StudyProgramDto> studyPrograms = studyProgramRepository.findAllDtos();
+        List<ModuleListItemDto> modules = moduleDetailsRepository.findAllListItems();
+        List<ModuleText> moduleTexts = moduleDetailsRepository.findModuleTexts();
+        CatalogSnapshot built = CatalogSnapshot.build(version, studyPrograms, modules, moduleTexts, suggestK);
+        snapshot = built;
+        logger.info("Built catalog snapshot for version {} with {} modules in {} ms",
+                version, modules.size(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+}
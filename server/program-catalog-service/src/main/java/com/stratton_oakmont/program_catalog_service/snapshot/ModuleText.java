@@ -0,0 +1,8 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+/**
+ * Free text columns of a module the snapshot indexes, selected by ModuleDetailsRepository for the snapshot build
+ */
+public record ModuleText(Integer studyProgramId, String moduleId, String name, String prerequisitesRecommended,
+                         String intendedLearningOutcomes, String content) {
+}
@@ -0,0 +1,163 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable compressed prefix trie (radix tree) over normalized keys. Values are entry ranks,
+ * lower rank means more relevant. Every node keeps the best k ranks of its subtree, so a lookup
+ * is a walk over the characters of the prefix and never visits the subtree below it.
+ */
+public final class PrefixTrie {
+
+    private static final int[] NONE = new int[0];
+
+    private final Node root;
+    private final int k;
+
+    private PrefixTrie(Node root, int k) {
+        this.root = root;
+        this.k = k;
+    }
+
+    public static Builder builder(int k) {
+        return new Builder(k);
+    }
+
+    /**
+     * Best ranks of all keys starting with the prefix, at most k and at most limit
+     */
+    public int[] search(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            node = node.child(prefix.charAt(i));
+            if (node == null) {
+                return NONE;
+            }
+            // The prefix may end inside the edge label, every key below still matches
+            String label = node.label;
+            for (int j = 0; j < label.length() && i < prefix.length(); j++, i++) {
+                if (label.charAt(j) != prefix.charAt(i)) {
+                    return NONE;
+                }
+            }
+        }
+        int size = Math.min(limit, node.top.length);
+        return size == node.top.length ? node.top : Arrays.copyOf(node.top, size);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    private static final class Node {
+        private final String label;
+        private final char[] edges;
+        private final Node[] children;
+        private final int[] top;
+
+        private Node(String label, char[] edges, Node[] children, int[] top) {
+            this.label = label;
+            this.edges = edges;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(edges, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    /**
+     * Collects keys in a plain character trie, {@link #build()} compresses it
+     */
+    public static final class Builder {
+
+        private final int k;
+        private final BuildNode root = new BuildNode();
+
+        private Builder(int k) {
+            this.k = k;
+        }
+
+        public Builder add(String key, int rank) {
+            if (key == null || key.isEmpty()) {
+                return this;
+            }
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+            }
+            node.addRank(rank);
+            return this;
+        }
+
+        public PrefixTrie build() {
+            return new PrefixTrie(freeze(root, ""), k);
+        }
+
+        private Node freeze(BuildNode node, String label) {
+            // Collapse chains of single children without values into one edge label, the root keeps an empty label
+            StringBuilder path = new StringBuilder(label);
+            while (!label.isEmpty() && node.rankCount == 0 && node.children.size() == 1) {
+                Map.Entry<Character, BuildNode> only = node.children.entrySet().iterator().next();
+                path.append(only.getKey().charValue());
+                node = only.getValue();
+            }
+
+            char[] edges = new char[node.children.size()];
+            int i = 0;
+            for (char c : node.children.keySet()) {
+                edges[i++] = c;
+            }
+            Arrays.sort(edges);
+            Node[] children = new Node[edges.length];
+            int[] candidates = Arrays.copyOf(node.ranks, node.rankCount);
+            for (i = 0; i < edges.length; i++) {
+                children[i] = freeze(node.children.get(edges[i]), String.valueOf(edges[i]));
+                candidates = concat(candidates, children[i].top);
+            }
+            return new Node(path.toString(), edges, children, best(candidates));
+        }
+
+        // Distinct lowest ranks, a module reachable through several keys of the subtree counts once
+        private int[] best(int[] candidates) {
+            Arrays.sort(candidates);
+            int[] top = new int[Math.min(k, candidates.length)];
+            int size = 0;
+            for (int j = 0; j < candidates.length && size < top.length; j++) {
+                if (size == 0 || top[size - 1] != candidates[j]) {
+                    top[size++] = candidates[j];
+                }
+            }
+            return size == top.length ? top : Arrays.copyOf(top, size);
+        }
+
+        private static int[] concat(int[] a, int[] b) {
+            int[] result = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, result, a.length, b.length);
+            return result;
+        }
+    }
+
+    private static final class BuildNode {
+        private final Map<Character, BuildNode> children = new HashMap<>();
+        private int[] ranks = NONE;
+        private int rankCount;
+
+        private void addRank(int rank) {
+            for (int i = 0; i < rankCount; i++) {
+                if (ranks[i] == rank) {
+                    return;
+                }
+            }
+            if (rankCount == ranks.length) {
+                ranks = Arrays.copyOf(ranks, Math.max(2, ranks.length * 2));
+            }
+            ranks[rankCount++] = rank;
+        }
+    }
+}
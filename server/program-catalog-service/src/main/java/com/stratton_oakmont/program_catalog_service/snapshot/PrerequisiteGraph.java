@@ -0,0 +1,255 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.PrerequisiteDto;
+import com.stratton_oakmont.program_catalog_service.dto.TopologicalOrderDto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Directed prerequisite graph of one curriculum, parsed from the free text prerequisitesRecommended.
+ * Nodes are module IDs, including modules outside the curriculum that are mentioned as prerequisites.
+ * Edges are stored as compressed adjacency arrays in both directions (prerequisites and dependents).
+ */
+public final class PrerequisiteGraph {
+
+    // Module IDs as written in the catalog texts, e.g. "IN0006", "IN 2064" or "WI000233"
+    private static final Pattern MODULE_ID = Pattern.compile("\\b([A-Z]{2,4}) ?(\\d{3,6})\\b");
+    // Shorter names ("Logic", "Semantics") are too ambiguous to match in free text
+    private static final int MIN_NAME_LENGTH = 12;
+
+    private final String[] moduleIds;
+    private final String[] names;
+    private final boolean[] inStudyProgram;
+    private final Map<String, Integer> index;
+    private final Adjacency prerequisites;
+    private final Adjacency dependents;
+
+    private PrerequisiteGraph(String[] moduleIds, String[] names, boolean[] inStudyProgram, Map<String, Integer> index,
+                              Adjacency prerequisites, Adjacency dependents) {
+        this.moduleIds = moduleIds;
+        this.names = names;
+        this.inStudyProgram = inStudyProgram;
+        this.index = index;
+        this.prerequisites = prerequisites;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Parse the prerequisite texts of the modules of one curriculum
+     *
+     * @param catalogNames names of all modules in the catalog by module ID, used for modules outside the curriculum
+     */
+    static PrerequisiteGraph build(List<ModuleText> modules, Map<String, String> catalogNames) {
+        Map<String, Integer> index = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>();
+        for (ModuleText module : modules) {
+            if (module.moduleId() != null && index.putIfAbsent(module.moduleId(), index.size()) == null) {
+                names.add(module.name());
+            }
+        }
+        int programSize = index.size();
+
+        // Longest names first, so "Advanced Topics of Software Engineering" wins over "Software Engineering"
+        List<Map.Entry<String, String>> namePatterns = new ArrayList<>();
+        index.forEach((moduleId, node) -> {
+            String name = TextNormalizer.normalize(names.get(node));
+            if (name.length() >= MIN_NAME_LENGTH && name.indexOf(' ') > 0) {
+                namePatterns.add(Map.entry(" " + name + " ", moduleId));
+            }
+        });
+        namePatterns.sort(Comparator.comparingInt((Map.Entry<String, String> entry) -> entry.getKey().length()).reversed());
+
+        List<int[]> edges = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (ModuleText module : modules) {
+            if (module.moduleId() == null || module.prerequisitesRecommended() == null) {
+                continue;
+            }
+            int target = index.get(module.moduleId());
+            for (String prerequisite : parse(module.prerequisitesRecommended(), namePatterns)) {
+                if (prerequisite.equals(module.moduleId())) {
+                    continue;
+                }
+                Integer source = index.get(prerequisite);
+                if (source == null) {
+                    source = index.size();
+                    index.put(prerequisite, source);
+                    names.add(catalogNames.get(prerequisite));
+                }
+                // A module listed under several categories repeats its text
+                if (seen.add(((long) source << 32) | target)) {
+                    edges.add(new int[]{source, target});
+                }
+            }
+        }
+
+        int size = index.size();
+        boolean[] inStudyProgram = new boolean[size];
+        Arrays.fill(inStudyProgram, 0, programSize, true);
+        // prerequisites: target -> sources, dependents: source -> targets
+        Adjacency prerequisites = Adjacency.of(size, edges, 1, 0);
+        Adjacency dependents = Adjacency.of(size, edges, 0, 1);
+        return new PrerequisiteGraph(index.keySet().toArray(new String[0]), names.toArray(new String[0]),
+                inStudyProgram, Map.copyOf(index), prerequisites, dependents);
+    }
+
+    /**
+     * Module IDs mentioned in a prerequisite text, by ID or by full module name
+     */
+    static Set<String> parse(String text, List<Map.Entry<String, String>> namePatterns) {
+        Set<String> found = new LinkedHashSet<>();
+        Matcher matcher = MODULE_ID.matcher(text);
+        while (matcher.find()) {
+            found.add(matcher.group(1) + matcher.group(2));
+        }
+        String normalized = " " + TextNormalizer.normalize(text) + " ";
+        for (Map.Entry<String, String> pattern : namePatterns) {
+            int at = normalized.indexOf(pattern.getKey());
+            if (at >= 0) {
+                found.add(pattern.getValue());
+                // Blank the match so shorter names inside it do not match as well
+                normalized = normalized.substring(0, at + 1) + "|" + normalized.substring(at + pattern.getKey().length() - 1);
+            }
+        }
+        return found;
+    }
+
+    public boolean contains(String moduleId) {
+        return index.containsKey(moduleId);
+    }
+
+    /**
+     * Transitive prerequisites up to the given depth, nearest first
+     */
+    public List<PrerequisiteDto> getPrerequisites(String moduleId, int depth) {
+        return traverse(moduleId, depth, prerequisites);
+    }
+
+    /**
+     * Modules that (transitively) require the module, up to the given depth, nearest first
+     */
+    public List<PrerequisiteDto> getDependents(String moduleId, int depth) {
+        return traverse(moduleId, depth, dependents);
+    }
+
+    private List<PrerequisiteDto> traverse(String moduleId, int maxDepth, Adjacency adjacency) {
+        List<PrerequisiteDto> result = new ArrayList<>();
+        Integer start = index.get(moduleId);
+        if (start == null) {
+            return result;
+        }
+        int[] depth = new int[moduleIds.length];
+        Arrays.fill(depth, -1);
+        depth[start] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (depth[node] == maxDepth) {
+                continue;
+            }
+            for (int i = adjacency.start[node]; i < adjacency.start[node + 1]; i++) {
+                int next = adjacency.nodes[i];
+                if (depth[next] < 0) {
+                    depth[next] = depth[node] + 1;
+                    result.add(new PrerequisiteDto(moduleIds[next], names[next], depth[next], inStudyProgram[next]));
+                    queue.add(next);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Order the given modules so every module comes after the modules it (transitively) requires.
+     * Modules without an order between them keep the order they were given in.
+     */
+    public TopologicalOrderDto topologicalOrder(List<String> requested) {
+        List<String> members = new ArrayList<>(new LinkedHashSet<>(requested));
+        Map<String, Integer> position = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            position.put(members.get(i), i);
+        }
+
+        // Edge a -> b if a is reachable from b over prerequisites, also through modules outside the set
+        List<List<Integer>> after = new ArrayList<>();
+        int[] inDegree = new int[members.size()];
+        for (int i = 0; i < members.size(); i++) {
+            after.add(new ArrayList<>());
+        }
+        for (int b = 0; b < members.size(); b++) {
+            for (PrerequisiteDto prerequisite : getPrerequisites(members.get(b), Integer.MAX_VALUE)) {
+                Integer a = position.get(prerequisite.getModuleId());
+                if (a != null && a != b) {
+                    after.get(a).add(b);
+                    inDegree[b]++;
+                }
+            }
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (inDegree[i] == 0) {
+                ready.add(i);
+            }
+        }
+        List<String> order = new ArrayList<>();
+        boolean[] done = new boolean[members.size()];
+        while (!ready.isEmpty()) {
+            int next = ready.poll();
+            done[next] = true;
+            order.add(members.get(next));
+            for (int b : after.get(next)) {
+                if (--inDegree[b] == 0) {
+                    ready.add(b);
+                }
+            }
+        }
+        List<String> cyclic = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (!done[i]) {
+                cyclic.add(members.get(i));
+            }
+        }
+        return new TopologicalOrderDto(order, cyclic);
+    }
+
+    public int getEdgeCount() {
+        return prerequisites.nodes.length;
+    }
+
+    /**
+     * Compressed sparse rows: the neighbours of node i are nodes[start[i]] until nodes[start[i + 1]]
+     */
+    private record Adjacency(int[] start, int[] nodes) {
+
+        static Adjacency of(int size, List<int[]> edges, int from, int to) {
+            int[] start = new int[size + 1];
+            for (int[] edge : edges) {
+                start[edge[from] + 1]++;
+            }
+            for (int i = 0; i < size; i++) {
+                start[i + 1] += start[i];
+            }
+            int[] fill = Arrays.copyOf(start, size);
+            int[] nodes = new int[edges.size()];
+            for (int[] edge : edges) {
+                nodes[fill[edge[from]]++] = edge[to];
+            }
+            return new Adjacency(start, nodes);
+        }
+    }
+}
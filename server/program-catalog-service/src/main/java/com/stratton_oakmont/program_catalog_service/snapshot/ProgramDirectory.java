@@ -0,0 +1,171 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Study programs with a token index per searchable field (degree, curriculum, field of studies).
+ * Every query word must match a word of the field, ranked exact over prefix over substring matches.
+ * Results are cached per query, the directory is replaced with every snapshot so the cache never
+ * outlives the data it was computed from.
+ */
+public final class ProgramDirectory {
+
+    private static final int DEGREE = 0;
+    private static final int CURRICULUM = 1;
+    private static final int FIELDS = 3;
+    // Criterion matching any field
+    private static final int ANY_FIELD = -1;
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int SUBSTRING_SCORE = 1;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int MAX_CACHED_QUERIES = 512;
+
+    private final List<StudyProgramDto> programs;
+    // Per field: the distinct words in sorted order and the programs containing each word
+    private final String[][] terms;
+    private final int[][][] postings;
+    private final Map<String, List<StudyProgramDto>> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<StudyProgramDto>> eldest) {
+                    return size() > MAX_CACHED_QUERIES;
+                }
+            });
+
+    ProgramDirectory(List<StudyProgramDto> programs) {
+        // Shorter curriculum names first among equal scores, "Informatics" before "Informatics: Games Engineering"
+        List<StudyProgramDto> ordered = new ArrayList<>(programs);
+        ordered.sort(Comparator.comparingInt((StudyProgramDto program) -> length(program.getCurriculum()))
+                .thenComparing(StudyProgramDto::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        this.programs = List.copyOf(ordered);
+        this.terms = new String[FIELDS][];
+        this.postings = new int[FIELDS][][];
+        for (int field = 0; field < FIELDS; field++) {
+            TreeMap<String, List<Integer>> index = new TreeMap<>();
+            for (int i = 0; i < this.programs.size(); i++) {
+                for (String token : TextNormalizer.tokens(value(this.programs.get(i), field))) {
+                    List<Integer> programIndexes = index.computeIfAbsent(token, t -> new ArrayList<>());
+                    if (programIndexes.isEmpty() || programIndexes.get(programIndexes.size() - 1) != i) {
+                        programIndexes.add(i);
+                    }
+                }
+            }
+            terms[field] = index.keySet().toArray(new String[0]);
+            postings[field] = index.values().stream()
+                    .map(programIndexes -> programIndexes.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+        }
+    }
+
+    public List<StudyProgramDto> getPrograms() {
+        return programs;
+    }
+
+    /**
+     * Programs matching every given criterion, best match first. Blank criteria are ignored.
+     *
+     * @param query matched against all fields
+     */
+    public List<StudyProgramDto> search(String query, String degree, String curriculum, String fieldOfStudies, int limit) {
+        String[] criteria = {
+            TextNormalizer.normalize(query), TextNormalizer.normalize(degree),
+            TextNormalizer.normalize(curriculum), TextNormalizer.normalize(fieldOfStudies)
+        };
+        if (Arrays.stream(criteria).allMatch(String::isEmpty)) {
+            return programs.subList(0, Math.min(limit, programs.size()));
+        }
+        String key = String.join("|", criteria) + "|" + limit;
+        List<StudyProgramDto> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int[] scores = new int[programs.size()];
+        boolean first = true;
+        for (int criterion = 0; criterion < criteria.length; criterion++) {
+            // Criterion 0 is the free text query, the others map to DEGREE, CURRICULUM and FIELD_OF_STUDIES
+            int field = criterion == 0 ? ANY_FIELD : criterion - 1;
+            List<String> tokens = TextNormalizer.tokens(criteria[criterion]);
+            for (String token : tokens.subList(0, Math.min(tokens.size(), MAX_QUERY_TOKENS))) {
+                int[] tokenScores = new int[programs.size()];
+                if (field == ANY_FIELD) {
+                    for (int f = 0; f < FIELDS; f++) {
+                        score(f, token, tokenScores);
+                    }
+                } else {
+                    score(field, token, tokenScores);
+                }
+                // Every word has to match, a program missing one drops out
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = (first || scores[i] > 0) && tokenScores[i] > 0 ? scores[i] + tokenScores[i] : 0;
+                }
+                first = false;
+            }
+        }
+
+        Integer[] matches = new Integer[programs.size()];
+        int count = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0) {
+                matches[count++] = i;
+            }
+        }
+        // Ties keep the directory order
+        Arrays.sort(matches, 0, count, Comparator.comparingInt((Integer i) -> -scores[i]).thenComparingInt(i -> i));
+        List<StudyProgramDto> result = new ArrayList<>(Math.min(count, limit));
+        for (int i = 0; i < count && result.size() < limit; i++) {
+            result.add(programs.get(matches[i]));
+        }
+        List<StudyProgramDto> unmodifiable = Collections.unmodifiableList(result);
+        cache.put(key, unmodifiable);
+        return unmodifiable;
+    }
+
+    // Best score of the token per program within one field
+    private void score(int field, String token, int[] tokenScores) {
+        String[] fieldTerms = terms[field];
+        int from = Arrays.binarySearch(fieldTerms, token);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        // Sorted terms: every term starting with the token follows the insertion point
+        for (int t = from; t < fieldTerms.length && fieldTerms[t].startsWith(token); t++) {
+            apply(postings[field][t], fieldTerms[t].length() == token.length() ? EXACT_SCORE : PREFIX_SCORE, tokenScores);
+        }
+        // The term list is a few hundred words, a scan is cheaper than a substring index
+        for (int t = 0; t < fieldTerms.length; t++) {
+            if (!fieldTerms[t].startsWith(token) && fieldTerms[t].contains(token)) {
+                apply(postings[field][t], SUBSTRING_SCORE, tokenScores);
+            }
+        }
+    }
+
+    private static void apply(int[] programIndexes, int score, int[] tokenScores) {
+        for (int i : programIndexes) {
+            tokenScores[i] = Math.max(tokenScores[i], score);
+        }
+    }
+
+    private static String value(StudyProgramDto program, int field) {
+        return switch (field) {
+            case DEGREE -> program.getDegree();
+            case CURRICULUM -> program.getCurriculum();
+            default -> program.getFieldOfStudies();
+        };
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : Integer.MAX_VALUE;
+    }
+}
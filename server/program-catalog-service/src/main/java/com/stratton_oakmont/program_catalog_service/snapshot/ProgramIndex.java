@@ -0,0 +1,188 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modules of one study program in rank order (most popular first) with the indexes over them.
+ * Indexes refer to modules by rank, i.e. by position in {@link #getModules()}.
+ */
+public final class ProgramIndex {
+
+    private final Integer studyProgramId;
+    private final List<ModuleListItemDto> modules;
+    private final ModuleSuggestionDto[] suggestions;
+    private final PrefixTrie suggestTrie;
+    private final BkTree fuzzyTree;
+    // Term -> pairs of (rank, field weight)
+    private final Map<String, int[]> postings;
+
+    // Field weights for fuzzy search, a close match in the name beats an exact match of the responsible
+    private static final int NAME_WEIGHT = 3;
+    private static final int MODULE_ID_WEIGHT = 3;
+    private static final int ABBREVIATION_WEIGHT = 2;
+    private static final int RESPONSIBLE_WEIGHT = 1;
+    private static final int MAX_QUERY_TOKENS = 6;
+
+    ProgramIndex(Integer studyProgramId, List<ModuleListItemDto> modules, int suggestK) {
+        this.studyProgramId = studyProgramId;
+        this.modules = modules;
+        this.suggestions = new ModuleSuggestionDto[modules.size()];
+
+        PrefixTrie.Builder trie = PrefixTrie.builder(suggestK);
+        Map<String, Map<Integer, Integer>> terms = new HashMap<>();
+        for (int rank = 0; rank < modules.size(); rank++) {
+            ModuleListItemDto module = modules.get(rank);
+            suggestions[rank] = new ModuleSuggestionDto(module.getId(), module.getModuleId(), module.getName(),
+                    module.getAbbreviation(), module.getCredits(), module.getCategory());
+
+            // Every word start of the name, so "learn" finds "Machine Learning"
+            List<String> words = TextNormalizer.tokens(module.getName());
+            for (int i = 0; i < words.size(); i++) {
+                trie.add(String.join(" ", words.subList(i, words.size())), rank);
+            }
+            trie.add(TextNormalizer.normalize(module.getModuleId()).replace(" ", ""), rank);
+            trie.add(TextNormalizer.normalize(module.getAbbreviation()), rank);
+
+            for (String word : words) {
+                addTerm(terms, word, rank, NAME_WEIGHT);
+            }
+            addTerm(terms, TextNormalizer.normalize(module.getModuleId()).replace(" ", ""), rank, MODULE_ID_WEIGHT);
+            for (String word : TextNormalizer.tokens(module.getAbbreviation())) {
+                addTerm(terms, word, rank, ABBREVIATION_WEIGHT);
+            }
+            for (String word : TextNormalizer.tokens(module.getResponsible())) {
+                addTerm(terms, word, rank, RESPONSIBLE_WEIGHT);
+            }
+        }
+        this.suggestTrie = trie.build();
+
+        this.postings = new HashMap<>(terms.size() * 2);
+        terms.forEach((term, weights) -> {
+            int[] pairs = new int[weights.size() * 2];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> weight : weights.entrySet()) {
+                pairs[i++] = weight.getKey();
+                pairs[i++] = weight.getValue();
+            }
+            postings.put(term, pairs);
+        });
+        // Sorted so the tree shape does not depend on hash order
+        List<String> dictionary = new ArrayList<>(terms.keySet());
+        dictionary.sort(Comparator.naturalOrder());
+        this.fuzzyTree = BkTree.build(dictionary);
+    }
+
+    private static void addTerm(Map<String, Map<Integer, Integer>> terms, String term, int rank, int weight) {
+        // Single characters and stop-word sized terms would match nearly everything once typos are allowed
+        if (term.length() < 2) {
+            return;
+        }
+        terms.computeIfAbsent(term, t -> new HashMap<>()).merge(rank, weight, Math::max);
+    }
+
+    public Integer getStudyProgramId() {
+        return studyProgramId;
+    }
+
+    public List<ModuleListItemDto> getModules() {
+        return modules;
+    }
+
+    ModuleSuggestionDto getSuggestion(int rank) {
+        return suggestions[rank];
+    }
+
+    /**
+     * Most popular modules whose name, module ID or abbreviation has a word starting with the query
+     */
+    public List<ModuleSuggestionDto> suggest(String query, int limit) {
+        String prefix = TextNormalizer.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int[] ranks = suggestTrie.search(prefix, limit);
+        if (ranks.length == 0 && prefix.indexOf(' ') > 0) {
+            // Module IDs are indexed without separators, "IN 2064" should still find IN2064
+            ranks = suggestTrie.search(prefix.replace(" ", ""), limit);
+        }
+        List<ModuleSuggestionDto> result = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            result.add(suggestions[rank]);
+        }
+        return result;
+    }
+
+    /**
+     * Typo tolerant search over name, module ID, abbreviation and responsible. Every query word matches
+     * terms within an edit distance that grows with its length, modules matching more words come first,
+     * then by the sum of field weight / (1 + edit distance) of their best match per word.
+     */
+    public List<ModuleListItemDto> fuzzySearch(String query, int limit, int maxWork) {
+        Set<String> words = new LinkedHashSet<>(TextNormalizer.tokens(query));
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int size = modules.size();
+        float[] scores = new float[size];
+        int[] matchedWords = new int[size];
+        float[] wordScores = new float[size];
+        BkTree.Budget budget = new BkTree.Budget(maxWork);
+
+        int searched = 0;
+        for (String word : words) {
+            if (searched++ == MAX_QUERY_TOKENS || budget.isExhausted()) {
+                break;
+            }
+            Arrays.fill(wordScores, 0f);
+            for (BkTree.Match match : fuzzyTree.search(word, maxDistance(word), budget)) {
+                int[] pairs = postings.get(match.term());
+                for (int i = 0; i < pairs.length; i += 2) {
+                    float score = pairs[i + 1] / (1f + match.distance());
+                    if (score > wordScores[pairs[i]]) {
+                        wordScores[pairs[i]] = score;
+                    }
+                }
+            }
+            for (int rank = 0; rank < size; rank++) {
+                if (wordScores[rank] > 0) {
+                    scores[rank] += wordScores[rank];
+                    matchedWords[rank]++;
+                }
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int rank = 0; rank < size; rank++) {
+            if (matchedWords[rank] > 0) {
+                hits.add(rank);
+            }
+        }
+        hits.sort(Comparator.<Integer>comparingInt(rank -> -matchedWords[rank])
+                .thenComparing(rank -> -scores[rank])
+                .thenComparingInt(rank -> rank));
+
+        List<ModuleListItemDto> result = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            result.add(modules.get(hits.get(i)));
+        }
+        return result;
+    }
+
+    // Short words must match exactly, otherwise "ml" would match every two letter term
+    private static int maxDistance(String word) {
+        if (word.length() <= 3) {
+            return 0;
+        }
+        return word.length() <= 6 ? 1 : 2;
+    }
+}
@@ -0,0 +1,211 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.CategoryOverlapDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSuggestionDto;
+import com.stratton_oakmont.program_catalog_service.dto.ProgramComparisonDto;
+import com.stratton_oakmont.program_catalog_service.dto.ProgramSimilarityDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Module sets of all study programs as bitsets over one catalog wide dictionary of module IDs, so
+ * the overlap of two programs is a word-wise AND and a popcount instead of a join.
+ */
+public final class ProgramOverlapIndex {
+
+    private final Map<Integer, ProgramBits> programs;
+    private final Integer[] studyProgramIds;
+    // All pairs are computed on first use, at most once per snapshot
+    private volatile List<ProgramSimilarityDto> similarities;
+
+    private ProgramOverlapIndex(Map<Integer, ProgramBits> programs) {
+        this.programs = programs;
+        this.studyProgramIds = programs.keySet().stream().sorted().toArray(Integer[]::new);
+    }
+
+    /**
+     * @param modules all modules of the catalog, a module listed under several categories counts in each
+     */
+    static ProgramOverlapIndex build(Map<Integer, ProgramIndex> programIndexes, List<ModuleListItemDto> modules) {
+        // Sorted, so bit positions do not depend on load order
+        TreeSet<String> moduleIds = new TreeSet<>();
+        programIndexes.values().forEach(program -> program.getModules().forEach(module -> {
+            if (module.getModuleId() != null) {
+                moduleIds.add(module.getModuleId());
+            }
+        }));
+        Map<String, Integer> dictionary = new HashMap<>(moduleIds.size() * 2);
+        for (String moduleId : moduleIds) {
+            dictionary.put(moduleId, dictionary.size());
+        }
+        int words = (dictionary.size() + 63) / 64;
+
+        Map<Integer, Map<String, long[]>> categories = new HashMap<>();
+        for (ModuleListItemDto module : modules) {
+            Integer bit = module.getModuleId() != null ? dictionary.get(module.getModuleId()) : null;
+            if (bit != null) {
+                String category = module.getCategory() != null ? module.getCategory() : "";
+                long[] bits = categories.computeIfAbsent(module.getStudyProgramId(), id -> new LinkedHashMap<>())
+                        .computeIfAbsent(category, c -> new long[words]);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        Map<Integer, ProgramBits> programs = new HashMap<>();
+        programIndexes.forEach((studyProgramId, program) -> {
+            List<ModuleSuggestionDto> members = new ArrayList<>();
+            List<Integer> bits = new ArrayList<>();
+            for (int rank = 0; rank < program.getModules().size(); rank++) {
+                String moduleId = program.getModules().get(rank).getModuleId();
+                if (moduleId != null) {
+                    bits.add(dictionary.get(moduleId));
+                    members.add(program.getSuggestion(rank));
+                }
+            }
+            // Members ordered by bit, so a bit is found by binary search
+            Integer[] order = IntStream.range(0, bits.size()).boxed().sorted(Comparator.comparing(bits::get)).toArray(Integer[]::new);
+            int[] sortedBits = new int[order.length];
+            ModuleSuggestionDto[] sortedMembers = new ModuleSuggestionDto[order.length];
+            long[] set = new long[words];
+            for (int i = 0; i < order.length; i++) {
+                sortedBits[i] = bits.get(order[i]);
+                sortedMembers[i] = members.get(order[i]);
+                set[sortedBits[i] >>> 6] |= 1L << sortedBits[i];
+            }
+            programs.put(studyProgramId, new ProgramBits(set, sortedBits, sortedMembers,
+                    categories.getOrDefault(studyProgramId, Map.of())));
+        });
+        return new ProgramOverlapIndex(programs);
+    }
+
+    public boolean contains(Integer studyProgramId) {
+        return programs.containsKey(studyProgramId);
+    }
+
+    /**
+     * Shared and unique modules of two programs, null if either program has no modules
+     */
+    public ProgramComparisonDto compare(Integer studyProgramIdA, Integer studyProgramIdB) {
+        ProgramBits a = programs.get(studyProgramIdA);
+        ProgramBits b = programs.get(studyProgramIdB);
+        if (a == null || b == null) {
+            return null;
+        }
+        long[] shared = new long[a.set().length];
+        long[] onlyA = new long[a.set().length];
+        long[] onlyB = new long[a.set().length];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = a.set()[i] & b.set()[i];
+            onlyA[i] = a.set()[i] & ~b.set()[i];
+            onlyB[i] = b.set()[i] & ~a.set()[i];
+        }
+
+        ProgramComparisonDto comparison = new ProgramComparisonDto();
+        comparison.setStudyProgramIdA(studyProgramIdA);
+        comparison.setStudyProgramIdB(studyProgramIdB);
+        List<ModuleSuggestionDto> sharedModules = a.members(shared);
+        comparison.setSharedModules(sharedModules);
+        comparison.setOnlyInA(a.members(onlyA));
+        comparison.setOnlyInB(b.members(onlyB));
+        comparison.setSimilarity(jaccard(sharedModules.size(), a.size(), b.size()));
+        comparison.setSharedCredits(sharedModules.stream()
+                .mapToInt(module -> module.getCredits() != null ? module.getCredits() : 0)
+                .sum());
+        comparison.setCategoriesA(a.categoryOverlap(b.set()));
+        comparison.setCategoriesB(b.categoryOverlap(a.set()));
+        return comparison;
+    }
+
+    /**
+     * Every pair of programs sharing at least one module, most similar first
+     */
+    public List<ProgramSimilarityDto> getSimilarities() {
+        List<ProgramSimilarityDto> result = similarities;
+        if (result == null) {
+            // One task per program, comparing it with every program after it
+            result = IntStream.range(0, studyProgramIds.length).parallel()
+                    .mapToObj(this::similaritiesFrom)
+                    .flatMap(List::stream)
+                    .sorted(Comparator.comparing(ProgramSimilarityDto::getSimilarity).reversed()
+                            .thenComparing(ProgramSimilarityDto::getStudyProgramIdA)
+                            .thenComparing(ProgramSimilarityDto::getStudyProgramIdB))
+                    .toList();
+            similarities = result;
+        }
+        return result;
+    }
+
+    private List<ProgramSimilarityDto> similaritiesFrom(int i) {
+        List<ProgramSimilarityDto> result = new ArrayList<>();
+        ProgramBits a = programs.get(studyProgramIds[i]);
+        for (int j = i + 1; j < studyProgramIds.length; j++) {
+            ProgramBits b = programs.get(studyProgramIds[j]);
+            int shared = 0;
+            for (int w = 0; w < a.set().length; w++) {
+                shared += Long.bitCount(a.set()[w] & b.set()[w]);
+            }
+            if (shared > 0) {
+                result.add(new ProgramSimilarityDto(studyProgramIds[i], studyProgramIds[j], shared,
+                        jaccard(shared, a.size(), b.size())));
+            }
+        }
+        return result;
+    }
+
+    private static double jaccard(int shared, int sizeA, int sizeB) {
+        int union = sizeA + sizeB - shared;
+        return union == 0 ? 0 : Math.round(10000.0 * shared / union) / 10000.0;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Bitset of one program, with its modules ordered by bit for materializing a result bitset
+     */
+    private record ProgramBits(long[] set, int[] bits, ModuleSuggestionDto[] modules, Map<String, long[]> categories) {
+
+        int size() {
+            return bits.length;
+        }
+
+        List<ModuleSuggestionDto> members(long[] result) {
+            List<ModuleSuggestionDto> members = new ArrayList<>();
+            for (int w = 0; w < result.length; w++) {
+                long word = result[w];
+                while (word != 0) {
+                    int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                    members.add(modules[Arrays.binarySearch(bits, bit)]);
+                    word &= word - 1;
+                }
+            }
+            return members;
+        }
+
+        List<CategoryOverlapDto> categoryOverlap(long[] other) {
+            List<CategoryOverlapDto> overlap = new ArrayList<>();
+            categories.forEach((category, categoryBits) -> {
+                int shared = 0;
+                for (int w = 0; w < categoryBits.length; w++) {
+                    shared += Long.bitCount(categoryBits[w] & other[w]);
+                }
+                overlap.add(new CategoryOverlapDto(category, cardinality(categoryBits), shared));
+            });
+            return overlap;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.SimilarModuleDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Content similarity between modules. Every module is a TF-IDF vector over the words of its content
+ * and intended learning outcomes. Candidates come from MinHash locality sensitive hashing over the
+ * most characteristic terms of each module, only those are re-ranked by cosine similarity, once per
+ * snapshot. A lookup reads the precomputed neighbors.
+ */
+public final class SimilarityIndex {
+
+    // Module descriptions share few words, so bands of a single row: a Jaccard similarity of 0.03
+    // between the term sets already gives a collision in 6 of 7 cases
+    private static final int BANDS = 64;
+    private static final int ROWS = 1;
+    private static final int HASHES = BANDS * ROWS;
+    // The MinHash sets only contain the highest weighted terms, shared boilerplate is left out
+    private static final int SIGNATURE_TERMS = 40;
+    // Neighbors kept per module, enough to still fill a page after filtering by study program
+    private static final int NEIGHBORS = 50;
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final long PRIME = 2_147_483_647L;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "with", "this", "that", "from", "will", "can", "have", "has", "their",
+            "they", "which", "such", "into", "also", "able", "after", "based", "well", "using", "use", "used",
+            "students", "student", "module", "modules", "course", "lecture", "lectures", "participation",
+            "understand", "knowledge", "basic", "basics", "different", "other", "these", "how", "what", "its",
+            "der", "die", "das", "und", "den", "von", "mit", "fur", "sich", "des", "auf", "ist", "eine", "ein",
+            "werden", "wird", "sind", "dem", "nach", "bei", "aus", "als", "oder", "auch", "sowie", "zur", "zum");
+
+    private final String[] moduleIds;
+    private final String[] names;
+    private final Map<String, Integer> index;
+    // Nearest modules of every module, most similar first
+    private final int[][] neighbors;
+    private final float[][] similarities;
+
+    private SimilarityIndex(String[] moduleIds, String[] names, Map<String, Integer> index, int[][] neighbors,
+                            float[][] similarities) {
+        this.moduleIds = moduleIds;
+        this.names = names;
+        this.index = index;
+        this.neighbors = neighbors;
+        this.similarities = similarities;
+    }
+
+    static SimilarityIndex build(List<ModuleText> modules) {
+        // One document per module ID
+        Map<String, String> documents = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>();
+        for (ModuleText module : modules) {
+            if (module.moduleId() != null && !documents.containsKey(module.moduleId())) {
+                documents.put(module.moduleId(), join(module.intendedLearningOutcomes(), module.content()));
+                names.add(module.name());
+            }
+        }
+        String[] moduleIds = documents.keySet().toArray(new String[0]);
+        int size = moduleIds.length;
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<Map<Integer, Integer>> frequencies = new ArrayList<>(size);
+        int[] documentFrequency = new int[0];
+        for (String document : documents.values()) {
+            Map<Integer, Integer> frequency = new HashMap<>();
+            for (String token : TextNormalizer.tokens(document)) {
+                if (token.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(token) && !Character.isDigit(token.charAt(0))) {
+                    frequency.merge(dictionary.computeIfAbsent(token, t -> dictionary.size()), 1, Integer::sum);
+                }
+            }
+            if (documentFrequency.length < dictionary.size()) {
+                documentFrequency = Arrays.copyOf(documentFrequency, Math.max(dictionary.size(), documentFrequency.length * 2));
+            }
+            for (int term : frequency.keySet()) {
+                documentFrequency[term]++;
+            }
+            frequencies.add(frequency);
+        }
+
+        // Sublinear term frequency times smoothed inverse document frequency, L2 normalized
+        SparseVector[] vectors = new SparseVector[size];
+        for (int doc = 0; doc < size; doc++) {
+            Map<Integer, Integer> frequency = frequencies.get(doc);
+            int[] terms = frequency.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            float[] weights = new float[terms.length];
+            double norm = 0;
+            for (int i = 0; i < terms.length; i++) {
+                double tf = 1 + Math.log(frequency.get(terms[i]));
+                double idf = Math.log((1.0 + size) / (1.0 + documentFrequency[terms[i]])) + 1;
+                weights[i] = (float) (tf * idf);
+                norm += weights[i] * weights[i];
+            }
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = (float) (weights[i] / Math.sqrt(norm));
+            }
+            vectors[doc] = new SparseVector(terms, weights);
+        }
+
+        // Fixed seed, so the same catalog always gives the same buckets
+        Random random = new Random(42);
+        long[] a = new long[HASHES];
+        long[] b = new long[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            a[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+            b[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+
+        long[][] bandKeys = new long[size][];
+        Map<Long, List<Integer>> bucketLists = new HashMap<>();
+        for (int doc = 0; doc < size; doc++) {
+            if (vectors[doc].terms().length == 0) {
+                bandKeys[doc] = new long[0];
+                continue;
+            }
+            long[] signature = signature(vectors[doc].topTerms(SIGNATURE_TERMS), a, b);
+            bandKeys[doc] = new long[BANDS];
+            for (int band = 0; band < BANDS; band++) {
+                long key = band;
+                for (int row = 0; row < ROWS; row++) {
+                    key = key * 31 + signature[band * ROWS + row];
+                }
+                bandKeys[doc][band] = key;
+                bucketLists.computeIfAbsent(key, k -> new ArrayList<>()).add(doc);
+            }
+        }
+
+        // Re-rank the candidates of every module once, lookups only read the result
+        int[][] neighbors = new int[size][];
+        float[][] similarities = new float[size][];
+        int[] seen = new int[size];
+        Arrays.fill(seen, -1);
+        int[] candidates = new int[size];
+        float[] scores = new float[size];
+        for (int doc = 0; doc < size; doc++) {
+            int count = 0;
+            seen[doc] = doc;
+            for (long key : bandKeys[doc]) {
+                for (int candidate : bucketLists.get(key)) {
+                    if (seen[candidate] != doc) {
+                        seen[candidate] = doc;
+                        float similarity = vectors[doc].cosine(vectors[candidate]);
+                        if (similarity > 0) {
+                            candidates[count] = candidate;
+                            scores[candidate] = similarity;
+                            count++;
+                        }
+                    }
+                }
+            }
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = candidates[i];
+            }
+            Arrays.sort(order, Comparator.comparingDouble((Integer candidate) -> -scores[candidate])
+                    .thenComparing(candidate -> moduleIds[candidate]));
+            int kept = Math.min(count, NEIGHBORS);
+            neighbors[doc] = new int[kept];
+            similarities[doc] = new float[kept];
+            for (int i = 0; i < kept; i++) {
+                neighbors[doc][i] = order[i];
+                similarities[doc][i] = scores[order[i]];
+            }
+        }
+
+        Map<String, Integer> index = new HashMap<>(size * 2);
+        for (int doc = 0; doc < size; doc++) {
+            index.put(moduleIds[doc], doc);
+        }
+        return new SimilarityIndex(moduleIds, names.toArray(new String[0]), index, neighbors, similarities);
+    }
+
+    public boolean contains(String moduleId) {
+        return index.containsKey(moduleId);
+    }
+
+    /**
+     * Most similar modules by cosine similarity, best first
+     *
+     * @param accept filter on module IDs, e.g. to stay within a curriculum
+     */
+    public List<SimilarModuleDto> findSimilar(String moduleId, int limit, Predicate<String> accept) {
+        List<SimilarModuleDto> result = new ArrayList<>();
+        Integer doc = index.get(moduleId);
+        if (doc == null) {
+            return result;
+        }
+        for (int i = 0; i < neighbors[doc].length && result.size() < limit; i++) {
+            int neighbor = neighbors[doc][i];
+            if (accept.test(moduleIds[neighbor])) {
+                result.add(new SimilarModuleDto(moduleIds[neighbor], names[neighbor],
+                        Math.round(similarities[doc][i] * 10000) / 10000.0));
+            }
+        }
+        return result;
+    }
+
+    private static long[] signature(int[] termSet, long[] a, long[] b) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int term : termSet) {
+            for (int i = 0; i < HASHES; i++) {
+                long hash = (a[i] * term + b[i]) % PRIME;
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static String join(String first, String second) {
+        return (first != null ? first : "") + " " + (second != null ? second : "");
+    }
+
+    public int size() {
+        return moduleIds.length;
+    }
+
+    /**
+     * TF-IDF weights by ascending term ID, L2 normalized
+     */
+    private record SparseVector(int[] terms, float[] weights) {
+
+        // Both vectors are normalized with sorted term IDs, so this is a merge over the shared terms
+        float cosine(SparseVector other) {
+            float dot = 0;
+            int i = 0;
+            int j = 0;
+            while (i < terms.length && j < other.terms.length) {
+                if (terms[i] == other.terms[j]) {
+                    dot += weights[i++] * other.weights[j++];
+                } else if (terms[i] < other.terms[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return dot;
+        }
+
+        int[] topTerms(int limit) {
+            if (terms.length <= limit) {
+                return terms;
+            }
+            Integer[] order = new Integer[terms.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> Float.compare(weights[y], weights[x]));
+            int[] top = new int[limit];
+            for (int i = 0; i < limit; i++) {
+                top[i] = terms[order[i]];
+            }
+            return top;
+        }
+    }
+}
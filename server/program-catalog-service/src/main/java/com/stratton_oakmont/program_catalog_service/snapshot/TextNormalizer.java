@@ -0,0 +1,78 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalization shared by the in-memory catalog indexes: case, diacritics and punctuation are
+ * ignored, so a German title and the same title typed without umlauts end up comparable.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {}
+
+    /**
+     * Lower case, without diacritics, with every run of other characters replaced by a single space
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(lower.length());
+        boolean separator = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c < 128) {
+                separator = append(normalized, c, separator);
+            } else if (c == '\u00DF') {
+                separator = append(normalized, 's', separator);
+                separator = append(normalized, 's', separator);
+            } else {
+                // Only non-ASCII characters are decomposed, the catalog texts are mostly plain ASCII
+                String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                for (int j = 0; j < decomposed.length(); j++) {
+                    char part = decomposed.charAt(j);
+                    if (!isMark(part)) {
+                        separator = append(normalized, part, separator);
+                    }
+                }
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Letters and digits are kept, anything else becomes a pending separator
+    private static boolean append(StringBuilder normalized, char c, boolean separator) {
+        if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+            if (separator && normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(c);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+                || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * The words of the normalized text
+     */
+    public static List<String> tokens(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        if (!normalized.isEmpty()) {
+            for (String token : normalized.split(" ")) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
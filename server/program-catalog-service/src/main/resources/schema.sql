@@ -0,0 +1,27 @@
+-- Tables owned by program-catalog-service, the curriculum tables are created by data-collection
+
+-- Single row holding the catalog version, bumped on every catalog write and import
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO catalog_version (id, version, updated_at) VALUES (1, 1, now()) ON CONFLICT (id) DO NOTHING;
+
+-- Change feed boundary: changes after this version are complete in catalog_changes
+ALTER TABLE catalog_version ADD COLUMN IF NOT EXISTS changes_retained_since BIGINT NOT NULL DEFAULT 0;
+
+-- Changes before the log existed are unknown
+UPDATE catalog_version SET changes_retained_since = version WHERE changes_retained_since = 0;
+
+-- Module changes per catalog version, written in the same transaction as the change itself
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    version BIGINT NOT NULL,
+    module_details_id INTEGER NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (version, module_details_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_catalog_changes_module_details_id ON catalog_changes (module_details_id);
@@ -0,0 +1,50 @@
+package com.stratton_oakmont.program_catalog_service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void next_shouldHandleQuotedFieldsAndLineBreaks() throws IOException {
+        /*
+            Scraped module texts contain separators, quotes and line breaks inside quoted fields.
+            They have to end up in a single field, and the BOM written by pandas must be skipped.
+        */
+        String csv = "\uFEFFID,name,content\r\n"
+                + "IN2109,\"Bichler, Martin\",\"first line\nsecond \"\"quoted\"\" line\"\r\n"
+                + "IN0001,,\n";
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            assertArrayEquals(new String[]{"ID", "name", "content"}, reader.next());
+            assertArrayEquals(new String[]{"IN2109", "Bichler, Martin", "first line\nsecond \"quoted\" line"}, reader.next());
+            assertArrayEquals(new String[]{"IN0001", "", ""}, reader.next());
+            assertNull(reader.next());
+            assertEquals(3, reader.getRecordNumber());
+        }
+    }
+
+    @Test
+    void next_shouldFailOnUnterminatedQuote() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader("a,\"b\n"))) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void appendCopyValue_shouldWriteTypedCopyText() {
+        StringBuilder out = new StringBuilder();
+        ImportColumn.integer("credits", "credits").appendCopyValue("30.0", out);
+        out.append('|');
+        ImportColumn.decimal("total_hours", "total_hours").appendCopyValue("", out);
+        out.append('|');
+        ImportColumn.text("content", "content").appendCopyValue("a\tb\\c\nd", out);
+
+        assertEquals("30|\\N|a\\tb\\\\c\\nd", out.toString());
+        assertThrows(NumberFormatException.class,
+                () -> ImportColumn.integer("credits", "credits").appendCopyValue("7.5", new StringBuilder()));
+    }
+}
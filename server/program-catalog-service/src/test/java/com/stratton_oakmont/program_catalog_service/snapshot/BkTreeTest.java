@@ -0,0 +1,42 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BkTreeTest {
+
+    private final BkTree tree = BkTree.build(List.of("learning", "leaning", "cremers", "business", "process", "in2064", "in2065"));
+
+    @Test
+    void findsTermsWithinTheEditDistance() {
+        Set<String> matches = tree.search("lerning", 1, new BkTree.Budget(100)).stream()
+                .map(BkTree.Match::term)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("learning", "leaning"), matches);
+
+        assertEquals(List.of(new BkTree.Match("business", 2)), tree.search("buisness", 2, new BkTree.Budget(100)));
+        assertEquals(Set.of("in2064", "in2065"), tree.search("in2064", 1, new BkTree.Budget(100)).stream()
+                .map(BkTree.Match::term)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void stopsOnceTheBudgetIsUsedUp() {
+        BkTree.Budget budget = new BkTree.Budget(1);
+        assertTrue(tree.search("process", 0, budget).size() <= 1);
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    void levenshteinDistance() {
+        assertEquals(0, BkTree.distance("kitten", "kitten"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(6, BkTree.distance("", "sitten"));
+    }
+}
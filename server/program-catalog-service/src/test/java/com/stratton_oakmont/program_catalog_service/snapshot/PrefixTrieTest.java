@@ -0,0 +1,41 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixTrieTest {
+
+    @Test
+    void returnsBestRanksOfAllKeysBelowThePrefix() {
+        PrefixTrie trie = PrefixTrie.builder(3)
+                .add("machine learning", 4)
+                .add("learning analytics", 1)
+                .add("learning", 4)
+                .add("lean management", 2)
+                .add("linear algebra", 0)
+                .build();
+
+        assertArrayEquals(new int[]{1, 2, 4}, trie.search("lea", 10));
+        assertArrayEquals(new int[]{1, 4}, trie.search("learning", 10));
+        assertArrayEquals(new int[]{0, 1}, trie.search("l", 2));
+        assertArrayEquals(new int[]{4}, trie.search("machine l", 10));
+    }
+
+    @Test
+    void prefixEndingInsideAnEdgeMatches() {
+        PrefixTrie trie = PrefixTrie.builder(5).add("in2064", 7).build();
+
+        assertArrayEquals(new int[]{7}, trie.search("in20", 5));
+        assertArrayEquals(new int[]{7}, trie.search("in2064", 5));
+        assertEquals(0, trie.search("in2065", 5).length);
+        assertEquals(0, trie.search("in20640", 5).length);
+    }
+
+    @Test
+    void normalizesGermanTitles() {
+        assertEquals("einfuhrung in die informatik", TextNormalizer.normalize("Einf\u00FChrung in die  Informatik"));
+        assertEquals("strasse 2", TextNormalizer.normalize("Stra\u00DFe-2"));
+    }
+}
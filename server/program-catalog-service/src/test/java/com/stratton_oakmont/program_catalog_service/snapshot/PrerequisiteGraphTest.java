@@ -0,0 +1,41 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.PrerequisiteDto;
+import com.stratton_oakmont.program_catalog_service.dto.TopologicalOrderDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PrerequisiteGraphTest {
+
+    private final PrerequisiteGraph graph = PrerequisiteGraph.build(List.of(
+            new ModuleText(1, "IN2309", "Advanced Topics of Software Engineering", "Introduction to Software Engineering (IN0006)", null, null),
+            new ModuleText(1, "IN2081", "Patterns in Software Engineering", "Helpful: advanced topics of software engineering", null, null),
+            new ModuleText(1, "IN2247", "Functional Safety", "IN2081 and IN 2309", null, null),
+            new ModuleText(1, "IN2000", "Cycle A Module", "IN2001", null, null),
+            new ModuleText(1, "IN2001", "Cycle B Module", "IN2000", null, null)),
+            Map.of("IN0006", "Introduction to Software Engineering"));
+
+    @Test
+    void parsesModuleIdsAndNames() {
+        List<PrerequisiteDto> prerequisites = graph.getPrerequisites("IN2247", 3);
+        assertEquals(List.of("IN2081", "IN2309", "IN0006"), prerequisites.stream().map(PrerequisiteDto::getModuleId).toList());
+        assertEquals(List.of(1, 1, 2), prerequisites.stream().map(PrerequisiteDto::getDepth).toList());
+        // Mentioned, but not part of the curriculum
+        assertEquals("Introduction to Software Engineering", prerequisites.get(2).getName());
+        assertFalse(prerequisites.get(2).getInStudyProgram());
+
+        assertEquals(List.of("IN2309", "IN2081", "IN2247"), graph.getDependents("IN0006", 5).stream().map(PrerequisiteDto::getModuleId).toList());
+    }
+
+    @Test
+    void ordersPrerequisitesFirst() {
+        TopologicalOrderDto order = graph.topologicalOrder(List.of("IN2247", "IN0006", "IN2081", "IN2000", "IN2001"));
+        assertEquals(List.of("IN0006", "IN2081", "IN2247"), order.getOrder());
+        assertEquals(List.of("IN2000", "IN2001"), order.getCyclic());
+    }
+}
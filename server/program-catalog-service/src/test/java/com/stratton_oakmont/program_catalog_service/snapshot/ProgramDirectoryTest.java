@@ -0,0 +1,54 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.StudyProgramDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgramDirectoryTest {
+
+    private final ProgramDirectory directory = new ProgramDirectory(List.of(
+            program(1L, "Master of Science", "Informatics: Games Engineering", "Informatics"),
+            program(2L, "Bachelor of Science", "Informatics", "Informatics"),
+            program(3L, "Master of Science", "Informatics", "Informatics"),
+            program(4L, "Master of Science", "Mathematics in Data Science", "Mathematics"),
+            program(5L, "Master of Science", "Bioinformatics", "Informatics")));
+
+    @Test
+    void ranksExactOverPrefixOverSubstring() {
+        assertEquals(List.of(2L, 3L, 1L, 5L), ids(directory.search(null, null, "informatics", null, 10)));
+        assertEquals(List.of(2L, 3L, 1L, 5L), ids(directory.search(null, null, "inform", null, 10)));
+    }
+
+    @Test
+    void requiresEveryCriterion() {
+        assertEquals(List.of(3L, 1L, 5L), ids(directory.search(null, "master", "informatics", null, 10)));
+        assertEquals(List.of(1L), ids(directory.search(null, "Master", "Games", "Informatics", 10)));
+        assertTrue(directory.search(null, "bachelor", "mathematics", null, 10).isEmpty());
+    }
+
+    @Test
+    void freeTextMatchesAnyField() {
+        assertEquals(List.of(4L), ids(directory.search("master data", null, null, null, 10)));
+        assertEquals(List.of(2L), ids(directory.search("bachelor inf", null, null, null, 10)));
+    }
+
+    @Test
+    void returnsCachedResultsAndHonorsLimit() {
+        List<StudyProgramDto> first = directory.search(null, null, "inf", null, 2);
+        assertEquals(2, first.size());
+        assertTrue(first == directory.search(null, null, "INF", null, 2));
+        assertEquals(5, directory.search(null, null, null, null, 10).size());
+    }
+
+    private static List<Long> ids(List<StudyProgramDto> programs) {
+        return programs.stream().map(StudyProgramDto::getId).toList();
+    }
+
+    private static StudyProgramDto program(Long id, String degree, String curriculum, String fieldOfStudies) {
+        return new StudyProgramDto(id, degree, curriculum, fieldOfStudies, 120, 4, null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.CategoryOverlapDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleListItemDto;
+import com.stratton_oakmont.program_catalog_service.dto.ModuleSuggestionDto;
+import com.stratton_oakmont.program_catalog_service.dto.ProgramComparisonDto;
+import com.stratton_oakmont.program_catalog_service.dto.ProgramSimilarityDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProgramOverlapIndexTest {
+
+    private final ProgramOverlapIndex index = CatalogSnapshot.build(1, List.of(), List.of(
+            module(1, 121, "IN2346", "Electives"),
+            module(2, 121, "IN2064", "Electives"),
+            module(3, 121, "IN2064", "Required"),
+            module(4, 121, "IN0001", "Required"),
+            module(5, 122, "IN2346", "Core"),
+            module(6, 122, "IN2064", "Core"),
+            module(7, 122, "WI000233", "Core"),
+            module(8, 123, "MA0001", "Core")), List.of(), 10).getProgramOverlap();
+
+    @Test
+    void splitsModulesIntoSharedAndUnique() {
+        ProgramComparisonDto comparison = index.compare(121, 122);
+        assertEquals(List.of("IN2064", "IN2346"), moduleIds(comparison.getSharedModules()));
+        assertEquals(List.of("IN0001"), moduleIds(comparison.getOnlyInA()));
+        assertEquals(List.of("WI000233"), moduleIds(comparison.getOnlyInB()));
+        assertEquals(0.5, comparison.getSimilarity());
+        assertEquals(12, comparison.getSharedCredits());
+        assertNull(index.compare(121, 999));
+    }
+
+    @Test
+    void countsOverlapPerCategory() {
+        List<CategoryOverlapDto> categories = index.compare(121, 122).getCategoriesA();
+        assertEquals("Electives", categories.get(0).getCategory());
+        assertEquals(2, categories.get(0).getSharedModuleCount());
+        assertEquals("Required", categories.get(1).getCategory());
+        assertEquals(2, categories.get(1).getModuleCount());
+        assertEquals(1, categories.get(1).getSharedModuleCount());
+    }
+
+    @Test
+    void ranksAllPairsBySimilarity() {
+        List<ProgramSimilarityDto> similarities = index.getSimilarities();
+        // 123 shares nothing with the others
+        assertEquals(1, similarities.size());
+        assertEquals(121, similarities.get(0).getStudyProgramIdA());
+        assertEquals(122, similarities.get(0).getStudyProgramIdB());
+        assertEquals(2, similarities.get(0).getSharedModuleCount());
+    }
+
+    private static List<String> moduleIds(List<ModuleSuggestionDto> modules) {
+        return modules.stream().map(ModuleSuggestionDto::getModuleId).toList();
+    }
+
+    private static ModuleListItemDto module(int id, int studyProgramId, String moduleId, String category) {
+        ModuleListItemDto module = new ModuleListItemDto();
+        module.setId(id);
+        module.setStudyProgramId(studyProgramId);
+        module.setModuleId(moduleId);
+        module.setName("Module " + moduleId);
+        module.setCategory(category);
+        module.setCredits(6);
+        return module;
+    }
+}
@@ -0,0 +1,61 @@
+package com.stratton_oakmont.program_catalog_service.snapshot;
+
+import com.stratton_oakmont.program_catalog_service.dto.SimilarModuleDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimilarityIndexTest {
+
+    private final SimilarityIndex index = SimilarityIndex.build(List.of(
+            module("IN2346", "Introduction to Deep Learning",
+                    "Neural networks, backpropagation, convolutional networks, optimization of deep networks",
+                    "Students can train neural networks for image classification"),
+            module("IN2389", "Advanced Deep Learning for Computer Vision",
+                    "Convolutional networks for video, neural rendering, deep generative networks",
+                    "Students can apply deep neural networks to vision problems"),
+            module("IN2064", "Machine Learning",
+                    "Linear regression, classification, kernels, neural networks",
+                    "Students can select learning algorithms for regression and classification"),
+            module("SOT82533", "Lawful Hacking",
+                    "Criminal law, data protection regulation, responsible disclosure",
+                    "Students know the legal limits of penetration testing"),
+            module("IN2346", "Introduction to Deep Learning", "Listed twice in the catalog", null),
+            module("IN9999", "Seminar", null, null)));
+
+    @Test
+    void ranksModulesBySharedContent() {
+        List<SimilarModuleDto> similar = index.findSimilar("IN2346", 10, moduleId -> true);
+        assertEquals("IN2389", similar.get(0).getModuleId());
+        assertEquals("Advanced Deep Learning for Computer Vision", similar.get(0).getName());
+        assertTrue(similar.stream().noneMatch(module -> module.getModuleId().equals("SOT82533")));
+        assertTrue(similar.stream().noneMatch(module -> module.getModuleId().equals("IN2346")));
+        for (int i = 1; i < similar.size(); i++) {
+            assertTrue(similar.get(i - 1).getSimilarity() >= similar.get(i).getSimilarity());
+        }
+    }
+
+    @Test
+    void appliesFilterAndLimit() {
+        assertEquals(List.of("IN2064"), index.findSimilar("IN2346", 10, moduleId -> moduleId.startsWith("IN20")).stream()
+                .map(SimilarModuleDto::getModuleId)
+                .toList());
+        assertEquals(1, index.findSimilar("IN2346", 1, moduleId -> true).size());
+    }
+
+    @Test
+    void modulesWithoutTextHaveNoNeighbors() {
+        assertTrue(index.contains("IN9999"));
+        assertTrue(index.findSimilar("IN9999", 10, moduleId -> true).isEmpty());
+        assertFalse(index.contains("IN0001"));
+        assertEquals(5, index.size());
+    }
+
+    private static ModuleText module(String moduleId, String name, String content, String intendedLearningOutcomes) {
+        return new ModuleText(121, moduleId, name, null, intendedLearningOutcomes, content);
+    }
+}
@@ -4,19 +4,41 @@ import com.stratton_oakmont.study_planer.dto.StudyProgramDto;
 import com.stratton_oakmont.study_planer.dto.ModuleDetailsDto;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
 public class ProgramCatalogClient {
     
+    // Module fields used to enrich semester courses, the rest of the module is not requested
+    private static final String MODULE_ENRICHMENT_FIELDS = "moduleId,name,credits,responsible,occurrence,category,subcategory";
+    
+    // Number of catalog responses kept for conditional requests
+    private static final int MAX_CACHED_RESPONSES = 2048;
+    
     private final RestTemplate restTemplate;
     private final String programCatalogServiceUrl;
+    
+    // Catalog bodies by URL together with their ETag, revalidated with If-None-Match
+    private final Map<String, CachedBody> responseCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBody> eldest) {
+                return size() > MAX_CACHED_RESPONSES;
+            }
+        }
+    );
      public ProgramCatalogClient(RestTemplate restTemplate,
                                @Value("${program-catalog-service.url:http://program-catalog-service:8080}") String serviceUrl) {
         this.restTemplate = restTemplate;
@@ -26,13 +48,7 @@ public class ProgramCatalogClient {
     public List<StudyProgramDto> getAllStudyPrograms() {
         try {
             String url = programCatalogServiceUrl + "/api/v1/study-programs";
-            ResponseEntity<List<StudyProgramDto>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<StudyProgramDto>>() {}
-            );
-            return response.getBody();
+            return getWithRevalidation(url, new ParameterizedTypeReference<List<StudyProgramDto>>() {});
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch study programs from program-catalog-service", e);
         }
@@ -41,13 +57,7 @@ public class ProgramCatalogClient {
     public Optional<StudyProgramDto> getStudyProgramById(Long id) {
         try {
             String url = programCatalogServiceUrl + "/api/v1/study-programs/" + id;
-            ResponseEntity<StudyProgramDto> response = restTemplate.getForEntity(url, StudyProgramDto.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return Optional.of(response.getBody());
-            } else {
-                return Optional.empty();
-            }
+            return Optional.ofNullable(getWithRevalidation(url, ParameterizedTypeReference.forType(StudyProgramDto.class)));
         } catch (Exception e) {
             return Optional.empty();
         }
@@ -82,18 +92,39 @@ public class ProgramCatalogClient {
     
     public Optional<ModuleDetailsDto> getModuleDetails(String moduleId) {
         try {
-            String url = programCatalogServiceUrl + "/api/v1/modules/module/" + moduleId;
-            ResponseEntity<ModuleDetailsDto> response = restTemplate.getForEntity(url, ModuleDetailsDto.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return Optional.of(response.getBody());
-            } else {
-                return Optional.empty();
-            }
+            String url = programCatalogServiceUrl + "/api/v1/modules/module/" + moduleId + "?fields=" + MODULE_ENRICHMENT_FIELDS;
+            return Optional.ofNullable(getWithRevalidation(url, ParameterizedTypeReference.forType(ModuleDetailsDto.class)));
         } catch (Exception e) {
             // Log the error but don't throw exception to avoid breaking the flow
             System.err.println("Failed to fetch module details for " + moduleId + ": " + e.getMessage());
             return Optional.empty();
         }
     }
+    
+    /**
+     * GET that sends the ETag of the last response for this URL and reuses its body on 304.
+     * The cached bodies are shared, callers must not modify them.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getWithRevalidation(String url, ParameterizedTypeReference<T> responseType) {
+        CachedBody cached = responseCache.get(url);
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        
+        ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), responseType);
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return (T) cached.body();
+        }
+        
+        String etag = response.getHeaders().getETag();
+        if (etag != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            responseCache.put(url, new CachedBody(etag, response.getBody()));
+        }
+        return response.getBody();
+    }
+    
+    private record CachedBody(String etag, Object body) {
+    }
 }
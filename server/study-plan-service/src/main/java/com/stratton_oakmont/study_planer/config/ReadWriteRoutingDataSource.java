@@ -0,0 +1,61 @@
+package com.stratton_oakmont.study_planer.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the primary.
+ * The read-only flag is only known once the transaction has started, so {@link #of} wraps the router
+ * in a {@link LazyConnectionDataSourceProxy} that defers the pool choice to the first statement.
+ * Closing that proxy, which Spring does for the DataSource bean on shutdown, closes both pools.
+ * Reads on the replica may lag the latest writes by the replication delay.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.<Object, Object>of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static DataSource of(DataSource primary, DataSource replica) {
+        return new ClosingProxy(new ReadWriteRoutingDataSource(primary, replica), List.of(primary, replica));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+
+    private static final class ClosingProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final List<DataSource> pools;
+
+        private ClosingProxy(DataSource router, List<DataSource> pools) {
+            super(router);
+            this.pools = pools;
+        }
+
+        @Override
+        public void close() {
+            for (DataSource pool : pools) {
+                if (pool instanceof AutoCloseable closeable) {
+                    try {
+                        closeable.close();
+                    } catch (Exception e) {
+                        // Shutting down anyway, try the other pool
+                    }
+                }
+            }
+        }
+    }
+}
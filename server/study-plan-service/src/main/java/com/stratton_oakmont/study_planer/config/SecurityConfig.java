@@ -2,11 +2,17 @@ package com.stratton_oakmont.study_planer.config;
 
 import com.stratton_oakmont.study_planer.filter.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -22,7 +28,38 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${study-plan.actuator.username:operator}")
+    private String actuatorUsername;
+
+    // Without a password the loggers endpoint refuses all requests
+    @Value("${study-plan.actuator.password:}")
+    private String actuatorPassword;
+
+    // The loggers endpoint can switch on SQL and parameter logging, so it needs the operator
+    // credentials (HTTP Basic) even though the other actuator endpoints are public
+    @Bean
+    @Order(1)
+    public SecurityFilterChain loggersFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/loggers", "/actuator/loggers/**")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        if (actuatorPassword.isBlank()) {
+            http.authorizeHttpRequests(authz -> authz.anyRequest().denyAll());
+        } else {
+            http
+                .authorizeHttpRequests(authz -> authz.anyRequest().hasRole("OPERATOR"))
+                .httpBasic(Customizer.withDefaults())
+                .userDetailsService(new InMemoryUserDetailsManager(User.withUsername(actuatorUsername)
+                    .password(PasswordEncoderFactories.createDelegatingPasswordEncoder().encode(actuatorPassword))
+                    .roles("OPERATOR")
+                    .build()));
+        }
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -1,6 +1,12 @@
 package com.stratton_oakmont.study_planer.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -11,7 +17,6 @@ import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 
 import javax.sql.DataSource;
 import jakarta.persistence.EntityManagerFactory;
@@ -35,31 +40,87 @@ public class StudyPlanDatabaseConfig {
     @Value("${DB_STUDY_PLAN_PASSWORD}")
     private String password;
     
+    @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}")
+    private String driverClassName;
+    
+    @Value("${spring.jpa.database-platform:org.hibernate.dialect.PostgreSQLDialect}")
+    private String databasePlatform;
+    
+    // Optional read replica, read-only transactions go there once a URL is set
+    @Value("${DB_STUDY_PLAN_REPLICA_URL:}")
+    private String replicaUrl;
+    
+    @Value("${DB_STUDY_PLAN_REPLICA_USERNAME:${DB_STUDY_PLAN_USERNAME}}")
+    private String replicaUsername;
+    
+    @Value("${DB_STUDY_PLAN_REPLICA_PASSWORD:${DB_STUDY_PLAN_PASSWORD}}")
+    private String replicaPassword;
+    
+    // Per-statement timeout of JPA queries, 0 disables it
+    @Value("${study-plan.jpa.query-timeout-ms:0}")
+    private int queryTimeoutMs;
+    
+    // Pool sizing, timeouts, leak detection and driver properties, shared by the primary and the replica pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig poolConfig() {
+        return new HikariConfig();
+    }
+    
     @Primary
     @Bean(name = "dataSource")
-    public DataSource dataSource() {
-        return DataSourceBuilder.create()
-                .url(url)
-                .username(username)
-                .password(password)
-                .driverClassName("org.postgresql.Driver")
-                .build();
+    public DataSource dataSource(HikariConfig poolConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool("study-plan-primary", url, username, password, driverClassName, poolConfig, meterRegistry);
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            return primary;
+        }
+        HikariDataSource replica = pool("study-plan-replica", replicaUrl, replicaUsername, replicaPassword, driverClassName,
+                poolConfig, meterRegistry);
+        replica.setReadOnly(true);
+        return ReadWriteRoutingDataSource.of(primary, replica);
+    }
+    
+    private static HikariDataSource pool(String name, String url, String username, String password, String driverClassName,
+                                         HikariConfig poolConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        // Not started until the first connection is requested
+        HikariDataSource dataSource = new HikariDataSource();
+        poolConfig.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setPoolName(name);
+        // hikaricp.connections.active, .idle, .pending, .acquire, ... tagged with pool=<name>
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
     }
 
     @Primary
     @Bean(name = "entityManagerFactory")
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
-        em.setDataSource(dataSource());
+        em.setDataSource(dataSource);
         em.setPackagesToScan("com.stratton_oakmont.study_planer.model");
         
         HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
         
         Properties properties = new Properties();
-        properties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.setProperty("hibernate.dialect", databasePlatform);
         properties.setProperty("hibernate.hbm2ddl.auto", "update"); // Changed from create-drop to preserve data
-        properties.setProperty("hibernate.show_sql", "true");
+        // Statements are logged by the org.hibernate.SQL logger, switch it to DEBUG at runtime
+        // through /actuator/loggers instead of printing every statement to stdout
+        properties.setProperty("hibernate.show_sql", "false");
+        if (queryTimeoutMs > 0) {
+            properties.setProperty("jakarta.persistence.query.timeout", String.valueOf(queryTimeoutMs));
+        }
+        // Group the UPDATEs of one flush, e.g. of a reorder, into JDBC batches
+        properties.setProperty("hibernate.jdbc.batch_size", "50");
+        properties.setProperty("hibernate.order_updates", "true");
+        properties.setProperty("hibernate.order_inserts", "true");
+        // Take a connection per transaction instead of holding one per session,
+        // so every transaction is routed by its own read-only flag
+        properties.setProperty("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
         em.setJpaProperties(properties);
         
         return em;
@@ -67,9 +128,9 @@ public class StudyPlanDatabaseConfig {
 
     @Primary
     @Bean(name = "transactionManager")
-    public PlatformTransactionManager transactionManager() {
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
         JpaTransactionManager transactionManager = new JpaTransactionManager();
-        transactionManager.setEntityManagerFactory(entityManagerFactory().getObject());
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
         return transactionManager;
     }
 }
\ No newline at end of file
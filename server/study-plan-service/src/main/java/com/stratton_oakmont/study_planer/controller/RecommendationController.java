@@ -0,0 +1,45 @@
+package com.stratton_oakmont.study_planer.controller;
+
+import com.stratton_oakmont.study_planer.dto.CoPlannedCourseDto;
+import com.stratton_oakmont.study_planer.service.CoPlanningService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/recommendations")
+@CrossOrigin(origins = {
+    "https://tum-study-planner.student.k8s.aet.tum.de",
+    "http://localhost:5173", 
+    "http://localhost:3000"
+})
+public class RecommendationController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final CoPlanningService coPlanningService;
+
+    @Autowired
+    public RecommendationController(CoPlanningService coPlanningService) {
+        this.coPlanningService = coPlanningService;
+    }
+
+    // GET /api/v1/recommendations/co-planned?courseId=IN2346 - Courses most often planned together with a course
+    @GetMapping("/co-planned")
+    public ResponseEntity<?> getCoPlannedCourses(@RequestParam String courseId,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        if (courseId.isBlank() || limit < 1 || limit > MAX_LIMIT) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "INVALID_REQUEST");
+            error.put("message", "courseId is required and limit must be between 1 and " + MAX_LIMIT);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+        List<CoPlannedCourseDto> coPlanned = coPlanningService.getCoPlannedCourses(courseId, limit);
+        return ResponseEntity.ok(coPlanned);
+    }
+}
@@ -5,6 +5,7 @@ import com.stratton_oakmont.study_planer.model.Semester;
 import com.stratton_oakmont.study_planer.model.StudyPlan;
 import com.stratton_oakmont.study_planer.service.SemesterService;
 import com.stratton_oakmont.study_planer.service.StudyPlanService;
+import com.stratton_oakmont.study_planer.util.FieldMask;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -100,7 +101,9 @@ public class SemesterController {
 
     // GET /api/v1/semesters/study-plan/{studyPlanId} - Get all semesters for a study plan (with ownership check)
     @GetMapping("/study-plan/{studyPlanId}")
-    public ResponseEntity<?> getSemestersByStudyPlan(@PathVariable Long studyPlanId) {
+    public ResponseEntity<?> getSemestersByStudyPlan(@PathVariable Long studyPlanId,
+                                                     @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(SemesterDto.class, fields);
         try {
             // Get user ID from SecurityContext (set by JWT filter)
             Long userId = getCurrentUserId();
@@ -117,6 +120,9 @@ public class SemesterController {
             List<SemesterDto> semesterDtos = semesters.stream()
                     .map(this::convertToDto)
                     .collect(Collectors.toList());
+            if (mask != null) {
+                return ResponseEntity.ok(mask.applyAll(semesterDtos));
+            }
             return ResponseEntity.ok(semesterDtos);
 
         } catch (Exception e) {
@@ -129,7 +135,9 @@ public class SemesterController {
 
     // GET /api/v1/semesters/{id} - Get specific semester (with ownership check)
     @GetMapping("/{id}")
-    public ResponseEntity<?> getSemesterById(@PathVariable Long id) {
+    public ResponseEntity<?> getSemesterById(@PathVariable Long id,
+                                             @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(SemesterDto.class, fields);
         try {
             // Get user ID from SecurityContext (set by JWT filter)
             Long userId = getCurrentUserId();
@@ -144,6 +152,9 @@ public class SemesterController {
             }
             
             SemesterDto semesterDto = convertToDto(semester);
+            if (mask != null) {
+                return ResponseEntity.ok(mask.apply(semesterDto));
+            }
             return ResponseEntity.ok(semesterDto);
 
         } catch (Exception e) {
@@ -239,8 +250,10 @@ public class SemesterController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
             
-            @SuppressWarnings("unchecked")
-            List<Long> semesterIds = (List<Long>) request.get("semesterIds");
+            // JSON numbers arrive as Integer or Long depending on their size
+            List<Long> semesterIds = ((List<?>) request.get("semesterIds")).stream()
+                    .map(id -> Long.valueOf(id.toString()))
+                    .toList();
             
             semesterService.reorderSemesters(studyPlanId, semesterIds);
             
@@ -272,4 +285,13 @@ public class SemesterController {
         
         return dto;
     }
+
+    // Exception handlers
+    @ExceptionHandler(FieldMask.InvalidFieldsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFields(FieldMask.InvalidFieldsException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "INVALID_FIELDS");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
 }
@@ -8,6 +8,7 @@ import com.stratton_oakmont.study_planer.service.SemesterCourseService;
 import com.stratton_oakmont.study_planer.service.SemesterService;
 import com.stratton_oakmont.study_planer.service.StudyPlanService;
 import com.stratton_oakmont.study_planer.client.ProgramCatalogClient;
+import com.stratton_oakmont.study_planer.util.FieldMask;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -40,6 +41,11 @@ public class SemesterCourseController {
     private final ProgramCatalogClient programCatalogClient;
     private static final Logger logger = LoggerFactory.getLogger(SemesterCourseController.class);
 
+    // Fields of SemesterCourseDto that are filled from the program catalog
+    private static final List<String> CATALOG_FIELDS = List.of(
+        "courseName", "courseCode", "credits", "professor", "occurrence", "category", "subcategory"
+    );
+
     @Autowired
     public SemesterCourseController(SemesterCourseService semesterCourseService, SemesterService semesterService, StudyPlanService studyPlanService, ProgramCatalogClient programCatalogClient) {
         this.semesterCourseService = semesterCourseService;
@@ -61,8 +67,7 @@ public class SemesterCourseController {
     // Helper method to verify ownership via semester -> study plan
     private boolean verifySemesterOwnership(Long semesterId, Long userId) {
         try {
-            Semester semester = semesterService.getSemesterById(semesterId);
-            return semester.getStudyPlan().getUserId().equals(userId);
+            return semesterService.getOwnerUserId(semesterId).equals(userId);
         } catch (Exception e) {
             return false;
         }
@@ -109,7 +114,9 @@ public class SemesterCourseController {
 
     // GET /api/v1/semester-courses/semester/{semesterId} - Get all courses for a semester
     @GetMapping("/semester/{semesterId}")
-    public ResponseEntity<?> getCoursesBySemester(@PathVariable Long semesterId) {
+    public ResponseEntity<?> getCoursesBySemester(@PathVariable Long semesterId,
+                                                  @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(SemesterCourseDto.class, fields);
         try {
             // Get user ID from SecurityContext (set by JWT filter)
             Long userId = getCurrentUserId();
@@ -123,10 +130,7 @@ public class SemesterCourseController {
             }
             
             List<SemesterCourse> courses = semesterCourseService.getCoursesBySemesterId(semesterId);
-            List<SemesterCourseDto> courseDtos = courses.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(courseDtos);
+            return ResponseEntity.ok(convertToResponse(courses, mask));
 
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -138,13 +142,12 @@ public class SemesterCourseController {
 
     // GET /api/v1/semester-courses/study-plan/{studyPlanId} - Get all courses for a study plan
     @GetMapping("/study-plan/{studyPlanId}")
-    public ResponseEntity<?> getCoursesByStudyPlan(@PathVariable Long studyPlanId) {
+    public ResponseEntity<?> getCoursesByStudyPlan(@PathVariable Long studyPlanId,
+                                                   @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(SemesterCourseDto.class, fields);
         try {
             List<SemesterCourse> courses = semesterCourseService.getAllCoursesForStudyPlan(studyPlanId);
-            List<SemesterCourseDto> courseDtos = courses.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(courseDtos);
+            return ResponseEntity.ok(convertToResponse(courses, mask));
 
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -242,8 +245,10 @@ public class SemesterCourseController {
     public ResponseEntity<?> reorderCourses(@RequestBody Map<String, Object> request) {
         try {
             Long semesterId = Long.valueOf(request.get("semesterId").toString());
-            @SuppressWarnings("unchecked")
-            List<Long> courseIds = (List<Long>) request.get("courseIds");
+            // JSON numbers arrive as Integer or Long depending on their size
+            List<Long> courseIds = ((List<?>) request.get("courseIds")).stream()
+                    .map(id -> Long.valueOf(id.toString()))
+                    .toList();
             
             semesterCourseService.reorderCoursesInSemester(semesterId, courseIds);
             
@@ -259,8 +264,27 @@ public class SemesterCourseController {
         }
     }
 
+    // Helper method to convert courses to the (optionally masked) response body
+    private Object convertToResponse(List<SemesterCourse> courses, FieldMask mask) {
+        if (mask == null) {
+            return courses.stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        // Only call the program catalog if one of its fields was requested
+        boolean enrich = CATALOG_FIELDS.stream().anyMatch(mask::includes);
+        List<SemesterCourseDto> courseDtos = courses.stream()
+                .map(course -> convertToDto(course, enrich))
+                .collect(Collectors.toList());
+        return mask.applyAll(courseDtos);
+    }
+
     // Helper method to convert entity to DTO
     private SemesterCourseDto convertToDto(SemesterCourse semesterCourse) {
+        return convertToDto(semesterCourse, true);
+    }
+
+    private SemesterCourseDto convertToDto(SemesterCourse semesterCourse, boolean enrich) {
         SemesterCourseDto dto = new SemesterCourseDto();
         dto.setId(semesterCourse.getId());
         dto.setSemesterId(semesterCourse.getSemester().getId());
@@ -269,6 +293,10 @@ public class SemesterCourseController {
         dto.setCompletionDate(semesterCourse.getCompletionDate());
         dto.setCourseOrder(semesterCourse.getCourseOrder());
         
+        if (!enrich) {
+            return dto;
+        }
+        
         // Fetch course details from program catalog service
         try {
             Optional<ModuleDetailsDto> moduleDetails = programCatalogClient.getModuleDetails(semesterCourse.getCourseId());
@@ -294,4 +322,13 @@ public class SemesterCourseController {
         
         return dto;
     }
+
+    // Exception handlers
+    @ExceptionHandler(FieldMask.InvalidFieldsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFields(FieldMask.InvalidFieldsException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "INVALID_FIELDS");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
 }
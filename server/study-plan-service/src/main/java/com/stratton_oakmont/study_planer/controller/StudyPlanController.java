@@ -6,6 +6,7 @@ import com.stratton_oakmont.study_planer.dto.StudyProgramDto;
 import com.stratton_oakmont.study_planer.model.StudyPlan;
 import com.stratton_oakmont.study_planer.service.StudyPlanService;
 import com.stratton_oakmont.study_planer.client.ProgramCatalogClient;
+import com.stratton_oakmont.study_planer.util.FieldMask;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -79,7 +80,8 @@ public class StudyPlanController {
 
     // GET /my-study-plans - Get study plans for authenticated user
     @GetMapping("/my-study-plans")
-    public ResponseEntity<?> getMyStudyPlans() {
+    public ResponseEntity<?> getMyStudyPlans(@RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(StudyPlanDto.class, fields);
         try {
             // Get user ID from SecurityContext (set by JWT filter)
             Long userId = getCurrentUserId();
@@ -87,8 +89,11 @@ public class StudyPlanController {
             // Get study plans for authenticated user
             List<StudyPlan> studyPlans = studyPlanService.getStudyPlansByUserId(userId);
             List<StudyPlanDto> studyPlanDtos = studyPlans.stream()
-                    .map(this::convertToDto)
+                    .map(studyPlan -> convertToDto(studyPlan, mask))
                     .collect(Collectors.toList());
+            if (mask != null) {
+                return ResponseEntity.ok(mask.applyAll(studyPlanDtos));
+            }
             return ResponseEntity.ok(studyPlanDtos);
 
         } catch (Exception e) {
@@ -113,7 +118,9 @@ public class StudyPlanController {
 
     // GET /api/v1/study-plans/{id} - Get specific study plan (with ownership check)
     @GetMapping("/{id}")
-    public ResponseEntity<?> getStudyPlanById(@PathVariable Long id) {
+    public ResponseEntity<?> getStudyPlanById(@PathVariable Long id,
+                                              @RequestParam(required = false) String fields) {
+        FieldMask mask = FieldMask.of(StudyPlanDto.class, fields);
         try {
             // Get user ID from SecurityContext (set by JWT filter)
             Long userId = getCurrentUserId();
@@ -129,7 +136,10 @@ public class StudyPlanController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
             
-            StudyPlanDto studyPlanDto = convertToDto(studyPlan);
+            StudyPlanDto studyPlanDto = convertToDto(studyPlan, mask);
+            if (mask != null) {
+                return ResponseEntity.ok(mask.apply(studyPlanDto));
+            }
             return ResponseEntity.ok(studyPlanDto);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -141,6 +151,11 @@ public class StudyPlanController {
 
     // Helper method to convert StudyPlan entity to DTO
     private StudyPlanDto convertToDto(StudyPlan studyPlan) {
+        return convertToDto(studyPlan, null);
+    }
+
+    // Skips the program catalog lookup when the field mask does not ask for the study program name
+    private StudyPlanDto convertToDto(StudyPlan studyPlan, FieldMask mask) {
         StudyPlanDto dto = new StudyPlanDto();
         dto.setId(studyPlan.getId());
         dto.setName(studyPlan.getName());
@@ -154,7 +169,7 @@ public class StudyPlanController {
         // First, try to use the stored study program name
         if (studyPlan.getStudyProgramName() != null && !studyPlan.getStudyProgramName().trim().isEmpty()) {
             dto.setStudyProgramName(studyPlan.getStudyProgramName());
-        } else if (studyPlan.getStudyProgramId() != null) {
+        } else if (studyPlan.getStudyProgramId() != null && (mask == null || mask.includes("studyProgramName"))) {
             // Fallback to fetching from external service if no stored name
             try {
                 StudyProgramDto studyProgram = programCatalogClient.getStudyProgramById(studyPlan.getStudyProgramId()).orElse(null);
@@ -337,6 +352,14 @@ public class StudyPlanController {
     }
 
     // Exception handlers
+    @ExceptionHandler(FieldMask.InvalidFieldsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFields(FieldMask.InvalidFieldsException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "INVALID_FIELDS");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,33 @@
+package com.stratton_oakmont.study_planer.dto;
+
+public class CoPlannedCourseDto {
+    
+    private String courseId;
+    
+    private Integer coPlanCount; // Estimated number of study plans containing both courses
+    
+    // Constructors
+    public CoPlannedCourseDto() {}
+    
+    public CoPlannedCourseDto(String courseId, Integer coPlanCount) {
+        this.courseId = courseId;
+        this.coPlanCount = coPlanCount;
+    }
+    
+    // Getters and Setters
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Integer getCoPlanCount() {
+        return coPlanCount;
+    }
+    
+    public void setCoPlanCount(Integer coPlanCount) {
+        this.coPlanCount = coPlanCount;
+    }
+}
@@ -2,14 +2,19 @@ package com.stratton_oakmont.study_planer.repository;
 
 import com.stratton_oakmont.study_planer.model.Semester;
 import com.stratton_oakmont.study_planer.model.SemesterCourse;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface SemesterCourseRepository extends JpaRepository<SemesterCourse, Long> {
@@ -73,6 +78,15 @@ public interface SemesterCourseRepository extends JpaRepository<SemesterCourse,
     @Query("SELECT COALESCE(MAX(sc.courseOrder), 0) FROM SemesterCourse sc WHERE sc.semester.id = :semesterId")
     Integer findMaxCourseOrderBySemesterId(@Param("semesterId") Long semesterId);
     
+    // Study plan ID and course ID of every planned course, grouped by study plan (streamed, needs a transaction)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.studyPlan.id, sc.courseId FROM SemesterCourse sc JOIN sc.semester s ORDER BY s.studyPlan.id")
+    Stream<Object[]> streamPlannedCourses();
+    
+    // Course ID of every course of a study plan with the number of its semesters containing it
+    @Query("SELECT sc.courseId, COUNT(sc) FROM SemesterCourse sc WHERE sc.semester.studyPlan.id = :studyPlanId GROUP BY sc.courseId")
+    List<Object[]> countSemestersByCourseForStudyPlan(@Param("studyPlanId") Long studyPlanId);
+    
     // Delete all courses for a semester
     void deleteBySemesterId(Long semesterId);
     
@@ -0,0 +1,293 @@
+package com.stratton_oakmont.study_planer.service;
+
+import com.stratton_oakmont.study_planer.dto.CoPlannedCourseDto;
+import com.stratton_oakmont.study_planer.repository.SemesterCourseRepository;
+import com.stratton_oakmont.study_planer.util.CountMinSketch;
+import com.stratton_oakmont.study_planer.util.TopKHeap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * "Students who planned X also planned Y": how many study plans contain both courses of a pair.
+ *
+ * Pair counts live in a Count-Min sketch and every course keeps a heap of its top partners, so the
+ * index is bounded by the sketch size and k entries per course instead of growing with the number
+ * of pairs or plans. No course lists of study plans are kept: the index is loaded at startup with
+ * one scan over semester_courses, one study plan at a time, and a write reads the courses of the
+ * plans it changes inside its transaction and applies the pair delta after the commit.
+ */
+@Service
+public class CoPlanningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoPlanningService.class);
+
+    private final SemesterCourseRepository semesterCourseRepository;
+    private final int topK;
+    private final int sketchDepth;
+    private final int sketchWidth;
+    // Key of the changes of the current transaction, by study plan
+    private final Object transactionChangesKey = new Object();
+
+    // Guarded by this
+    private Index index;
+    // Changes committed while the index is loaded, replayed on the new index
+    private List<PlanChange> changesDuringLoad;
+
+    @Autowired
+    public CoPlanningService(SemesterCourseRepository semesterCourseRepository,
+                             @Value("${recommendations.co-planned.top-k:20}") int topK,
+                             @Value("${recommendations.co-planned.sketch-depth:4}") int sketchDepth,
+                             @Value("${recommendations.co-planned.sketch-width:65536}") int sketchWidth) {
+        this.semesterCourseRepository = semesterCourseRepository;
+        this.topK = topK;
+        this.sketchDepth = sketchDepth;
+        this.sketchWidth = sketchWidth;
+        this.index = newIndex();
+    }
+
+    /**
+     * Builds a new index from semester_courses and swaps it in, recommendations keep being served
+     * from the current index during the scan
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        Index loaded = newIndex();
+        long rows = 0;
+        long studyPlans = 0;
+        // The scan is ordered by study plan, so only the courses of the current plan are held
+        Long studyPlanId = null;
+        Set<String> courses = new HashSet<>();
+        try (Stream<Object[]> plannedCourses = semesterCourseRepository.streamPlannedCourses()) {
+            for (Object[] row : (Iterable<Object[]>) plannedCourses::iterator) {
+                if (!row[0].equals(studyPlanId)) {
+                    loaded.update(courses, Collections.emptySet(), 1);
+                    courses.clear();
+                    studyPlanId = (Long) row[0];
+                    studyPlans++;
+                }
+                courses.add((String) row[1]);
+                rows++;
+            }
+            loaded.update(courses, Collections.emptySet(), 1);
+        } catch (RuntimeException e) {
+            // Recommendations stay as they are, the rest of the service works without them
+            logger.warn("Failed to load co-planning index: {}", e.getMessage());
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            // A commit between the start of the load and the snapshot of the scan is counted twice, the window is one statement
+            changesDuringLoad.forEach(change -> change.applyTo(loaded));
+            changesDuringLoad = null;
+            index = loaded;
+        }
+        logger.info("Loaded co-planning index from {} planned courses in {} study plans in {} ms",
+            rows, studyPlans, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Counts a course added to a study plan once the current transaction commits. Call it before
+     * the course is inserted, the first call for a plan in a transaction reads the courses it had.
+     */
+    public void recordPlanned(Long studyPlanId, String courseId) {
+        record(studyPlanId, courseId, 1);
+    }
+
+    /**
+     * Counts a course removed from a study plan once the current transaction commits. Call it
+     * before the course is deleted, the first call for a plan in a transaction reads the courses it had.
+     */
+    public void recordUnplanned(Long studyPlanId, String courseId) {
+        record(studyPlanId, courseId, -1);
+    }
+
+    /**
+     * Get the courses most often planned together with a course, most frequent first
+     */
+    public synchronized List<CoPlannedCourseDto> getCoPlannedCourses(String courseId, int limit) {
+        List<CoPlannedCourseDto> result = new ArrayList<>();
+        TopKHeap heap = index.partners.get(courseId);
+        if (heap == null) {
+            return result;
+        }
+        for (Map.Entry<String, Integer> entry : heap.entries()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(new CoPlannedCourseDto(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    private void record(Long studyPlanId, String courseId, int semesters) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PlanChange change = new PlanChange(loadCourses(studyPlanId));
+            change.add(courseId, semesters);
+            apply(change);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, PlanChange> changes = (Map<Long, PlanChange>) TransactionSynchronizationManager.getResource(transactionChangesKey);
+        if (changes == null) {
+            Map<Long, PlanChange> transactionChanges = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(transactionChangesKey, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    transactionChanges.values().forEach(CoPlanningService.this::apply);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transactionChangesKey);
+                }
+            });
+            changes = transactionChanges;
+        }
+        changes.computeIfAbsent(studyPlanId, id -> new PlanChange(loadCourses(id))).add(courseId, semesters);
+    }
+
+    private Index newIndex() {
+        return new Index(new CountMinSketch(sketchDepth, sketchWidth), topK);
+    }
+
+    // Number of semesters of the study plan containing each of its courses
+    private Map<String, Integer> loadCourses(Long studyPlanId) {
+        Map<String, Integer> courses = new HashMap<>();
+        for (Object[] row : semesterCourseRepository.countSemestersByCourseForStudyPlan(studyPlanId)) {
+            courses.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return courses;
+    }
+
+    synchronized void apply(PlanChange change) {
+        change.applyTo(index);
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        }
+    }
+
+    /**
+     * The courses of one study plan before and after the writes of a transaction
+     */
+    static final class PlanChange {
+
+        private final Set<String> before;
+        private final Map<String, Integer> semesters;
+
+        PlanChange(Map<String, Integer> semesters) {
+            this.before = new HashSet<>(semesters.keySet());
+            this.semesters = semesters;
+        }
+
+        void add(String courseId, int delta) {
+            int count = semesters.getOrDefault(courseId, 0) + delta;
+            if (count > 0) {
+                semesters.put(courseId, count);
+            } else {
+                semesters.remove(courseId);
+            }
+        }
+
+        // A course planned in two semesters of the same plan is one co-planning, so only set changes count
+        void applyTo(Index index) {
+            Set<String> after = semesters.keySet();
+            List<String> added = new ArrayList<>();
+            List<String> kept = new ArrayList<>();
+            for (String courseId : after) {
+                (before.contains(courseId) ? kept : added).add(courseId);
+            }
+            List<String> removed = new ArrayList<>();
+            for (String courseId : before) {
+                if (!after.contains(courseId)) {
+                    removed.add(courseId);
+                }
+            }
+            index.update(added, kept, 1);
+            index.update(removed, kept, -1);
+        }
+    }
+
+    static final class Index {
+
+        private final CountMinSketch pairCounts;
+        private final Map<String, TopKHeap> partners = new HashMap<>();
+        private final int topK;
+
+        Index(CountMinSketch pairCounts, int topK) {
+            this.pairCounts = pairCounts;
+            this.topK = topK;
+        }
+
+        // Adds delta to every pair among the changed courses and between them and the unchanged ones
+        void update(Collection<String> changed, Collection<String> unchanged, int delta) {
+            List<String> courses = new ArrayList<>(changed);
+            for (int i = 0; i < courses.size(); i++) {
+                for (int j = i + 1; j < courses.size(); j++) {
+                    updatePair(courses.get(i), courses.get(j), delta);
+                }
+                for (String other : unchanged) {
+                    updatePair(courses.get(i), other, delta);
+                }
+            }
+        }
+
+        private void updatePair(String a, String b, int delta) {
+            int estimate = pairCounts.add(pairKey(a, b), delta);
+            updatePartner(a, b, estimate);
+            updatePartner(b, a, estimate);
+        }
+
+        private void updatePartner(String courseId, String partner, int estimate) {
+            TopKHeap heap = partners.get(courseId);
+            if (heap == null) {
+                if (estimate <= 0) {
+                    return;
+                }
+                heap = new TopKHeap(topK);
+                partners.put(courseId, heap);
+            }
+            heap.offer(partner, estimate);
+            if (heap.isEmpty()) {
+                partners.remove(courseId);
+            }
+        }
+    }
+
+    // Order independent, so (a, b) and (b, a) are the same counter
+    private static long pairKey(String a, String b) {
+        int first = a.hashCode();
+        int second = b.hashCode();
+        if (first > second || (first == second && a.compareTo(b) > 0)) {
+            int swap = first;
+            first = second;
+            second = swap;
+        }
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+}
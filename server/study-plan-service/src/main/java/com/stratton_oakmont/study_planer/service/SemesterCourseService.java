@@ -9,17 +9,22 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class SemesterCourseService {
 
     private final SemesterCourseRepository semesterCourseRepository;
+    private final CoPlanningService coPlanningService;
 
     @Autowired
-    public SemesterCourseService(SemesterCourseRepository semesterCourseRepository) {
+    public SemesterCourseService(SemesterCourseRepository semesterCourseRepository, CoPlanningService coPlanningService) {
         this.semesterCourseRepository = semesterCourseRepository;
+        this.coPlanningService = coPlanningService;
     }
 
     // CREATE operations
@@ -35,6 +40,8 @@ public class SemesterCourseService {
         // Get next course order
         Integer nextOrder = getNextCourseOrder(semester.getId());
         
+        // Before the insert, the co-planning index reads the courses the plan had so far
+        coPlanningService.recordPlanned(semester.getStudyPlan().getId(), courseId);
         SemesterCourse semesterCourse = new SemesterCourse(semester, courseId, nextOrder);
         return semesterCourseRepository.save(semesterCourse);
     }
@@ -48,44 +55,54 @@ public class SemesterCourseService {
             throw new IllegalArgumentException("Course " + courseId + " already exists in semester " + semester.getId());
         }
 
+        coPlanningService.recordPlanned(semester.getStudyPlan().getId(), courseId);
         SemesterCourse semesterCourse = new SemesterCourse(semester, courseId, courseOrder);
         return semesterCourseRepository.save(semesterCourse);
     }
 
     // READ operations
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getAllSemesterCourses() {
         return semesterCourseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public SemesterCourse getSemesterCourseById(Long id) {
         return semesterCourseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Semester course not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getCoursesBySemesterId(Long semesterId) {
         return semesterCourseRepository.findBySemesterIdOrderByCourseOrder(semesterId);
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getCoursesBySemester(Semester semester) {
         return semesterCourseRepository.findBySemesterOrderByCourseOrder(semester);
     }
 
+    @Transactional(readOnly = true)
     public Optional<SemesterCourse> getCourseInSemester(Long semesterId, String courseId) {
         return semesterCourseRepository.findBySemesterIdAndCourseId(semesterId, courseId);
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getAllCoursesForStudyPlan(Long studyPlanId) {
         return semesterCourseRepository.findByStudyPlanId(studyPlanId);
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getCompletedCoursesBySemester(Long semesterId) {
         return semesterCourseRepository.findBySemesterIdAndIsCompletedTrue(semesterId);
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getUncompletedCoursesBySemester(Long semesterId) {
         return semesterCourseRepository.findBySemesterIdAndIsCompletedFalse(semesterId);
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getCompletedCoursesForStudyPlan(Long studyPlanId) {
         return semesterCourseRepository.findCompletedCoursesByStudyPlanId(studyPlanId);
     }
@@ -133,6 +150,13 @@ public class SemesterCourseService {
                 " already exists in target semester " + targetSemester.getId());
         }
 
+        Long sourceStudyPlanId = semesterCourse.getSemester().getStudyPlan().getId();
+        Long targetStudyPlanId = targetSemester.getStudyPlan().getId();
+        if (!sourceStudyPlanId.equals(targetStudyPlanId)) {
+            coPlanningService.recordUnplanned(sourceStudyPlanId, semesterCourse.getCourseId());
+            coPlanningService.recordPlanned(targetStudyPlanId, semesterCourse.getCourseId());
+        }
+
         semesterCourse.setSemester(targetSemester);
         semesterCourse.setCourseOrder(getNextCourseOrder(targetSemester.getId()));
 
@@ -142,65 +166,84 @@ public class SemesterCourseService {
     // DELETE operations
     public void removeCourseFromSemester(Long semesterCourseId) {
         SemesterCourse semesterCourse = getSemesterCourseById(semesterCourseId);
+        recordUnplanned(semesterCourse);
         semesterCourseRepository.delete(semesterCourse);
     }
 
     public void removeCourseFromSemester(Long semesterId, String courseId) {
-        semesterCourseRepository.deleteBySemesterIdAndCourseId(semesterId, courseId);
+        semesterCourseRepository.findBySemesterIdAndCourseId(semesterId, courseId).ifPresent(semesterCourse -> {
+            recordUnplanned(semesterCourse);
+            semesterCourseRepository.delete(semesterCourse);
+        });
     }
 
     public void removeAllCoursesFromSemester(Long semesterId) {
-        semesterCourseRepository.deleteBySemesterId(semesterId);
+        List<SemesterCourse> semesterCourses = semesterCourseRepository.findBySemesterId(semesterId);
+        semesterCourses.forEach(this::recordUnplanned);
+        semesterCourseRepository.deleteAll(semesterCourses);
+    }
+
+    private void recordUnplanned(SemesterCourse semesterCourse) {
+        coPlanningService.recordUnplanned(semesterCourse.getSemester().getStudyPlan().getId(), semesterCourse.getCourseId());
     }
 
     // UTILITY methods
+    @Transactional(readOnly = true)
     public long countCoursesBySemester(Long semesterId) {
         return semesterCourseRepository.countBySemesterId(semesterId);
     }
 
+    @Transactional(readOnly = true)
     public long countCompletedCoursesBySemester(Long semesterId) {
         return semesterCourseRepository.countBySemesterIdAndIsCompletedTrue(semesterId);
     }
 
+    @Transactional(readOnly = true)
     public long countUncompletedCoursesBySemester(Long semesterId) {
         return semesterCourseRepository.countBySemesterIdAndIsCompletedFalse(semesterId);
     }
 
+    @Transactional(readOnly = true)
     public long countCoursesForStudyPlan(Long studyPlanId) {
         return semesterCourseRepository.countByStudyPlanId(studyPlanId);
     }
 
+    @Transactional(readOnly = true)
     public long countCompletedCoursesForStudyPlan(Long studyPlanId) {
         return semesterCourseRepository.countCompletedByStudyPlanId(studyPlanId);
     }
 
+    @Transactional(readOnly = true)
     public Integer getNextCourseOrder(Long semesterId) {
         Integer maxOrder = semesterCourseRepository.findMaxCourseOrderBySemesterId(semesterId);
         return maxOrder + 1;
     }
 
+    @Transactional(readOnly = true)
     public boolean courseExistsInSemester(Long semesterId, String courseId) {
         return semesterCourseRepository.existsBySemesterIdAndCourseId(semesterId, courseId);
     }
 
+    @Transactional(readOnly = true)
     public List<SemesterCourse> getCoursesCompletedInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return semesterCourseRepository.findByCompletionDateBetween(startDate, endDate);
     }
 
-    // Reorder courses within a semester - useful for drag and drop functionality
+    // Reorder courses within a semester - useful for drag and drop functionality.
+    // Loads the semester's courses with one select, the changed orders are flushed as one JDBC batch
     public void reorderCoursesInSemester(Long semesterId, List<Long> semesterCourseIds) {
+        Map<Long, SemesterCourse> coursesById = semesterCourseRepository.findBySemesterId(semesterId).stream()
+                .collect(Collectors.toMap(SemesterCourse::getId, Function.identity()));
         for (int i = 0; i < semesterCourseIds.size(); i++) {
             Long semesterCourseId = semesterCourseIds.get(i);
-            SemesterCourse semesterCourse = getSemesterCourseById(semesterCourseId);
+            SemesterCourse semesterCourse = coursesById.get(semesterCourseId);
             
             // Verify this course belongs to the semester
-            if (!semesterCourse.getSemester().getId().equals(semesterId)) {
+            if (semesterCourse == null) {
                 throw new IllegalArgumentException("Course " + semesterCourseId + " does not belong to semester " + semesterId);
             }
             
             semesterCourse.setCourseOrder(i + 1);
-
-            semesterCourseRepository.save(semesterCourse);
         }
     }
 }
@@ -8,16 +8,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class SemesterService {
 
     private final SemesterRepository semesterRepository;
+    private final CoPlanningService coPlanningService;
 
     @Autowired
-    public SemesterService(SemesterRepository semesterRepository) {
+    public SemesterService(SemesterRepository semesterRepository, CoPlanningService coPlanningService) {
         this.semesterRepository = semesterRepository;
+        this.coPlanningService = coPlanningService;
     }
 
     // CREATE operations
@@ -52,27 +57,39 @@ public class SemesterService {
     }
 
     // READ operations
+    @Transactional(readOnly = true)
     public List<Semester> getAllSemesters() {
         return semesterRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Semester getSemesterById(Long id) {
         return semesterRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Semester not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Semester> getSemestersByStudyPlanId(Long studyPlanId) {
         return semesterRepository.findByStudyPlanIdOrderBySemesterOrder(studyPlanId);
     }
 
+    @Transactional(readOnly = true)
     public List<Semester> getSemestersByStudyPlan(StudyPlan studyPlan) {
         return semesterRepository.findByStudyPlanOrderBySemesterOrder(studyPlan);
     }
 
+    @Transactional(readOnly = true)
     public List<Semester> searchSemestersByName(String keyword) {
         return semesterRepository.findByNameContainingIgnoreCase(keyword);
     }
 
+    // Resolves the lazy study plan inside the transaction, callers run without an open session
+    @Transactional(readOnly = true)
+    public Long getOwnerUserId(Long semesterId) {
+        return getSemesterById(semesterId).getStudyPlan().getUserId();
+    }
+
+    @Transactional(readOnly = true)
     public Semester getSemesterByStudyPlanAndOrder(Long studyPlanId, Integer semesterOrder) {
         return semesterRepository.findByStudyPlanIdAndSemesterOrder(studyPlanId, semesterOrder);
     }
@@ -113,36 +130,44 @@ public class SemesterService {
     // DELETE operations
     public void deleteSemester(Long id) {
         Semester semester = getSemesterById(id);
+        // The courses are removed with the semester
+        Long studyPlanId = semester.getStudyPlan().getId();
+        semester.getCourses().forEach(course -> coPlanningService.recordUnplanned(studyPlanId, course.getCourseId()));
         semesterRepository.delete(semester);
     }
 
     // UTILITY methods
+    @Transactional(readOnly = true)
     public long countSemestersByStudyPlanId(Long studyPlanId) {
         return semesterRepository.countByStudyPlanId(studyPlanId);
     }
 
+    @Transactional(readOnly = true)
     public Integer getNextSemesterOrder(Long studyPlanId) {
         Integer maxOrder = semesterRepository.findMaxSemesterOrderByStudyPlanId(studyPlanId);
         return maxOrder + 1;
     }
 
+    @Transactional(readOnly = true)
     public boolean semesterOrderExists(Long studyPlanId, Integer semesterOrder) {
         return semesterRepository.existsByStudyPlanIdAndSemesterOrder(studyPlanId, semesterOrder);
     }
 
-    // Reorder semesters - useful for drag and drop functionality
+    // Reorder semesters - useful for drag and drop functionality.
+    // Loads the plan's semesters with one select, the changed orders are flushed as one JDBC batch
     public void reorderSemesters(Long studyPlanId, List<Long> semesterIds) {
+        Map<Long, Semester> semestersById = semesterRepository.findByStudyPlanId(studyPlanId).stream()
+                .collect(Collectors.toMap(Semester::getId, Function.identity()));
         for (int i = 0; i < semesterIds.size(); i++) {
             Long semesterId = semesterIds.get(i);
-            Semester semester = getSemesterById(semesterId);
+            Semester semester = semestersById.get(semesterId);
             
             // Verify this semester belongs to the study plan
-            if (!semester.getStudyPlan().getId().equals(studyPlanId)) {
+            if (semester == null) {
                 throw new IllegalArgumentException("Semester " + semesterId + " does not belong to study plan " + studyPlanId);
             }
             
             semester.setSemesterOrder(i + 1);
-            semesterRepository.save(semester);
         }
     }
 }
@@ -15,14 +15,17 @@ public class StudyPlanService {
     private final StudyPlanRepository studyPlanRepository;
     private final SemesterService semesterService;
     private final SemesterCourseService semesterCourseService;
+    private final CoPlanningService coPlanningService;
 
     @Autowired
     public StudyPlanService(StudyPlanRepository studyPlanRepository, 
                            SemesterService semesterService,
-                           SemesterCourseService semesterCourseService) {
+                           SemesterCourseService semesterCourseService,
+                           CoPlanningService coPlanningService) {
         this.studyPlanRepository = studyPlanRepository;
         this.semesterService = semesterService;
         this.semesterCourseService = semesterCourseService;
+        this.coPlanningService = coPlanningService;
     }
 
     // CREATE operations
@@ -57,27 +60,33 @@ public class StudyPlanService {
     }
 
     // READ operations
+    @Transactional(readOnly = true)
     public List<StudyPlan> getAllStudyPlans() {
         return studyPlanRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public StudyPlan getStudyPlanById(Long id) {
         return studyPlanRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Study plan not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<StudyPlan> getStudyPlansByUserId(Long userId) {
         return studyPlanRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<StudyPlan> getActiveStudyPlansByUserId(Long userId) {
         return studyPlanRepository.findByUserIdAndIsActiveTrue(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<StudyPlan> getStudyPlansByStudyProgramId(Long studyProgramId) {
         return studyPlanRepository.findByStudyProgramId(studyProgramId);
     }
 
+    @Transactional(readOnly = true)
     public List<StudyPlan> searchStudyPlansByName(String keyword) {
         return studyPlanRepository.findByNameContainingIgnoreCase(keyword);
     }
@@ -135,6 +144,9 @@ public class StudyPlanService {
     // DELETE operations
     public void deleteStudyPlan(Long id) {
         StudyPlan studyPlan = getStudyPlanById(id);
+        // Semesters and their courses are removed with the study plan
+        studyPlan.getSemesters().forEach(semester -> semester.getCourses().forEach(
+            course -> coPlanningService.recordUnplanned(studyPlan.getId(), course.getCourseId())));
         studyPlanRepository.delete(studyPlan);
     }
 
@@ -168,14 +180,17 @@ public class StudyPlanService {
     }
 
     // UTILITY methods
+    @Transactional(readOnly = true)
     public long countStudyPlansByUserId(Long userId) {
         return studyPlanRepository.countByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public long countActiveStudyPlansByUserId(Long userId) {
         return studyPlanRepository.countByUserIdAndIsActiveTrue(userId);
     }
 
+    @Transactional(readOnly = true)
     public boolean userHasActiveStudyPlans(Long userId) {
         return studyPlanRepository.existsByUserIdAndIsActiveTrue(userId);
     }
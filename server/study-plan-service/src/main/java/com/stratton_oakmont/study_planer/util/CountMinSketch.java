@@ -0,0 +1,73 @@
+package com.stratton_oakmont.study_planer.util;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch over 64 bit keys: a fixed number of counter rows, each indexed by its own hash.
+ * Estimates never undercount as long as no key is decremented below zero; they overcount by at most
+ * total / width with high probability. Memory is depth * width counters regardless of the key count.
+ * Not thread safe, callers synchronize.
+ */
+public final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int[][] counts;
+    private final int mask;
+
+    /**
+     * @param depth number of rows (1-8), more rows lower the chance of a large overcount
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + SEEDS.length);
+        }
+        if (width < 1 || width > 1 << 30) {
+            throw new IllegalArgumentException("Width must be between 1 and " + (1 << 30));
+        }
+        int size = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.counts = new int[depth][size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds delta to the key and returns the new estimate
+     */
+    public int add(long key, int delta) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            int[] counters = counts[row];
+            int index = index(key, row);
+            counters[index] = Math.max(0, counters[index] + delta);
+            estimate = Math.min(estimate, counters[index]);
+        }
+        return estimate;
+    }
+
+    public int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            estimate = Math.min(estimate, counts[row][index(key, row)]);
+        }
+        return estimate;
+    }
+
+    public void clear() {
+        for (int[] counters : counts) {
+            Arrays.fill(counters, 0);
+        }
+    }
+
+    private int index(long key, int row) {
+        // SplitMix64 finalizer, different seeds give independent rows
+        long hash = key ^ SEEDS[row];
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,146 @@
+package com.stratton_oakmont.study_planer.util;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled sparse fieldset for the {@code fields=} query parameter.
+ *
+ * A mask is resolved once per (type, fields) combination: the requested names are validated
+ * against the bean properties of the type and the getters are looked up up front, so applying
+ * a cached mask to a response is a plain loop over pre-resolved methods.
+ */
+public final class FieldMask {
+
+    private static final int MAX_CACHED_MASKS = 1024;
+    private static final Map<String, FieldMask> CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, Method>> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final List<String> fields;
+    private final Method[] getters;
+
+    private FieldMask(List<String> fields, Method[] getters) {
+        this.fields = fields;
+        this.getters = getters;
+    }
+
+    /**
+     * Returns the compiled mask for the given type, or null if no fields were requested.
+     *
+     * @throws InvalidFieldsException if a requested field is not a property of the type
+     */
+    public static FieldMask of(Class<?> type, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        String key = type.getName() + '|' + fields;
+        FieldMask cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        FieldMask compiled = compile(type, fields);
+        if (CACHE.size() >= MAX_CACHED_MASKS) {
+            // Masks come from client input, keep the cache bounded
+            CACHE.clear();
+        }
+        CACHE.put(key, compiled);
+        return compiled;
+    }
+
+    private static FieldMask compile(Class<?> type, String fields) {
+        Map<String, Method> properties = PROPERTIES.computeIfAbsent(type, FieldMask::introspect);
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                requested.add(name);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidFieldsException("No fields requested");
+        }
+
+        List<String> unknown = new ArrayList<>();
+        Method[] getters = new Method[requested.size()];
+        int i = 0;
+        for (String name : requested) {
+            Method getter = properties.get(name);
+            if (getter == null) {
+                unknown.add(name);
+            }
+            getters[i++] = getter;
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException("Unknown fields " + unknown + ", allowed fields are " + properties.keySet());
+        }
+        return new FieldMask(Collections.unmodifiableList(new ArrayList<>(requested)), getters);
+    }
+
+    private static Map<String, Method> introspect(Class<?> type) {
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type, Object.class);
+            Map<String, Method> properties = new LinkedHashMap<>();
+            for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+                if (descriptor.getReadMethod() != null) {
+                    properties.put(descriptor.getName(), descriptor.getReadMethod());
+                }
+            }
+            return Collections.unmodifiableMap(properties);
+        } catch (IntrospectionException e) {
+            throw new IllegalStateException("Cannot introspect " + type.getName(), e);
+        }
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Copies the masked properties of a bean into an ordered map for serialization
+     */
+    public Map<String, Object> apply(Object bean) {
+        Map<String, Object> result = new LinkedHashMap<>(getters.length * 2);
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                result.put(fields.get(i), getters[i].invoke(bean));
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read masked fields of " + bean.getClass().getName(), e);
+        }
+        return result;
+    }
+
+    public List<Map<String, Object>> applyAll(Collection<?> beans) {
+        List<Map<String, Object>> result = new ArrayList<>(beans.size());
+        for (Object bean : beans) {
+            result.add(apply(bean));
+        }
+        return result;
+    }
+
+    /**
+     * Thrown when the fields parameter names properties the response type does not have
+     */
+    public static class InvalidFieldsException extends IllegalArgumentException {
+        public InvalidFieldsException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.stratton_oakmont.study_planer.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The k items with the highest counts seen so far, as a min-heap with a position index so the count
+ * of an item already in the heap can be changed in place. A new item only gets in by beating the
+ * smallest count, so memory stays at k entries. Not thread safe, callers synchronize.
+ */
+public final class TopKHeap {
+
+    private final String[] items;
+    private final int[] counts;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private int size;
+
+    public TopKHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.items = new String[capacity];
+        this.counts = new int[capacity];
+    }
+
+    /**
+     * Sets the count of an item, a count of zero or less removes it
+     */
+    public void offer(String item, int count) {
+        Integer position = positions.get(item);
+        if (position != null) {
+            if (count <= 0) {
+                removeAt(position);
+                return;
+            }
+            int previous = counts[position];
+            counts[position] = count;
+            if (count > previous) {
+                siftDown(position);
+            } else {
+                siftUp(position);
+            }
+        } else if (count > 0) {
+            if (size < items.length) {
+                items[size] = item;
+                counts[size] = count;
+                positions.put(item, size);
+                siftUp(size++);
+            } else if (count > counts[0]) {
+                positions.remove(items[0]);
+                items[0] = item;
+                counts[0] = count;
+                positions.put(item, 0);
+                siftDown(0);
+            }
+        }
+    }
+
+    public void remove(String item) {
+        Integer position = positions.get(item);
+        if (position != null) {
+            removeAt(position);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Items by count descending, ties by item
+     */
+    public List<Map.Entry<String, Integer>> entries() {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(Map.entry(items[i], counts[i]));
+        }
+        entries.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        return entries;
+    }
+
+    private void removeAt(int position) {
+        positions.remove(items[position]);
+        size--;
+        if (position != size) {
+            items[position] = items[size];
+            counts[position] = counts[size];
+            positions.put(items[position], position);
+            siftDown(position);
+            siftUp(position);
+        }
+        items[size] = null;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(smallest, position);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        int count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        positions.put(items[a], a);
+        positions.put(items[b], b);
+    }
+}
@@ -0,0 +1,63 @@
+package com.stratton_oakmont.study_planer;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements of an operation and fails the test when it needs more than its budget.
+ * Import {@link Config} into a JPA test so the data source counts its statements.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Run the operation against an empty persistence context and flush its writes, then assert
+     * that at most {@code budget} statements were executed. A JDBC batch counts as one statement.
+     */
+    public static <T> T assertAtMost(int budget, String operation, TestEntityManager entityManager, Supplier<T> action) {
+        entityManager.clear();
+        QueryCountHolder.clear();
+        T result = action.get();
+        entityManager.flush();
+        long statements = QueryCountHolder.getGrandTotal().getTotal();
+        assertTrue(statements <= budget,
+                () -> operation + " executed " + statements + " statements, the budget is " + budget);
+        return result;
+    }
+
+    public static void assertAtMost(int budget, String operation, TestEntityManager entityManager, Runnable action) {
+        assertAtMost(budget, operation, entityManager, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        static BeanPostProcessor queryCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).name(beanName).countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.stratton_oakmont.study_planer;
+
+import com.stratton_oakmont.study_planer.model.Semester;
+import com.stratton_oakmont.study_planer.model.SemesterCourse;
+import com.stratton_oakmont.study_planer.model.StudyPlan;
+import com.stratton_oakmont.study_planer.service.CoPlanningService;
+import com.stratton_oakmont.study_planer.service.SemesterCourseService;
+import com.stratton_oakmont.study_planer.service.SemesterService;
+import com.stratton_oakmont.study_planer.service.StudyPlanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement budgets of the planner operations. A failure here usually means a lazy association or a
+ * repository call inside a loop, i.e. an N+1 pattern.
+ */
+@DataJpaTest
+@Import({QueryBudget.Config.class, StudyPlanService.class, SemesterService.class,
+        SemesterCourseService.class, CoPlanningService.class})
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // Batching as configured in StudyPlanDatabaseConfig
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_updates=true"
+})
+class QueryBudgetTest {
+
+    private static final int SEMESTERS = 4;
+    private static final int COURSES_PER_SEMESTER = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudyPlanService studyPlanService;
+
+    @Autowired
+    private SemesterService semesterService;
+
+    @Autowired
+    private SemesterCourseService semesterCourseService;
+
+    private StudyPlan plan;
+    private final List<Semester> semesters = new ArrayList<>();
+    private final List<SemesterCourse> firstSemesterCourses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        plan = entityManager.persist(new StudyPlan("My Master Plan", 123L, 1L));
+        for (int s = 0; s < SEMESTERS; s++) {
+            Semester semester = entityManager.persist(new Semester("Semester " + (s + 1), plan, s + 1));
+            semesters.add(semester);
+            for (int c = 0; c < COURSES_PER_SEMESTER; c++) {
+                SemesterCourse course = entityManager.persist(new SemesterCourse(semester, "IN" + (2000 + s * 10 + c), c + 1));
+                if (s == 0) {
+                    firstSemesterCourses.add(course);
+                }
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void loadFullPlan_atMostThreeStatements() {
+        QueryBudget.assertAtMost(3, "load full plan", entityManager, () -> {
+            StudyPlan loaded = studyPlanService.getStudyPlanById(plan.getId());
+            List<Semester> loadedSemesters = semesterService.getSemestersByStudyPlanId(loaded.getId());
+            List<SemesterCourse> courses = semesterCourseService.getAllCoursesForStudyPlan(loaded.getId());
+            // As the controllers map courses to DTOs
+            courses.forEach(course -> course.getSemester().getId());
+            assertEquals(SEMESTERS, loadedSemesters.size());
+            assertEquals(SEMESTERS * COURSES_PER_SEMESTER, courses.size());
+        });
+    }
+
+    @Test
+    void semesterOverview_atMostTwoStatements() {
+        QueryBudget.assertAtMost(2, "semester overview", entityManager, () -> {
+            StudyPlan loaded = studyPlanService.getStudyPlanById(plan.getId());
+            List<Semester> loadedSemesters = semesterService.getSemestersByStudyPlanId(loaded.getId());
+            loadedSemesters.forEach(semester -> semester.getStudyPlan().getId());
+            assertEquals(SEMESTERS, loadedSemesters.size());
+        });
+    }
+
+    @Test
+    void reorderCourses_atMostTwoStatements() {
+        List<Long> reversed = new ArrayList<>(firstSemesterCourses.stream().map(SemesterCourse::getId).toList());
+        Collections.reverse(reversed);
+
+        QueryBudget.assertAtMost(2, "reorder " + reversed.size() + " courses", entityManager,
+                () -> semesterCourseService.reorderCoursesInSemester(semesters.get(0).getId(), reversed));
+
+        entityManager.clear();
+        List<SemesterCourse> ordered = semesterCourseService.getCoursesBySemesterId(semesters.get(0).getId()).stream()
+                .sorted((a, b) -> a.getCourseOrder().compareTo(b.getCourseOrder()))
+                .toList();
+        assertEquals(reversed, ordered.stream().map(SemesterCourse::getId).toList());
+    }
+
+    @Test
+    void reorderSemesters_atMostTwoStatements() {
+        List<Long> reversed = new ArrayList<>(semesters.stream().map(Semester::getId).toList());
+        Collections.reverse(reversed);
+
+        QueryBudget.assertAtMost(2, "reorder " + reversed.size() + " semesters", entityManager,
+                () -> semesterService.reorderSemesters(plan.getId(), reversed));
+
+        entityManager.clear();
+        assertEquals(reversed, semesterService.getSemestersByStudyPlanId(plan.getId()).stream()
+                .map(Semester::getId)
+                .toList());
+    }
+}
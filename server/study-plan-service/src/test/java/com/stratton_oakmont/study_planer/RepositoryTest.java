@@ -1,7 +1,6 @@
 package com.stratton_oakmont.study_planer.repository;
 
 import com.stratton_oakmont.study_planer.model.StudyPlan;
-import com.stratton_oakmont.study_planer.model.StudyProgram;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,33 +25,25 @@ class RepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
 
-    @Autowired
-    private StudyProgramRepository studyProgramRepository;
-
     @Autowired
     private StudyPlanRepository studyPlanRepository;
 
-    private StudyProgram masterProgram;
-    private StudyProgram bachelorProgram;
+    // Study programs live in the program catalog, plans only reference them by ID
+    private static final Long MASTER_PROGRAM_ID = 1L;
+    private static final Long BACHELOR_PROGRAM_ID = 2L;
+
     private StudyPlan plan1;
     private StudyPlan plan2;
 
     @BeforeEach
     void setUp() {
-        // Create test study programs
-        masterProgram = new StudyProgram("M.Sc. Information Systems", 120, 4, "Master");
-        masterProgram.setDescription("Advanced Information Systems program");
-        masterProgram = entityManager.persistAndFlush(masterProgram);
-
-        bachelorProgram = new StudyProgram("B.Sc. Computer Science", 180, 6, "Bachelor");
-        bachelorProgram.setDescription("Fundamental Computer Science program");
-        bachelorProgram = entityManager.persistAndFlush(bachelorProgram);
-
         // Create test study plans
-        plan1 = new StudyPlan("My Master Plan", 123L, masterProgram);
+        plan1 = new StudyPlan("My Master Plan", 123L, MASTER_PROGRAM_ID);
+        plan1.setStudyProgramName("M.Sc. Information Systems");
         plan1 = entityManager.persistAndFlush(plan1);
 
-        plan2 = new StudyPlan("Alternative Plan", 123L, masterProgram);
+        plan2 = new StudyPlan("Alternative Plan", 123L, MASTER_PROGRAM_ID);
+        plan2.setStudyProgramName("M.Sc. Information Systems");
         plan2.setIsActive(false);
         plan2 = entityManager.persistAndFlush(plan2);
 
@@ -60,70 +51,6 @@ class RepositoryTest {
         entityManager.clear();
     }
 
-    // StudyProgramRepository Tests
-    @Test
-    void testStudyProgramRepository_findByName() {
-        // When
-        Optional<StudyProgram> found = studyProgramRepository.findByName("M.Sc. Information Systems");
-
-        // Then
-        assertTrue(found.isPresent());
-        assertEquals("M.Sc. Information Systems", found.get().getName());
-        assertEquals("Master", found.get().getDegreeType());
-    }
-
-    @Test
-    void testStudyProgramRepository_findByDegreeType() {
-        // When
-        List<StudyProgram> masterPrograms = studyProgramRepository.findByDegreeType("Master");
-        List<StudyProgram> bachelorPrograms = studyProgramRepository.findByDegreeType("Bachelor");
-
-        // Then
-        assertEquals(1, masterPrograms.size());
-        assertEquals(1, bachelorPrograms.size());
-        assertEquals("M.Sc. Information Systems", masterPrograms.get(0).getName());
-        assertEquals("B.Sc. Computer Science", bachelorPrograms.get(0).getName());
-    }
-
-    @Test
-    void testStudyProgramRepository_findByNameContainingIgnoreCase() {
-        // When
-        List<StudyProgram> foundPrograms = studyProgramRepository.findByNameContainingIgnoreCase("information");
-
-        // Then
-        assertEquals(1, foundPrograms.size());
-        assertEquals("M.Sc. Information Systems", foundPrograms.get(0).getName());
-    }
-
-    @Test
-    void testStudyProgramRepository_findByDescriptionContainingIgnoreCase() {
-        // When
-        List<StudyProgram> foundPrograms = studyProgramRepository.findByDescriptionContainingIgnoreCase("advanced");
-
-        // Then
-        assertEquals(1, foundPrograms.size());
-        assertEquals("M.Sc. Information Systems", foundPrograms.get(0).getName());
-    }
-
-    @Test
-    void testStudyProgramRepository_countByDegreeType() {
-        // When
-        long masterCount = studyProgramRepository.countByDegreeType("Master");
-        long bachelorCount = studyProgramRepository.countByDegreeType("Bachelor");
-
-        // Then
-        assertEquals(1, masterCount);
-        assertEquals(1, bachelorCount);
-    }
-
-    @Test
-    void testStudyProgramRepository_existsByNameAndDegreeType() {
-        // When & Then
-        assertTrue(studyProgramRepository.existsByNameAndDegreeType("M.Sc. Information Systems", "Master"));
-        assertFalse(studyProgramRepository.existsByNameAndDegreeType("M.Sc. Information Systems", "Bachelor"));
-        assertFalse(studyProgramRepository.existsByNameAndDegreeType("Non-existent Program", "Master"));
-    }
-
     // StudyPlanRepository Tests
     @Test
     void testStudyPlanRepository_findByUserId() {
@@ -146,18 +73,18 @@ class RepositoryTest {
     }
 
     @Test
-    void testStudyPlanRepository_findByUserIdAndStudyProgram() {
+    void testStudyPlanRepository_findByUserIdAndStudyProgramId() {
         // When
-        List<StudyPlan> userMasterPlans = studyPlanRepository.findByUserIdAndStudyProgram(123L, masterProgram);
+        List<StudyPlan> userMasterPlans = studyPlanRepository.findByUserIdAndStudyProgramId(123L, MASTER_PROGRAM_ID);
 
         // Then
         assertEquals(2, userMasterPlans.size());
     }
 
     @Test
-    void testStudyPlanRepository_findByStudyProgram() {
+    void testStudyPlanRepository_findByStudyProgramId() {
         // When
-        List<StudyPlan> masterPlans = studyPlanRepository.findByStudyProgram(masterProgram);
+        List<StudyPlan> masterPlans = studyPlanRepository.findByStudyProgramId(MASTER_PROGRAM_ID);
 
         // Then
         assertEquals(2, masterPlans.size());
@@ -207,10 +134,10 @@ class RepositoryTest {
     }
 
     @Test
-    void testStudyPlanRepository_countByStudyProgram() {
+    void testStudyPlanRepository_countByStudyProgramId() {
         // When
-        long masterPlanCount = studyPlanRepository.countByStudyProgram(masterProgram);
-        long bachelorPlanCount = studyPlanRepository.countByStudyProgram(bachelorProgram);
+        long masterPlanCount = studyPlanRepository.countByStudyProgramId(MASTER_PROGRAM_ID);
+        long bachelorPlanCount = studyPlanRepository.countByStudyProgramId(BACHELOR_PROGRAM_ID);
 
         // Then
         assertEquals(2, masterPlanCount);
@@ -225,33 +152,31 @@ class RepositoryTest {
     }
 
     @Test
-    void testStudyPlanRepository_findByUserIdAndStudyProgramName() {
-        // When
-        List<StudyPlan> userMasterPlans = studyPlanRepository.findByUserIdAndStudyProgramName(123L, "M.Sc. Information Systems");
-
-        // Then
-        assertEquals(2, userMasterPlans.size());
+    void testStudyPlanRepository_countByUserId() {
+        // When & Then
+        assertEquals(2, studyPlanRepository.countByUserId(123L));
+        assertEquals(0, studyPlanRepository.countByUserId(999L));
     }
 
     @Test
     void testRepositoryIntegration_basicCrudOperations() {
         // Test Create
-        StudyProgram newProgram = new StudyProgram("M.Sc. Data Science", 120, 4, "Master");
-        StudyProgram savedProgram = studyProgramRepository.save(newProgram);
-        assertNotNull(savedProgram.getId());
+        StudyPlan newPlan = new StudyPlan("Data Science Plan", 456L, BACHELOR_PROGRAM_ID);
+        StudyPlan savedPlan = studyPlanRepository.save(newPlan);
+        assertNotNull(savedPlan.getId());
 
         // Test Read
-        Optional<StudyProgram> foundProgram = studyProgramRepository.findById(savedProgram.getId());
-        assertTrue(foundProgram.isPresent());
-        assertEquals("M.Sc. Data Science", foundProgram.get().getName());
+        Optional<StudyPlan> foundPlan = studyPlanRepository.findById(savedPlan.getId());
+        assertTrue(foundPlan.isPresent());
+        assertEquals("Data Science Plan", foundPlan.get().getName());
 
         // Test Update
-        foundProgram.get().setDescription("Updated description");
-        StudyProgram updatedProgram = studyProgramRepository.save(foundProgram.get());
-        assertEquals("Updated description", updatedProgram.getDescription());
+        foundPlan.get().setStudyProgramName("B.Sc. Computer Science");
+        StudyPlan updatedPlan = studyPlanRepository.save(foundPlan.get());
+        assertEquals("B.Sc. Computer Science", updatedPlan.getStudyProgramName());
 
         // Test Delete
-        studyProgramRepository.delete(updatedProgram);
-        assertFalse(studyProgramRepository.findById(savedProgram.getId()).isPresent());
+        studyPlanRepository.delete(updatedPlan);
+        assertFalse(studyPlanRepository.findById(savedPlan.getId()).isPresent());
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,11 @@
 package com.stratton_oakmont.study_planer;
 
+import com.stratton_oakmont.study_planer.client.ProgramCatalogClient;
 import com.stratton_oakmont.study_planer.controller.StudyPlanController;
 import com.stratton_oakmont.study_planer.dto.CreateStudyPlanRequest;
 import com.stratton_oakmont.study_planer.model.StudyPlan;
 import com.stratton_oakmont.study_planer.service.StudyPlanService;
-import com.stratton_oakmont.study_planer.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,7 +14,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,15 +31,13 @@ class StudyPlanControllerTest {
     private StudyPlanService studyPlanService;
 
     @Mock
-    private JwtUtil jwtUtil;
+    private ProgramCatalogClient programCatalogClient;
 
     @InjectMocks  // This will inject the mocks into the controller
     private StudyPlanController studyPlanController;
 
     private StudyPlan testStudyPlan;
     private CreateStudyPlanRequest createRequest;
-    private String validToken;
-    private String authHeader;
 
     @BeforeEach
     void setUp() {
@@ -48,13 +50,17 @@ class StudyPlanControllerTest {
         createRequest.setName("New Study Plan");
         createRequest.setStudyProgramId(1L);
 
-        validToken = "valid.jwt.token";
-        authHeader = "Bearer " + validToken;
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
 
-        // Setup common JWT mocks
-        // when(jwtUtil.extractTokenFromHeader(authHeader)).thenReturn(validToken);
-        // when(jwtUtil.isTokenValid(validToken)).thenReturn(true);
-        // when(jwtUtil.extractUserIdFromToken(validToken)).thenReturn(123L);
+    // The JWT filter puts the user ID of a valid token into the SecurityContext
+    private static void authenticateAs(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
     }
 
     // @Test
@@ -130,29 +136,28 @@ class StudyPlanControllerTest {
     // }
 
     @Test
-    void createStudyPlan_WithInvalidToken_ShouldReturnUnauthorized() {
-        // Given
-        when(jwtUtil.extractTokenFromHeader(authHeader)).thenReturn(validToken);
-        when(jwtUtil.isTokenValid(validToken)).thenReturn(false);
+    void createStudyPlan_WithoutAuthentication_ShouldNotCreatePlan() {
+        // Given - no valid token, so the JWT filter left the SecurityContext empty
 
         // When
         ResponseEntity<?> response = studyPlanController.createStudyPlan(createRequest);
 
         // Then
-        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
-        verify(studyPlanService, never()).createStudyPlanForUser(anyLong(), anyLong(), anyString());
+        assertTrue(response.getStatusCode().isError());
+        verify(studyPlanService, never()).createStudyPlanForUser(anyLong(), anyLong(), anyString(), any());
     }
 
     @Test
-    void createStudyPlan_WithMissingAuthHeader_ShouldReturnUnauthorized() {
+    void createStudyPlan_WithValidAuthentication_ShouldReturnCreated() {
         // Given
-        when(jwtUtil.extractTokenFromHeader(null)).thenReturn(null);
+        authenticateAs(123L);
+        when(studyPlanService.createStudyPlanForUser(123L, 1L, "New Study Plan", null)).thenReturn(testStudyPlan);
 
         // When
         ResponseEntity<?> response = studyPlanController.createStudyPlan(createRequest);
 
         // Then
-        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
     }
 
     // @Test
@@ -176,14 +181,12 @@ class StudyPlanControllerTest {
     @Test
     void getStudyPlanById_WithValidTokenAndOwnership_ShouldReturnPlan() {
         // Given
-        when(jwtUtil.extractTokenFromHeader(authHeader)).thenReturn(validToken);
-        when(jwtUtil.isTokenValid(validToken)).thenReturn(true);
-        when(jwtUtil.extractUserIdFromToken(validToken)).thenReturn(123L);
+        authenticateAs(123L);
 
         when(studyPlanService.getStudyPlanById(1L)).thenReturn(testStudyPlan);
 
         // When
-        ResponseEntity<?> response = studyPlanController.getStudyPlanById(1L);
+        ResponseEntity<?> response = studyPlanController.getStudyPlanById(1L, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -192,9 +195,7 @@ class StudyPlanControllerTest {
     @Test
     void getStudyPlanById_WithDifferentUser_ShouldReturnForbidden() {
         // Given
-        when(jwtUtil.extractTokenFromHeader(authHeader)).thenReturn(validToken);
-        when(jwtUtil.isTokenValid(validToken)).thenReturn(true);
-        when(jwtUtil.extractUserIdFromToken(validToken)).thenReturn(123L);
+        authenticateAs(123L);
 
         StudyPlan otherUserPlan = new StudyPlan("Other Plan", 456L, 2L);
         otherUserPlan.setStudyProgramName("B.Sc. Computer Science");
@@ -202,7 +203,7 @@ class StudyPlanControllerTest {
         when(studyPlanService.getStudyPlanById(2L)).thenReturn(otherUserPlan);
 
         // When
-        ResponseEntity<?> response = studyPlanController.getStudyPlanById(2L);
+        ResponseEntity<?> response = studyPlanController.getStudyPlanById(2L, null);
 
         // Then
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
@@ -233,9 +234,7 @@ class StudyPlanControllerTest {
     @Test
     void deleteStudyPlan_WithValidTokenAndOwnership_ShouldReturnOk() {
         // Given
-        when(jwtUtil.extractTokenFromHeader(authHeader)).thenReturn(validToken);
-        when(jwtUtil.isTokenValid(validToken)).thenReturn(true);
-        when(jwtUtil.extractUserIdFromToken(validToken)).thenReturn(123L);
+        authenticateAs(123L);
 
         when(studyPlanService.getStudyPlanById(1L)).thenReturn(testStudyPlan);
 
@@ -250,9 +249,7 @@ class StudyPlanControllerTest {
     @Test
     void renameStudyPlan_WithValidRequest_ShouldReturnSuccess() {
         // Given
-        when(jwtUtil.extractTokenFromHeader(authHeader)).thenReturn(validToken);
-        when(jwtUtil.isTokenValid(validToken)).thenReturn(true);
-        when(jwtUtil.extractUserIdFromToken(validToken)).thenReturn(123L);
+        authenticateAs(123L);
 
         Map<String, String> renameRequest = Map.of("name", "New Name");
         when(studyPlanService.getStudyPlanById(1L)).thenReturn(testStudyPlan);
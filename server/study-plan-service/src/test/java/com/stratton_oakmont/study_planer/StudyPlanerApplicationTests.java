@@ -8,7 +8,13 @@ import org.springframework.test.context.TestPropertySource;
 @TestPropertySource(properties = {
     "spring.datasource.url=jdbc:h2:mem:testdb",
     "spring.datasource.driver-class-name=org.h2.Driver",
-    "spring.jpa.hibernate.ddl-auto=create-drop"
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // StudyPlanDatabaseConfig builds the pool from these
+    "DB_STUDY_PLAN_URL=jdbc:h2:mem:testdb",
+    "DB_STUDY_PLAN_USERNAME=sa",
+    "DB_STUDY_PLAN_PASSWORD=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "JWT_SECRET=test-secret-key-for-study-plan-service-tests-0123456789"
 })
 class StudyPlanerApplicationTests {
 
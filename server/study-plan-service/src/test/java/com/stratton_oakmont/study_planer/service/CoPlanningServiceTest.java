@@ -0,0 +1,111 @@
+package com.stratton_oakmont.study_planer.service;
+
+import com.stratton_oakmont.study_planer.dto.CoPlannedCourseDto;
+import com.stratton_oakmont.study_planer.repository.SemesterCourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoPlanningServiceTest {
+
+    private final SemesterCourseRepository semesterCourseRepository = mock(SemesterCourseRepository.class);
+    private final CoPlanningService coPlanningService = new CoPlanningService(semesterCourseRepository, 2, 4, 1024);
+
+    @Test
+    void countsStudyPlansContainingBothCourses() {
+        load(1L, "IN2346", 1L, "IN2064", 1L, "IN0001",
+             2L, "IN2346", 2L, "IN2064",
+             // Same course in a second semester of plan 2
+             2L, "IN2064");
+
+        List<CoPlannedCourseDto> coPlanned = coPlanningService.getCoPlannedCourses("IN2346", 10);
+        assertEquals(2, coPlanned.size());
+        assertEquals("IN2064", coPlanned.get(0).getCourseId());
+        assertEquals(2, coPlanned.get(0).getCoPlanCount());
+        assertEquals("IN0001", coPlanned.get(1).getCourseId());
+        assertEquals(1, coPlanned.get(1).getCoPlanCount());
+        assertEquals(1, coPlanningService.getCoPlannedCourses("IN2346", 1).size());
+    }
+
+    @Test
+    void removalsLowerTheCounts() {
+        load(1L, "IN2346", 1L, "IN2064", 1L, "IN2064");
+
+        // Still planned in the other semester
+        when(semesterCourseRepository.countSemestersByCourseForStudyPlan(1L))
+                .thenReturn(semesterCounts("IN2346", 1L, "IN2064", 2L));
+        coPlanningService.recordUnplanned(1L, "IN2064");
+        assertEquals(1, coPlanningService.getCoPlannedCourses("IN2346", 10).size());
+
+        when(semesterCourseRepository.countSemestersByCourseForStudyPlan(1L))
+                .thenReturn(semesterCounts("IN2346", 1L, "IN2064", 1L));
+        coPlanningService.recordUnplanned(1L, "IN2064");
+        assertTrue(coPlanningService.getCoPlannedCourses("IN2346", 10).isEmpty());
+        assertTrue(coPlanningService.getCoPlannedCourses("IN2064", 10).isEmpty());
+        // Unknown removals are ignored
+        when(semesterCourseRepository.countSemestersByCourseForStudyPlan(3L)).thenReturn(List.of());
+        coPlanningService.recordUnplanned(3L, "IN2064");
+    }
+
+    @Test
+    void keepsOnlyTheTopPartnersPerCourse() {
+        load(1L, "IN2346", 1L, "IN2064", 1L, "IN0001", 1L, "IN0002",
+             2L, "IN2346", 2L, "IN2064", 2L, "IN0001",
+             3L, "IN2346", 3L, "IN2064");
+
+        List<CoPlannedCourseDto> coPlanned = coPlanningService.getCoPlannedCourses("IN2346", 10);
+        assertEquals(List.of("IN2064", "IN0001"), coPlanned.stream().map(CoPlannedCourseDto::getCourseId).toList());
+    }
+
+    @Test
+    void appliesTheChangesOfATransactionAfterItCommits() {
+        load(1L, "IN2346");
+        when(semesterCourseRepository.countSemestersByCourseForStudyPlan(1L)).thenReturn(semesterCounts("IN2346", 1L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coPlanningService.recordPlanned(1L, "IN2064");
+            coPlanningService.recordPlanned(1L, "IN0001");
+            assertTrue(coPlanningService.getCoPlannedCourses("IN2346", 10).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // The courses of the plan are read once per transaction
+        verify(semesterCourseRepository, times(1)).countSemestersByCourseForStudyPlan(1L);
+        assertEquals(2, coPlanningService.getCoPlannedCourses("IN2346", 10).size());
+        assertEquals(Set.of("IN2346", "IN0001"), coPlanningService.getCoPlannedCourses("IN2064", 10).stream()
+                .map(CoPlannedCourseDto::getCourseId).collect(Collectors.toSet()));
+    }
+
+    // Pairs of (study plan ID, course ID), ordered by study plan like the repository returns them
+    private void load(Object... values) {
+        when(semesterCourseRepository.streamPlannedCourses()).thenReturn(pairs(values).stream());
+        coPlanningService.loadIndex();
+    }
+
+    // Pairs of (course ID, number of semesters containing it)
+    private static List<Object[]> semesterCounts(Object... values) {
+        return pairs(values);
+    }
+
+    private static List<Object[]> pairs(Object... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            rows.add(new Object[]{values[i], values[i + 1]});
+        }
+        return rows;
+    }
+}